@@ -0,0 +1,87 @@
+package com.example.assignment1.controller;
+
+import com.example.assignment1.dto.AccountPatch;
+import com.example.assignment1.dto.BulkChange;
+import com.example.assignment1.enitity.Role;
+import com.example.assignment1.service.AccountWriteService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Student and teacher writes for the JSON API, teachers only (see SecurityConfig).
+ * {@code PATCH /api/students/{id}} with e.g. {@code {"name": "…", "version": 3}} updates just
+ * those fields; {@code bulk-delete} and {@code bulk-reassign} take {@code {"ids": [...]}}
+ * (plus {@code departmentId}) and apply to all of them at once.
+ */
+@RestController
+@RequestMapping("/api")
+public class ApiAccountController {
+
+    private final AccountWriteService accountWrites;
+
+    public ApiAccountController(AccountWriteService accountWrites) {
+        this.accountWrites = accountWrites;
+    }
+
+    @PatchMapping("/students/{id}")
+    public ResponseEntity<Void> patchStudent(@PathVariable Long id, @RequestBody AccountPatch patch) {
+        accountWrites.patch(Role.STUDENT, id, patch);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PatchMapping("/teachers/{id}")
+    public ResponseEntity<Void> patchTeacher(@PathVariable Long id, @RequestBody AccountPatch patch) {
+        accountWrites.patch(Role.TEACHER, id, patch);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/students/bulk-delete")
+    public Affected deleteStudents(@RequestBody BulkChange change) {
+        return new Affected(accountWrites.deleteAll(Role.STUDENT, change.ids()));
+    }
+
+    @PostMapping("/teachers/bulk-delete")
+    public Affected deleteTeachers(@RequestBody BulkChange change) {
+        return new Affected(accountWrites.deleteAll(Role.TEACHER, change.ids()));
+    }
+
+    @PostMapping("/students/bulk-reassign")
+    public Affected reassignStudents(@RequestBody BulkChange change) {
+        return new Affected(accountWrites.reassignDepartment(Role.STUDENT, change.ids(), change.departmentId()));
+    }
+
+    @PostMapping("/teachers/bulk-reassign")
+    public Affected reassignTeachers(@RequestBody BulkChange change) {
+        return new Affected(accountWrites.reassignDepartment(Role.TEACHER, change.ids(), change.departmentId()));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail badRequest(IllegalArgumentException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ProblemDetail stale(ObjectOptimisticLockingFailureException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, "Changed by someone else; reload and retry");
+    }
+
+    // Taken email, unknown department
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ProblemDetail conflict(DataIntegrityViolationException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, "Violates a uniqueness or reference constraint");
+    }
+
+    /** Rows the operation changed. */
+    public record Affected(int count) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.assignment1.controller;
+
+import com.example.assignment1.security.AccountUser;
+import com.example.assignment1.security.TokenService;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api")
+public class ApiAuthController {
+
+    private final TokenService tokenService;
+
+    public ApiAuthController(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    // Same parameter names as the login form
+    @PostMapping("/auth/token")
+    public ResponseEntity<TokenResponse> token(@RequestParam String username, @RequestParam String password) {
+        try {
+            Jwt token = tokenService.issue(username, password);
+            long expiresIn = Duration.between(token.getIssuedAt(), token.getExpiresAt()).toSeconds();
+            return ResponseEntity.ok(new TokenResponse(token.getTokenValue(), "Bearer", expiresIn));
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
+
+    @PostMapping("/auth/revoke")
+    public ResponseEntity<Void> revoke(@AuthenticationPrincipal Jwt token) {
+        tokenService.revoke(token);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/me")
+    public Me me(JwtAuthenticationToken authentication) {
+        Jwt token = authentication.getToken();
+        return new Me(AccountUser.idOf(authentication), token.getSubject(),
+                token.getClaimAsString(TokenService.ROLE_CLAIM));
+    }
+
+    public record TokenResponse(@JsonProperty("access_token") String accessToken,
+                                @JsonProperty("token_type") String tokenType,
+                                @JsonProperty("expires_in") long expiresIn) {
+    }
+
+    public record Me(Long id, String email, String role) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.assignment1.controller;
+
+import com.example.assignment1.dto.ApiPage;
+import com.example.assignment1.dto.EnrollmentAnalytics;
+import com.example.assignment1.repository.ApiResource;
+import com.example.assignment1.service.AnalyticsService;
+import com.example.assignment1.service.ApiQueryService;
+import com.example.assignment1.service.TableVersions;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.security.core.Authentication;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Read-only listings, paged by id: {@code ?size=20&after=<next>&department=<id>&fields=id,name}.
+ * Students and teachers are for teachers only (see SecurityConfig). Responses carry an
+ * ETag, and a request whose If-None-Match still matches gets an empty 304.
+ */
+@RestController
+@RequestMapping("/api")
+public class ApiController {
+
+    private final ApiQueryService apiQueryService;
+    private final TableVersions tableVersions;
+    private final AnalyticsService analyticsService;
+    private final TransactionTemplate readOnly;
+
+    public ApiController(ApiQueryService apiQueryService, TableVersions tableVersions,
+                         AnalyticsService analyticsService, PlatformTransactionManager transactionManager) {
+        this.apiQueryService = apiQueryService;
+        this.tableVersions = tableVersions;
+        this.analyticsService = analyticsService;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    @GetMapping("/students")
+    public ApiPage students(ServletWebRequest request, Authentication authentication,
+                            @RequestParam(required = false) String fields,
+                            @RequestParam(required = false) Long department,
+                            @RequestParam(required = false) Long after,
+                            @RequestParam(defaultValue = "20") int size) {
+        return page(request, authentication, ApiResource.STUDENTS, fields, department, after, size);
+    }
+
+    @GetMapping("/teachers")
+    public ApiPage teachers(ServletWebRequest request, Authentication authentication,
+                            @RequestParam(required = false) String fields,
+                            @RequestParam(required = false) Long department,
+                            @RequestParam(required = false) Long after,
+                            @RequestParam(defaultValue = "20") int size) {
+        return page(request, authentication, ApiResource.TEACHERS, fields, department, after, size);
+    }
+
+    @GetMapping("/courses")
+    public ApiPage courses(ServletWebRequest request, Authentication authentication,
+                           @RequestParam(required = false) String fields,
+                           @RequestParam(required = false) Long department,
+                           @RequestParam(required = false) Long after,
+                           @RequestParam(defaultValue = "20") int size) {
+        return page(request, authentication, ApiResource.COURSES, fields, department, after, size);
+    }
+
+    @GetMapping("/departments")
+    public ApiPage departments(ServletWebRequest request, Authentication authentication,
+                               @RequestParam(required = false) String fields,
+                               @RequestParam(required = false) Long after,
+                               @RequestParam(defaultValue = "20") int size) {
+        return page(request, authentication, ApiResource.DEPARTMENTS, fields, null, after, size);
+    }
+
+    // Teachers only; the top courses by enrollment, students per department and course load
+    @GetMapping("/analytics/enrollments")
+    public EnrollmentAnalytics enrollments(@RequestParam(defaultValue = "20") int top) {
+        return analyticsService.enrollments(Math.max(1, Math.min(top, TeacherController.MAX_PAGE_SIZE)));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail badRequest(IllegalArgumentException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    // Null (an empty 304) when the client's copy is still current; stamp and rows come from one
+    // read-only transaction, so from the same database (see TeacherController)
+    private ApiPage page(ServletWebRequest request, Authentication authentication, ApiResource resource,
+                         String fields, Long department, Long after, int size) {
+        return readOnly.execute(status -> {
+            if (ConditionalGet.notModified(request, tableVersions.of(resource.tables()), authentication.getName())) {
+                return null;
+            }
+            return apiQueryService.page(resource, fields, department, after,
+                    Math.max(1, Math.min(size, TeacherController.MAX_PAGE_SIZE)));
+        });
+    }
+}
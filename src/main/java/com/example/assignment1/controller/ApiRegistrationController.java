@@ -0,0 +1,63 @@
+package com.example.assignment1.controller;
+
+import com.example.assignment1.dto.Registration;
+import com.example.assignment1.schedule.ScheduleClashException;
+import com.example.assignment1.security.AccountUser;
+import com.example.assignment1.service.RegistrationService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Course registration for students' API tokens (see SecurityConfig). {@code PUT} takes a seat,
+ * or a place in the waitlist when the course is full, and is safe to repeat; {@code DELETE}
+ * leaves the course or its waitlist. A course meeting at the same time as one of the
+ * student's is refused with 409.
+ */
+@RestController
+@RequestMapping("/api/student/courses/{courseId}/registration")
+public class ApiRegistrationController {
+
+    private final RegistrationService registrationService;
+
+    public ApiRegistrationController(RegistrationService registrationService) {
+        this.registrationService = registrationService;
+    }
+
+    @PutMapping
+    public Registration register(@PathVariable Long courseId, Authentication authentication) {
+        return registrationService.register(studentId(authentication), courseId);
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> drop(@PathVariable Long courseId, Authentication authentication) {
+        registrationService.drop(studentId(authentication), courseId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @ExceptionHandler(ScheduleClashException.class)
+    public ProblemDetail clash(ScheduleClashException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, e.getMessage());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail badRequest(IllegalArgumentException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    // Tokens always carry the account id
+    private static Long studentId(Authentication authentication) {
+        Long id = AccountUser.idOf(authentication);
+        if (id == null) {
+            throw new IllegalArgumentException("Token has no account id");
+        }
+        return id;
+    }
+}
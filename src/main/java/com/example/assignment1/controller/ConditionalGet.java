@@ -0,0 +1,33 @@
+package com.example.assignment1.controller;
+
+import com.example.assignment1.service.TableVersions;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * If-None-Match / If-Modified-Since handling for pages and listings. The ETag is a weak
+ * one over a {@link TableVersions} stamp, the viewer and the query string, so it changes
+ * whenever anything shown could have. Browsers may keep the response but must revalidate.
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    // True when the client's copy is current; the 304 has then been set up already
+    static boolean notModified(ServletWebRequest request, TableVersions.Stamp stamp, String viewer) {
+        Map<String, String> query = new TreeMap<>();
+        request.getParameterMap().forEach((name, values) -> query.put(name, Arrays.toString(values)));
+        String key = stamp.tag() + '|' + viewer + '|' + query;
+        String etag = "W/\"" + DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8)) + "\"";
+        // Set before rendering so Spring Security's default no-store headers are not added
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        return request.checkNotModified(etag, stamp.lastModified().toEpochMilli());
+    }
+}
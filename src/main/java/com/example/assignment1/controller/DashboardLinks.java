@@ -0,0 +1,50 @@
+package com.example.assignment1.controller;
+
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.List;
+
+/**
+ * Links for the teacher dashboard. Each changes the paging of one table and carries
+ * every other table's sort, direction and cursor along, so paging through one table
+ * does not send the others back to their first page.
+ */
+public class DashboardLinks {
+
+    private final String path;
+    private final int size;
+    private final List<KeysetPage<?>> pages;
+
+    DashboardLinks(String path, int size, List<KeysetPage<?>> pages) {
+        this.path = path;
+        this.size = size;
+        this.pages = pages;
+    }
+
+    // Sorts the table by the column from its first page, toggling the direction if already sorted by it
+    public String sort(KeysetPage<?> page, String column) {
+        return url(page, column, page.toggle(column), null);
+    }
+
+    public String first(KeysetPage<?> page) {
+        return url(page, page.getSort(), page.getDir(), null);
+    }
+
+    public String next(KeysetPage<?> page) {
+        return url(page, page.getSort(), page.getDir(), page.getNext());
+    }
+
+    private String url(KeysetPage<?> changed, String sort, String dir, String after) {
+        UriComponentsBuilder url = UriComponentsBuilder.fromPath(path).queryParam("size", size);
+        for (KeysetPage<?> page : pages) {
+            boolean target = page == changed;
+            url.queryParam(page.getName() + "Sort", target ? sort : page.getSort());
+            url.queryParam(page.getName() + "Dir", target ? dir : page.getDir());
+            String cursor = target ? after : page.getAfter();
+            if (cursor != null) {
+                url.queryParam(page.getName() + "After", cursor);
+            }
+        }
+        return url.encode().build().toUriString();
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.assignment1.controller;
+
+import com.example.assignment1.service.ExportService;
+import com.example.assignment1.service.ExportService.Format;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.io.IOException;
+
+@Controller
+@RequestMapping("/teacher/export")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    // Rows are written straight to the response as they are read
+    @GetMapping("/{table}")
+    public void export(@PathVariable String table, @RequestParam(defaultValue = "csv") String format,
+                       HttpServletResponse response) throws IOException {
+        Format f = "ndjson".equalsIgnoreCase(format) ? Format.NDJSON : Format.CSV;
+        if (!table.equals("students") && !table.equals("teachers") && !table.equals("enrollments")) {
+            throw new IllegalArgumentException("Unknown export:" + table);
+        }
+        response.setContentType(f == Format.CSV ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + table + (f == Format.CSV ? ".csv" : ".ndjson") + "\"");
+        switch (table) {
+            case "students" -> exportService.exportStudents(f, response.getOutputStream());
+            case "teachers" -> exportService.exportTeachers(f, response.getOutputStream());
+            default -> exportService.exportEnrollments(f, response.getOutputStream());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.assignment1.controller;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Encodes a keyset scroll position as an opaque, URL-safe token and back.
+ * Only Long and String keys are supported, which covers every sortable column.
+ */
+final class KeysetCursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private KeysetCursor() {
+    }
+
+    static String encode(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset) || keyset.isInitial()) {
+            return null;
+        }
+        StringBuilder token = new StringBuilder();
+        for (Map.Entry<String, ?> key : keyset.getKeys().entrySet()) {
+            if (!token.isEmpty()) {
+                token.append(',');
+            }
+            Object value = key.getValue();
+            char type = value == null ? 'N' : value instanceof Long ? 'L' : 'S';
+            String text = value == null ? "" : value.toString();
+            token.append(key.getKey()).append(':').append(type).append(':')
+                    .append(ENCODER.encodeToString(text.getBytes(StandardCharsets.UTF_8)));
+        }
+        return ENCODER.encodeToString(token.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ScrollPosition decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String token = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (String part : token.split(",")) {
+                String[] fields = part.split(":", 3);
+                String text = new String(DECODER.decode(fields[2]), StandardCharsets.UTF_8);
+                switch (fields[1]) {
+                    case "L" -> keys.put(fields[0], Long.valueOf(text));
+                    case "S" -> keys.put(fields[0], text);
+                    case "N" -> keys.put(fields[0], null);
+                    default -> throw new IllegalArgumentException("Invalid cursor:" + cursor);
+                }
+            }
+            return ScrollPosition.forward(keys);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor:" + cursor, e);
+        }
+    }
+}
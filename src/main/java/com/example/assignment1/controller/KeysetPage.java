@@ -0,0 +1,70 @@
+package com.example.assignment1.controller;
+
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+
+/**
+ * One keyset page of a dashboard table, with the state needed to render
+ * sort and "next page" links. {@code name} prefixes the table's request
+ * parameters ("studentSort", "studentAfter", ...).
+ */
+public class KeysetPage<T> {
+
+    private final List<T> content;
+    private final String name;
+    private final String sort;
+    private final String dir;
+    private final String after;
+    private final String next;
+
+    KeysetPage(List<T> content, String name, String sort, String dir, String after, String next) {
+        this.content = content;
+        this.name = name;
+        this.sort = sort;
+        this.dir = dir;
+        this.after = after;
+        this.next = next;
+    }
+
+    static <T> KeysetPage<T> of(Window<T> window, String name, String sort, String dir, String after) {
+        String next = window.hasNext() && !window.isEmpty()
+                ? KeysetCursor.encode(window.positionAt(window.size() - 1))
+                : null;
+        return new KeysetPage<>(window.getContent(), name, sort, dir, after, next);
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDir() {
+        return dir;
+    }
+
+    // The cursor this page was read after; null on the first page
+    public String getAfter() {
+        return after;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public boolean isHasNext() {
+        return next != null;
+    }
+
+    // Direction a header link should request: toggles when the column is already sorted
+    public String toggle(String column) {
+        return column.equals(sort) && "asc".equals(dir) ? "desc" : "asc";
+    }
+}
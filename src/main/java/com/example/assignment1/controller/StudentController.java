@@ -1,26 +1,101 @@
 package com.example.assignment1.controller;
 
-import com.example.assignment1.enitity.Student;
-import com.example.assignment1.repository.StudentRepository;
-import org.springframework.beans.factory.annotation.Autowired;
+import com.example.assignment1.dto.Registration;
+import com.example.assignment1.dto.StudentProfile;
+import com.example.assignment1.schedule.ScheduleClashException;
+import com.example.assignment1.security.AccountUser;
+import com.example.assignment1.service.CatalogService;
+import com.example.assignment1.service.RegistrationService;
+import com.example.assignment1.service.StudentService;
+import com.example.assignment1.service.TableVersions;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import java.util.List;
+import java.util.Optional;
 
 @Controller
 @RequestMapping("/student")
 public class StudentController {
 
-    @Autowired
-    StudentRepository repo;
+    // Course titles and department names shown next to the student's own row
+    private static final List<String> CATALOG_TABLES = List.of("course", "department");
+
+    private final StudentService studentService;
+    private final TableVersions tableVersions;
+    private final CatalogService catalogService;
+    private final RegistrationService registrationService;
+    private final TransactionTemplate readOnly;
+
+    public StudentController(StudentService studentService, TableVersions tableVersions,
+                             CatalogService catalogService, RegistrationService registrationService,
+                             PlatformTransactionManager transactionManager) {
+        this.studentService = studentService;
+        this.tableVersions = tableVersions;
+        this.catalogService = catalogService;
+        this.registrationService = registrationService;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
 
     @GetMapping("/dashboard")
-    public String studentDashboard(Model model, Authentication authentication) {
-        String email = authentication.getName();
-        Student student = repo.findByEmail(email).orElse(null);
-        model.addAttribute("student", student);
-        return "student-dashboard";
+    public String studentDashboard(Model model, Authentication authentication, ServletWebRequest request) {
+        // By primary key for a real login; principals without an account id fall back to the email
+        Long id = AccountUser.idOf(authentication);
+        // Stamps and rows from one read-only transaction, so from the same database (see TeacherController)
+        return readOnly.execute(status -> {
+            // The student's version moves with any change to their row, enrollments or waitlist entries
+            Optional<TableVersions.Stamp> own = id == null ? Optional.empty() : tableVersions.ofAccount(id);
+            if (own.isPresent() && ConditionalGet.notModified(request,
+                    own.get().and(tableVersions.of(CATALOG_TABLES)), authentication.getName())) {
+                return null;
+            }
+            StudentProfile student = (id != null ? studentService.findProfile(id)
+                    : studentService.findProfileByEmail(authentication.getName())).orElse(null);
+            model.addAttribute("student", student);
+            model.addAttribute("courses", catalogService.courses());
+            model.addAttribute("waitlist", student == null ? List.of() : registrationService.waitlist(student.id()));
+            return "student-dashboard";
+        });
+    }
+
+    @PostMapping("/courses/{courseId}/register")
+    public String register(@PathVariable Long courseId, Authentication authentication,
+                           RedirectAttributes redirect) {
+        Registration registration;
+        try {
+            registration = registrationService.register(studentId(authentication), courseId);
+        } catch (ScheduleClashException e) {
+            redirect.addAttribute("clash", e.getMessage());
+            return "redirect:/student/dashboard";
+        }
+        return registration.status() == Registration.Status.ENROLLED
+                ? "redirect:/student/dashboard?enrolled"
+                : "redirect:/student/dashboard?waitlisted=" + registration.position();
+    }
+
+    @PostMapping("/courses/{courseId}/drop")
+    public String drop(@PathVariable Long courseId, Authentication authentication) {
+        registrationService.drop(studentId(authentication), courseId);
+        return "redirect:/student/dashboard?dropped";
+    }
+
+    private Long studentId(Authentication authentication) {
+        Long id = AccountUser.idOf(authentication);
+        if (id != null) {
+            return id;
+        }
+        return studentService.findProfileByEmail(authentication.getName())
+                .map(StudentProfile::id)
+                .orElseThrow(() -> new IllegalArgumentException("No student account for " + authentication.getName()));
     }
 }
@@ -1,87 +1,261 @@
 package com.example.assignment1.controller;
 
+import com.example.assignment1.dto.TeacherRow;
 import com.example.assignment1.enitity.*;
-import com.example.assignment1.repository.*;
+import com.example.assignment1.schedule.ScheduleClashException;
+import com.example.assignment1.security.AccountUser;
+import com.example.assignment1.service.AnalyticsService;
+import com.example.assignment1.service.CatalogService;
+import com.example.assignment1.service.ReferenceDataCache;
+import com.example.assignment1.service.ScheduleService;
+import com.example.assignment1.service.StudentImportService;
+import com.example.assignment1.service.StudentService;
+import com.example.assignment1.service.TableVersions;
+import com.example.assignment1.service.TeacherService;
+import com.example.assignment1.service.TimetableService;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Controller;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 
 @Controller
 @RequestMapping("/teacher")
 public class TeacherController {
 
-    private final StudentRepository studentRepo;
-    private final TeacherRepository teacherRepo;
-    private final DepartmentRepository deptRepo;
-    private final CourseRepository courseRepo;
-    private final PasswordEncoder passwordEncoder;
+    static final int MAX_PAGE_SIZE = 100;
 
-    public TeacherController(StudentRepository studentRepo, TeacherRepository teacherRepo,
-                             DepartmentRepository deptRepo, CourseRepository courseRepo,
-                             PasswordEncoder passwordEncoder) {
-        this.studentRepo = studentRepo;
-        this.teacherRepo = teacherRepo;
-        this.deptRepo = deptRepo;
-        this.courseRepo = courseRepo;
-        this.passwordEncoder = passwordEncoder;
+    private static final Set<String> STUDENT_SORTS = Set.of("id", "name", "email");
+    private static final Set<String> TEACHER_SORTS = Set.of("id", "name", "email");
+    private static final Set<String> DEPARTMENT_SORTS = Set.of("id", "name");
+    private static final Set<String> COURSE_SORTS = Set.of("id", "title");
+    private static final List<String> DASHBOARD_TABLES = List.of("students", "teachers", "course", "department");
+
+    private final StudentService studentService;
+    private final TeacherService teacherService;
+    private final CatalogService catalogService;
+    private final ReferenceDataCache referenceData;
+    private final StudentImportService importService;
+    private final TableVersions tableVersions;
+    private final AnalyticsService analyticsService;
+    private final TimetableService timetableService;
+    private final ScheduleService scheduleService;
+    private final TransactionTemplate readOnly;
+
+    public TeacherController(StudentService studentService, TeacherService teacherService,
+                             CatalogService catalogService, ReferenceDataCache referenceData,
+                             StudentImportService importService, TableVersions tableVersions,
+                             AnalyticsService analyticsService, TimetableService timetableService,
+                             ScheduleService scheduleService, PlatformTransactionManager transactionManager) {
+        this.studentService = studentService;
+        this.teacherService = teacherService;
+        this.catalogService = catalogService;
+        this.referenceData = referenceData;
+        this.importService = importService;
+        this.tableVersions = tableVersions;
+        this.analyticsService = analyticsService;
+        this.timetableService = timetableService;
+        this.scheduleService = scheduleService;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
     }
 
     // ===== DASHBOARD =====
+    // Each table is paged independently with keyset (seek) pagination, so the cost
+    // of a page view does not grow with the size of the tables. A refresh with nothing
+    // changed in any of the four tables is answered with 304 before anything is loaded.
     @GetMapping("/dashboard")
-    public String dashboard(Model model, Authentication authentication) {
-        String email = authentication.getName();
-        Teacher teacher = teacherRepo.findByEmail(email).orElse(null);
-        model.addAttribute("teacher", teacher);
-        model.addAttribute("students", studentRepo.findAll());
-        model.addAttribute("teachers", teacherRepo.findAll());
-        model.addAttribute("departments", deptRepo.findAll());
-        model.addAttribute("courses", courseRepo.findAll());
-        return "teacher-dashboard";
+    public String dashboard(Model model, Authentication authentication, ServletWebRequest request,
+                            @RequestParam(defaultValue = "20") int size,
+                            @RequestParam(defaultValue = "id") String studentSort,
+                            @RequestParam(defaultValue = "asc") String studentDir,
+                            @RequestParam(required = false) String studentAfter,
+                            @RequestParam(defaultValue = "id") String teacherSort,
+                            @RequestParam(defaultValue = "asc") String teacherDir,
+                            @RequestParam(required = false) String teacherAfter,
+                            @RequestParam(defaultValue = "id") String departmentSort,
+                            @RequestParam(defaultValue = "asc") String departmentDir,
+                            @RequestParam(required = false) String departmentAfter,
+                            @RequestParam(defaultValue = "id") String courseSort,
+                            @RequestParam(defaultValue = "asc") String courseDir,
+                            @RequestParam(required = false) String courseAfter) {
+        // The stamp and the rows are read in one read-only transaction, so from the same database
+        // (see ReadWriteDataSourceConfig); a lagging replica cannot pair old rows with a new stamp
+        return readOnly.execute(status -> {
+            if (ConditionalGet.notModified(request, tableVersions.of(DASHBOARD_TABLES), authentication.getName())) {
+                return null;
+            }
+            Long id = AccountUser.idOf(authentication);
+            TeacherRow teacher = (id != null ? teacherService.findRow(id)
+                    : teacherService.findRowByEmail(authentication.getName())).orElse(null);
+            Limit limit = Limit.of(Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+            model.addAttribute("teacher", teacher);
+            model.addAttribute("size", limit.max());
+            KeysetPage<?> students =
+                    page("student", studentService::page, STUDENT_SORTS, studentSort, studentDir, studentAfter, limit);
+            KeysetPage<?> teachers =
+                    page("teacher", teacherService::page, TEACHER_SORTS, teacherSort, teacherDir, teacherAfter, limit);
+            KeysetPage<?> departments = page("department", catalogService::departmentPage, DEPARTMENT_SORTS,
+                    departmentSort, departmentDir, departmentAfter, limit);
+            KeysetPage<?> courses =
+                    page("course", catalogService::coursePage, COURSE_SORTS, courseSort, courseDir, courseAfter, limit);
+            model.addAttribute("students", students);
+            model.addAttribute("teachers", teachers);
+            model.addAttribute("departments", departments);
+            model.addAttribute("courses", courses);
+            model.addAttribute("links", new DashboardLinks("/teacher/dashboard", limit.max(),
+                    List.of(students, teachers, departments, courses)));
+            return "teacher-dashboard";
+        });
+    }
+
+    // Read from the enrollment aggregates; costs the same however many students there are
+    @GetMapping("/analytics")
+    public String analytics(Model model, @RequestParam(defaultValue = "20") int top) {
+        model.addAttribute("analytics", analyticsService.enrollments(Math.max(1, Math.min(top, MAX_PAGE_SIZE))));
+        return "analytics";
+    }
+
+    // ================== TIMETABLE ==================
+    @GetMapping("/timetable")
+    public String timetable(Model model) {
+        model.addAttribute("status", timetableService.status());
+        model.addAttribute("rooms", timetableService.rooms());
+        model.addAttribute("sections", timetableService.timetable());
+        return "timetable";
+    }
+
+    // Solving runs in the background; the page shows its progress
+    @PostMapping("/timetable/solve")
+    public String solveTimetable() {
+        return timetableService.start() ? "redirect:/teacher/timetable" : "redirect:/teacher/timetable?busy";
+    }
+
+    @PostMapping("/timetable/rooms")
+    public String addRoom(@RequestParam String name, @RequestParam int capacity) {
+        timetableService.addRoom(name, capacity);
+        return "redirect:/teacher/timetable";
+    }
+
+    // A cursor that does not decode, or was issued for another sort, is the client's error
+    private static <T> KeysetPage<T> page(String name, KeysetQuery<T> query, Set<String> sortable,
+                                          String sort, String dir, String after, Limit limit) {
+        String column = sortable.contains(sort) ? sort : "id";
+        Sort.Direction direction = "desc".equalsIgnoreCase(dir) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort order = column.equals("id")
+                ? Sort.by(direction, "id")
+                : Sort.by(direction, column).and(Sort.by(direction, "id"));
+
+        ScrollPosition position;
+        try {
+            position = KeysetCursor.decode(after);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid " + name + " cursor", e);
+        }
+        Set<String> keys = order.stream().map(Sort.Order::getProperty).collect(Collectors.toSet());
+        if (position instanceof KeysetScrollPosition keyset && !keyset.isInitial()
+                && !keyset.getKeys().keySet().equals(keys)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor does not match sort:" + column);
+        }
+        Window<T> window = query.find(position, order, limit);
+        return KeysetPage.of(window, name, column, direction.name().toLowerCase(), position.isInitial() ? null : after);
+    }
+
+    @FunctionalInterface
+    private interface KeysetQuery<T> {
+        Window<T> find(ScrollPosition position, Sort sort, Limit limit);
     }
 
     // ================== STUDENT CRUD ==================
     @GetMapping("/student/add")
     public String addStudentForm(Model model) {
         model.addAttribute("student", new Student());
-        model.addAttribute("departments", deptRepo.findAll());
-        model.addAttribute("courses", courseRepo.findAll());
+        model.addAttribute("departments", catalogService.departments());
+        model.addAttribute("courses", catalogService.courses());
         return "add-student";
     }
 
     @PostMapping("/student/add")
-    public String addStudent(@ModelAttribute Student student) {
-        student.setRole(Role.STUDENT);
-        student.setPassword(passwordEncoder.encode(student.getPassword()));
-        studentRepo.save(student);
+    public String addStudent(@ModelAttribute Student student, RedirectAttributes redirect) {
+        try {
+            studentService.create(student);
+        } catch (ScheduleClashException e) {
+            redirect.addAttribute("clash", e.getMessage());
+            return "redirect:/teacher/student/add";
+        }
         return "redirect:/teacher/dashboard";
     }
 
+    @GetMapping("/student/import")
+    public String importStudentsForm() {
+        return "import-students";
+    }
+
+    @PostMapping("/student/import")
+    public String importStudents(@RequestParam("file") MultipartFile file, Model model) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            model.addAttribute("result", importService.importStudents(in));
+        }
+        return "import-students";
+    }
+
     @GetMapping("/student/edit/{id}")
     public String editStudentForm(@PathVariable Long id, Model model) {
-        Student student = studentRepo.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Invalid student Id:" + id));
-        model.addAttribute("student", student);
-        model.addAttribute("departments", deptRepo.findAll());
-        model.addAttribute("courses", courseRepo.findAll());
+        model.addAttribute("student", studentService.get(id));
+        model.addAttribute("departments", catalogService.departments());
+        model.addAttribute("courses", catalogService.courses());
         return "edit-student";
     }
 
+    // The form carries the version it was rendered with; if someone saved in between,
+    // the form is shown again with their changes instead of overwriting them
     @PostMapping("/student/update/{id}")
-    public String updateStudent(@PathVariable Long id, @ModelAttribute Student student) {
-        student.setId(id);
-        student.setRole(Role.STUDENT);
-        student.setPassword(passwordEncoder.encode(student.getPassword()));
-        studentRepo.save(student);
+    public String updateStudent(@PathVariable Long id, @ModelAttribute Student student,
+                                RedirectAttributes redirect) {
+        student.setDepartment(selected(student.getDepartment()));
+        try {
+            studentService.update(id, student);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return "redirect:/teacher/student/edit/" + id + "?stale";
+        } catch (ScheduleClashException e) {
+            redirect.addAttribute("clash", e.getMessage());
+            return "redirect:/teacher/student/edit/" + id;
+        }
         return "redirect:/teacher/dashboard";
     }
 
+    // The edit forms post department.id; "None" arrives as a department without an id
+    private static Department selected(Department department) {
+        return department == null || department.getId() == null ? null : department;
+    }
+
     @GetMapping("/student/delete/{id}")
     public String deleteStudent(@PathVariable Long id) {
-        studentRepo.deleteById(id);
+        studentService.delete(id);
         return "redirect:/teacher/dashboard";
     }
 
@@ -89,39 +263,37 @@ public class TeacherController {
     @GetMapping("/teacher/add")
     public String addTeacherForm(Model model) {
         model.addAttribute("teacher", new Teacher());
-        model.addAttribute("departments", deptRepo.findAll());
+        model.addAttribute("departments", catalogService.departments());
         return "add-teacher";
     }
 
     @PostMapping("/teacher/add")
     public String addTeacher(@ModelAttribute Teacher teacher) {
-        teacher.setRole(Role.TEACHER);
-        teacher.setPassword(passwordEncoder.encode(teacher.getPassword()));
-        teacherRepo.save(teacher);
+        teacherService.create(teacher);
         return "redirect:/teacher/dashboard";
     }
 
     @GetMapping("/teacher/edit/{id}")
     public String editTeacherForm(@PathVariable Long id, Model model) {
-        Teacher teacher = teacherRepo.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Invalid teacher Id:" + id));
-        model.addAttribute("teacher", teacher);
-        model.addAttribute("departments", deptRepo.findAll());
+        model.addAttribute("teacher", teacherService.get(id));
+        model.addAttribute("departments", catalogService.departments());
         return "edit-teacher";
     }
 
     @PostMapping("/teacher/update/{id}")
     public String updateTeacher(@PathVariable Long id, @ModelAttribute Teacher teacher) {
-        teacher.setId(id);
-        teacher.setRole(Role.TEACHER);
-        teacher.setPassword(passwordEncoder.encode(teacher.getPassword()));
-        teacherRepo.save(teacher);
+        teacher.setDepartment(selected(teacher.getDepartment()));
+        try {
+            teacherService.update(id, teacher);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return "redirect:/teacher/teacher/edit/" + id + "?stale";
+        }
         return "redirect:/teacher/dashboard";
     }
 
     @GetMapping("/teacher/delete/{id}")
     public String deleteTeacher(@PathVariable Long id) {
-        teacherRepo.deleteById(id);
+        teacherService.delete(id);
         return "redirect:/teacher/dashboard";
     }
 
@@ -134,21 +306,58 @@ public class TeacherController {
 
     @PostMapping("/department/add")
     public String addDepartment(@ModelAttribute Department department) {
-        deptRepo.save(department);
+        catalogService.addDepartment(department);
         return "redirect:/teacher/dashboard";
     }
 
+    // Students of the department enrolled in courses that meet at the same time
+    @GetMapping("/department/{id}/clashes")
+    public String departmentClashes(@PathVariable Long id, Model model) {
+        model.addAttribute("department", catalogService.department(id));
+        model.addAttribute("students", scheduleService.departmentClashes(id));
+        return "schedule-clashes";
+    }
+
     // ================== COURSE CRUD ==================
     @GetMapping("/course/add")
     public String addCourseForm(Model model) {
         model.addAttribute("course", new Course());
-        model.addAttribute("departments", deptRepo.findAll());
+        model.addAttribute("departments", catalogService.departments());
         return "add-course";
     }
 
     @PostMapping("/course/add")
     public String addCourse(@ModelAttribute Course course) {
-        courseRepo.save(course);
+        catalogService.addCourse(course);
         return "redirect:/teacher/dashboard";
     }
+
+    @GetMapping("/course/{id}/meetings")
+    public String courseMeetings(@PathVariable Long id, Model model) {
+        model.addAttribute("course", catalogService.course(id));
+        model.addAttribute("meetings", scheduleService.meetings(id));
+        model.addAttribute("days", DayOfWeek.values());
+        return "course-meetings";
+    }
+
+    @PostMapping("/course/{id}/meetings")
+    public String addMeeting(@PathVariable Long id, @RequestParam DayOfWeek day,
+                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime start,
+                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime end) {
+        scheduleService.addMeeting(id, day, start, end);
+        return "redirect:/teacher/course/" + id + "/meetings";
+    }
+
+    // ================== REFERENCE DATA CACHE ==================
+    @GetMapping("/reference-cache/stats")
+    @ResponseBody
+    public Map<String, Object> referenceCacheStats() {
+        CacheStats stats = referenceData.stats();
+        return Map.of(
+                "hits", stats.hitCount(),
+                "misses", stats.missCount(),
+                "hitRate", stats.hitRate(),
+                "evictions", stats.evictionCount(),
+                "loadFailures", stats.loadFailureCount());
+    }
 }
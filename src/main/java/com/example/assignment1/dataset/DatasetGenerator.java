@@ -0,0 +1,242 @@
+package com.example.assignment1.dataset;
+
+import com.example.assignment1.enitity.Course;
+import com.example.assignment1.enitity.Department;
+import com.example.assignment1.enitity.Role;
+import com.example.assignment1.enitity.Student;
+import com.example.assignment1.enitity.Teacher;
+import com.example.assignment1.service.EnrollmentStatsReconciler;
+import com.example.assignment1.service.TableVersions;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Bulk-loads a synthetic dataset into the configured datasource. Rows go through a
+ * Hibernate {@link StatelessSession} with JDBC batching, so ids come from the same
+ * generators the application uses and nothing accumulates in a persistence context;
+ * each chunk of students and their {@code student_course} rows commits together.
+ * Output is deterministic for a given {@link DatasetSpec#seed()}.
+ */
+@Component
+public class DatasetGenerator {
+
+    private static final String[] FIRST_NAMES = {
+            "Aarav", "Aisha", "Alex", "Ana", "Ben", "Chen", "Chloe", "Daniel", "Elena", "Fatima",
+            "Hannah", "Ivan", "James", "Jia", "Kofi", "Laura", "Liam", "Maria", "Mohammed", "Nina",
+            "Noah", "Olivia", "Priya", "Rahul", "Sara", "Sofia", "Tom", "Wei", "Yusuf", "Zoe"};
+    private static final String[] LAST_NAMES = {
+            "Ahmed", "Brown", "Chen", "Costa", "Davies", "Fischer", "Garcia", "Gupta", "Ivanova", "Jones",
+            "Kim", "Kowalski", "Lee", "Martin", "Mensah", "Murphy", "Nguyen", "Okafor", "Patel", "Rossi",
+            "Sato", "Schmidt", "Sharma", "Silva", "Singh", "Smith", "Taylor", "Wang", "Williams", "Wilson"};
+    private static final String[] SUBJECTS = {
+            "Computer Science", "Mathematics", "Physics", "Chemistry", "Biology", "Economics", "History",
+            "Philosophy", "Psychology", "Linguistics", "Mechanical Engineering", "Electrical Engineering",
+            "Civil Engineering", "Statistics", "Geography", "Sociology", "Law", "Music", "Architecture",
+            "Medicine"};
+    private static final String[] COURSE_LEVELS = {"Introduction to", "Foundations of", "Topics in", "Advanced",
+            "Seminar in", "Applied"};
+
+    private final SessionFactory sessionFactory;
+    private final PasswordEncoder passwordEncoder;
+    private final TableVersions tableVersions;
+    private final EnrollmentStatsReconciler enrollmentStats;
+
+    public DatasetGenerator(EntityManagerFactory entityManagerFactory, PasswordEncoder passwordEncoder,
+                            TableVersions tableVersions, EnrollmentStatsReconciler enrollmentStats) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.passwordEncoder = passwordEncoder;
+        this.tableVersions = tableVersions;
+        this.enrollmentStats = enrollmentStats;
+    }
+
+    public Summary generate(DatasetSpec spec) {
+        return generate(spec, progress -> { });
+    }
+
+    // progress receives the number of students written so far after every chunk
+    public Summary generate(DatasetSpec spec, Consumer<Long> progress) {
+        long started = System.nanoTime();
+        Random random = new Random(spec.seed());
+        // Hashing every row would take hours at BCrypt cost; all accounts share one hash
+        String password = passwordEncoder.encode(spec.password());
+
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            session.setJdbcBatchSize(Math.min(spec.chunkSize(), 1000));
+            Long existing = session.createSelectionQuery("select count(s) from Student s", Long.class).getSingleResult();
+            if (existing > 0) {
+                throw new IllegalStateException("students already has " + existing
+                        + " rows; generate into an empty database");
+            }
+
+            List<Department> departments = new ArrayList<>(spec.departments());
+            inTransaction(session, () -> {
+                for (int d = 0; d < spec.departments(); d++) {
+                    Department department = new Department(null, departmentName(d));
+                    session.insert(department);
+                    departments.add(department);
+                }
+            });
+            Zipf departmentPick = new Zipf(spec.departments(), spec.departmentSkew(), random);
+
+            // Courses cluster in the larger departments; popularity is a separate,
+            // shuffled ranking so the biggest department does not own every hit course
+            List<Course> courses = new ArrayList<>(spec.courses());
+            List<List<Integer>> coursesByDepartment = new ArrayList<>();
+            for (int d = 0; d < spec.departments(); d++) {
+                coursesByDepartment.add(new ArrayList<>());
+            }
+            inTransaction(session, () -> {
+                for (int c = 0; c < spec.courses(); c++) {
+                    int d = c < spec.departments() ? c : departmentPick.next();
+                    Course course = new Course(null, courseTitle(c, d), departments.get(d));
+                    session.insert(course);
+                    courses.add(course);
+                    coursesByDepartment.get(d).add(c);
+                }
+            });
+            int[] popularity = shuffledRanks(spec.courses(), random);
+            Zipf coursePick = new Zipf(spec.courses(), spec.courseSkew(), random);
+            List<Zipf> homeCoursePick = coursesByDepartment.stream()
+                    .map(list -> new Zipf(list.size(), spec.courseSkew(), random))
+                    .toList();
+
+            for (int from = 0; from < spec.teachers(); from += spec.chunkSize()) {
+                int to = Math.min(spec.teachers(), from + spec.chunkSize());
+                int first = from;
+                inTransaction(session, () -> {
+                    for (int t = first; t < to; t++) {
+                        Teacher teacher = new Teacher(personName(random), "teacher" + t + "@example.edu",
+                                password, Role.TEACHER);
+                        teacher.setDepartment(departments.get(departmentPick.next()));
+                        session.insert(teacher);
+                    }
+                });
+            }
+
+            long enrollments = 0;
+            double extraProbability = spec.maxEnrollments() == 1 ? 0
+                    : (spec.meanEnrollments() - 1) / (spec.maxEnrollments() - 1);
+            for (int from = 0; from < spec.students(); from += spec.chunkSize()) {
+                int to = Math.min(spec.students(), from + spec.chunkSize());
+                long[] written = {0};
+                int first = from;
+                inTransaction(session, () -> {
+                    for (int s = first; s < to; s++) {
+                        String name = personName(random);
+                        Student student = new Student(name, email(name, s), password, Role.STUDENT);
+                        int d = departmentPick.next();
+                        student.setDepartment(departments.get(d));
+
+                        // 1..max courses, binomially distributed around the configured mean
+                        int count = 1;
+                        for (int i = 1; i < spec.maxEnrollments(); i++) {
+                            if (random.nextDouble() < extraProbability) {
+                                count++;
+                            }
+                        }
+                        Set<Integer> chosen = new LinkedHashSet<>();
+                        List<Integer> home = coursesByDepartment.get(d);
+                        for (int attempt = 0; chosen.size() < count && attempt < count * 20; attempt++) {
+                            if (!home.isEmpty() && random.nextDouble() < spec.homeDepartmentShare()) {
+                                chosen.add(home.get(homeCoursePick.get(d).next()));
+                            } else {
+                                chosen.add(popularity[coursePick.next()]);
+                            }
+                        }
+                        List<Course> enrolled = new ArrayList<>(chosen.size());
+                        for (int c : chosen) {
+                            enrolled.add(courses.get(c));
+                        }
+                        student.setCourses(enrolled);
+                        // Also writes the student_course rows
+                        session.insert(student);
+                        written[0] += enrolled.size();
+                    }
+                });
+                enrollments += written[0];
+                progress.accept((long) to);
+            }
+            // Stateless inserts bypass the entity listeners; pages cached before the load are stale
+            // and the enrollment statistics are counted once at the end
+            tableVersions.bump("department", "course", "teachers", "students");
+            enrollmentStats.reconcile();
+
+            return new Summary(spec.departments(), spec.courses(), spec.teachers(), spec.students(),
+                    enrollments, (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    private static void inTransaction(StatelessSession session, Runnable work) {
+        Transaction tx = session.beginTransaction();
+        try {
+            work.run();
+            tx.commit();
+        } catch (RuntimeException e) {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            throw e;
+        }
+    }
+
+    private static int[] shuffledRanks(int size, Random random) {
+        List<Integer> ranks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ranks.add(i);
+        }
+        Collections.shuffle(ranks, random);
+        return ranks.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static String departmentName(int index) {
+        String subject = SUBJECTS[index % SUBJECTS.length];
+        return index < SUBJECTS.length ? subject : subject + " " + (index / SUBJECTS.length + 1);
+    }
+
+    private static String courseTitle(int index, int department) {
+        String subject = SUBJECTS[department % SUBJECTS.length];
+        return COURSE_LEVELS[index % COURSE_LEVELS.length] + " " + subject + " " + (100 + index);
+    }
+
+    private static String personName(Random random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    // The index keeps addresses unique however often a name repeats
+    private static String email(String name, int index) {
+        return name.toLowerCase(Locale.ROOT).replace(' ', '.') + "." + index + "@example.edu";
+    }
+
+    /** Samples ranks 0..n-1 with probability proportional to 1 / (rank + 1)^exponent. */
+    static final class Zipf {
+        private final double[] cumulative;
+        private final Random random;
+
+        Zipf(int n, double exponent, Random random) {
+            this.cumulative = new double[n];
+            this.random = random;
+            double sum = 0;
+            for (int i = 0; i < n; i++) {
+                sum += 1 / Math.pow(i + 1, exponent);
+                cumulative[i] = sum;
+            }
+        }
+
+        int next() {
+            double target = random.nextDouble() * cumulative[cumulative.length - 1];
+            int index = Arrays.binarySearch(cumulative, target);
+            return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+        }
+    }
+
+    public record Summary(int departments, int courses, int teachers, int students, long enrollments,
+                          long elapsedMillis) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.assignment1.dataset;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Command-line entry point, active only with the {@code dataset} profile:
+ * <pre>
+ * java -jar assignment1.jar --spring.profiles.active=dataset --app.dataset.students=1000000
+ * </pre>
+ * Generates into the configured datasource and exits; see {@link DatasetSpec} for the knobs.
+ * The context is closed and the JVM exited explicitly, since pools and schedulers started
+ * with the application would otherwise keep it running.
+ */
+@Component
+@Profile("dataset")
+@EnableConfigurationProperties(DatasetSpec.class)
+public class DatasetGeneratorRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetGeneratorRunner.class);
+
+    private final DatasetGenerator generator;
+    private final DatasetSpec spec;
+    private final ConfigurableApplicationContext context;
+
+    public DatasetGeneratorRunner(DatasetGenerator generator, DatasetSpec spec,
+                                  ConfigurableApplicationContext context) {
+        this.generator = generator;
+        this.spec = spec;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Generating {} departments, {} courses, {} teachers and {} students (seed {})",
+                spec.departments(), spec.courses(), spec.teachers(), spec.students(), spec.seed());
+        long step = Math.max(spec.students() / 10, 1);
+        DatasetGenerator.Summary summary = generator.generate(spec, written -> {
+            if (written % step < spec.chunkSize() || written == spec.students()) {
+                log.info("{} / {} students written", written, spec.students());
+            }
+        });
+        log.info("Dataset ready: {} departments, {} courses, {} teachers, {} students, {} enrollments in {} ms",
+                summary.departments(), summary.courses(), summary.teachers(), summary.students(),
+                summary.enrollments(), summary.elapsedMillis());
+        System.exit(SpringApplication.exit(context));
+    }
+}
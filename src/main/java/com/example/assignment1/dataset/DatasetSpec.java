@@ -0,0 +1,41 @@
+package com.example.assignment1.dataset;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Volumes and shape of a generated dataset, bound from {@code app.dataset.*}.
+ * Department sizes and course popularity follow a Zipf distribution with the given
+ * exponents (0 = uniform); {@code homeDepartmentShare} of each student's courses are
+ * drawn from their own department's catalogue.
+ */
+@ConfigurationProperties("app.dataset")
+public record DatasetSpec(
+        @DefaultValue("25") int departments,
+        @DefaultValue("500") int courses,
+        @DefaultValue("2000") int teachers,
+        @DefaultValue("100000") int students,
+        @DefaultValue("4.5") double meanEnrollments,
+        @DefaultValue("8") int maxEnrollments,
+        @DefaultValue("1.0") double departmentSkew,
+        @DefaultValue("1.1") double courseSkew,
+        @DefaultValue("0.7") double homeDepartmentShare,
+        @DefaultValue("password123") String password,
+        @DefaultValue("42") long seed,
+        @DefaultValue("5000") int chunkSize) {
+
+    public DatasetSpec {
+        if (departments < 1 || courses < 1) {
+            throw new IllegalArgumentException("At least one department and one course are required");
+        }
+        if (teachers < 0 || students < 0) {
+            throw new IllegalArgumentException("Teacher and student counts cannot be negative");
+        }
+        if (maxEnrollments < 1 || maxEnrollments > courses || meanEnrollments < 1 || meanEnrollments > maxEnrollments) {
+            throw new IllegalArgumentException("Need 1 <= mean-enrollments <= max-enrollments <= courses");
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunk-size must be positive");
+        }
+    }
+}
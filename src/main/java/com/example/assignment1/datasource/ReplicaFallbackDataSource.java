@@ -0,0 +1,33 @@
+package com.example.assignment1.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * The read-only side of the routing: hands out replica connections while
+ * {@link ReplicaHealth} considers the replica usable, primary connections otherwise.
+ */
+class ReplicaFallbackDataSource extends DelegatingDataSource {
+
+    private final DataSource primary;
+    private final ReplicaHealth health;
+
+    ReplicaFallbackDataSource(DataSource replica, DataSource primary, ReplicaHealth health) {
+        super(replica);
+        this.primary = primary;
+        this.health = health;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return health.isUsable() ? super.getConnection() : primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return health.isUsable() ? super.getConnection(username, password) : primary.getConnection(username, password);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.assignment1.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically decides whether the replica may serve reads: it must answer, and when
+ * a lag query is configured (see application.properties for a PostgreSQL one) the
+ * lag it reports, in seconds, must stay within the limit. A null lag counts as caught up.
+ */
+public class ReplicaHealth implements MeterBinder, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaHealth.class);
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile boolean usable = true;
+    private volatile double lagSeconds;
+
+    public ReplicaHealth(DataSource replica, String lagQuery, Duration maxLag, Duration interval) {
+        this.replica = replica;
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "replica-health");
+            t.setDaemon(true);
+            return t;
+        });
+        if (!interval.isZero()) {
+            scheduler.scheduleWithFixedDelay(this::check, interval.toMillis(), interval.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+
+    public void check() {
+        boolean nowUsable;
+        try (Connection connection = replica.getConnection()) {
+            lagSeconds = lagQuery == null ? 0 : queryLag(connection);
+            nowUsable = lagSeconds <= maxLagSeconds;
+        } catch (Exception e) {
+            log.debug("Replica check failed", e);
+            nowUsable = false;
+        }
+        if (nowUsable != usable) {
+            log.warn(nowUsable ? "Replica is back, routing reads to it"
+                    : "Replica unavailable or {}s behind, routing reads to the primary", lagSeconds);
+        }
+        usable = nowUsable;
+    }
+
+    private double queryLag(Connection connection) throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            if (!rs.next()) {
+                return 0;
+            }
+            double lag = rs.getDouble(1);
+            return rs.wasNull() ? 0 : lag;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("app.datasource.replica.usable", this, h -> h.usable ? 1 : 0)
+                .description("1 while reads are routed to the replica")
+                .register(registry);
+        Gauge.builder("app.datasource.replica.lag", this, h -> h.lagSeconds)
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.assignment1.dto;
+
+/**
+ * A partial update of a student or teacher: null fields are left as they are. With a
+ * {@code version} the update only applies if nobody has changed the account since.
+ */
+public record AccountPatch(String name, String email, String password, Long departmentId, Long version) {
+}
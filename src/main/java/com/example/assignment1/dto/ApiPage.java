@@ -0,0 +1,11 @@
+package com.example.assignment1.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of an API listing. {@code next} is the {@code after} value for the following
+ * page, or null on the last one.
+ */
+public record ApiPage(List<Map<String, Object>> items, Long next) {
+}
@@ -0,0 +1,7 @@
+package com.example.assignment1.dto;
+
+import java.util.List;
+
+/** The accounts a bulk operation applies to; {@code departmentId} is used by reassignment only. */
+public record BulkChange(List<Long> ids, Long departmentId) {
+}
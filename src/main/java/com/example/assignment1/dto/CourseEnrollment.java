@@ -0,0 +1,5 @@
+package com.example.assignment1.dto;
+
+/** A course and how many students are enrolled in it. */
+public record CourseEnrollment(Long id, String title, String departmentName, long students) {
+}
@@ -0,0 +1,11 @@
+package com.example.assignment1.dto;
+
+import com.example.assignment1.enitity.Course;
+
+public record CourseRow(Long id, String title, String departmentName) {
+
+    public static CourseRow of(Course course) {
+        return new CourseRow(course.getId(), course.getTitle(),
+                course.getDepartment() == null ? null : course.getDepartment().getName());
+    }
+}
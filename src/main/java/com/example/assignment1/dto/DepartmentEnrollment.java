@@ -0,0 +1,5 @@
+package com.example.assignment1.dto;
+
+/** A department and how many students belong to it. */
+public record DepartmentEnrollment(Long id, String name, long students) {
+}
@@ -0,0 +1,10 @@
+package com.example.assignment1.dto;
+
+import com.example.assignment1.enitity.Department;
+
+public record DepartmentRow(Long id, String name) {
+
+    public static DepartmentRow of(Department department) {
+        return new DepartmentRow(department.getId(), department.getName());
+    }
+}
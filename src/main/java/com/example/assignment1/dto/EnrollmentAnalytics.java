@@ -0,0 +1,15 @@
+package com.example.assignment1.dto;
+
+import java.util.List;
+
+/**
+ * Enrollment statistics for the analytics page and API. {@code courseLoad} counts students
+ * by number of courses taken; its last entry includes everyone taking that many or more.
+ */
+public record EnrollmentAnalytics(List<CourseEnrollment> courses, List<DepartmentEnrollment> departments,
+                                  List<CourseLoad> courseLoad, long students, long enrollments,
+                                  double averageLoad) {
+
+    public record CourseLoad(int courses, long students) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.assignment1.dto;
+
+/** Outcome of registering for a course: a seat, or a place in its waitlist (1 = next in line). */
+public record Registration(Long courseId, Status status, Long position) {
+
+    public enum Status { ENROLLED, WAITLISTED }
+
+    public static Registration enrolled(Long courseId) {
+        return new Registration(courseId, Status.ENROLLED, null);
+    }
+
+    public static Registration waitlisted(Long courseId, long position) {
+        return new Registration(courseId, Status.WAITLISTED, position);
+    }
+}
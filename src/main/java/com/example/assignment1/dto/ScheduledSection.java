@@ -0,0 +1,6 @@
+package com.example.assignment1.dto;
+
+/** One section in the timetable; teacher, room and time are null until it has been solved. */
+public record ScheduledSection(Long id, String courseTitle, int students, String teacherName, String roomName,
+                               Integer day, Integer period) {
+}
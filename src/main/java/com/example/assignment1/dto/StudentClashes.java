@@ -0,0 +1,9 @@
+package com.example.assignment1.dto;
+
+import com.example.assignment1.schedule.Clash;
+
+import java.util.List;
+
+/** A student whose courses meet at the same time, with every overlapping pair of meetings. */
+public record StudentClashes(Long studentId, String name, List<Clash> clashes) {
+}
@@ -0,0 +1,18 @@
+package com.example.assignment1.dto;
+
+import com.example.assignment1.enitity.Course;
+import com.example.assignment1.enitity.Student;
+
+import java.util.List;
+
+/** What the student dashboard shows about the logged-in student. */
+public record StudentProfile(Long id, String name, String email, String departmentName, List<String> courses) {
+
+    // Reads the course collection, so call it inside the transaction that loaded the student
+    public static StudentProfile of(Student student) {
+        List<String> courses = student.getCourses() == null ? List.of()
+                : student.getCourses().stream().map(Course::getTitle).toList();
+        return new StudentProfile(student.getId(), student.getName(), student.getEmail(),
+                student.getDepartment() == null ? null : student.getDepartment().getName(), courses);
+    }
+}
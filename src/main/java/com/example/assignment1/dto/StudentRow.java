@@ -0,0 +1,12 @@
+package com.example.assignment1.dto;
+
+import com.example.assignment1.enitity.Student;
+
+/** A student as listed on the teacher dashboard. */
+public record StudentRow(Long id, String name, String email, String departmentName) {
+
+    public static StudentRow of(Student student) {
+        return new StudentRow(student.getId(), student.getName(), student.getEmail(),
+                student.getDepartment() == null ? null : student.getDepartment().getName());
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.assignment1.dto;
+
+import com.example.assignment1.enitity.Teacher;
+
+/** A teacher as listed on, and greeted by, the teacher dashboard. */
+public record TeacherRow(Long id, String name, String email, String departmentName) {
+
+    public static TeacherRow of(Teacher teacher) {
+        return new TeacherRow(teacher.getId(), teacher.getName(), teacher.getEmail(),
+                teacher.getDepartment() == null ? null : teacher.getDepartment().getName());
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.assignment1.dto;
+
+import java.time.Instant;
+
+/** The last timetable run: whether it is still going, and the score it ended with. */
+public record TimetableStatus(State state, Instant startedAt, Instant finishedAt, int sections, Long hardPenalty,
+                              Long softPenalty, String error) {
+
+    public enum State { IDLE, SOLVING, SOLVED, FAILED }
+
+    public static final TimetableStatus IDLE = new TimetableStatus(State.IDLE, null, null, 0, null, null, null);
+}
@@ -2,12 +2,19 @@ package com.example.assignment1.enitity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalog-course")
+@NamedEntityGraph(name = "Course.department", attributeNodes = @NamedAttributeNode("department"))
 public class Course {
 
     @Id
@@ -16,6 +23,22 @@ public class Course {
 
     private String title;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Department department;
+
+    // Seats open to self-registration; null for no limit (see RegistrationService)
+    private Integer capacity;
+
+    @Version
+    private long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public Course(Long id, String title, Department department) {
+        this.id = id;
+        this.title = title;
+        this.department = department;
+    }
 }
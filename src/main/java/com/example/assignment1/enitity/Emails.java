@@ -0,0 +1,17 @@
+package com.example.assignment1.enitity;
+
+import java.util.Locale;
+
+/**
+ * Emails are compared case-insensitively. They are stored and looked up in this form,
+ * so an ordinary equality lookup can use the unique email index.
+ */
+public final class Emails {
+
+    private Emails() {
+    }
+
+    public static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
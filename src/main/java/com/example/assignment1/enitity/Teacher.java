@@ -4,26 +4,13 @@ import jakarta.persistence.*;
 
 @Entity
 @Table(name = "teachers")
-public class Teacher {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
+@NamedEntityGraph(name = "Teacher.department", attributeNodes = @NamedAttributeNode("department"))
+public class Teacher extends UserAccount {
 
     @Column(nullable = false)
     private String name;
 
-    @Column(nullable = false, unique = true)
-    private String email;
-
-    @Column(nullable = false)
-    private String password;
-
-    @Enumerated(EnumType.STRING)
-    @Column(nullable = false)
-    private Role role;
-
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "department_id")
     private Department department;
 
@@ -31,21 +18,11 @@ public class Teacher {
     public Teacher() {}
 
     public Teacher(String name, String email, String password, Role role) {
+        super(email, password, role);
         this.name = name;
-        this.email = email;
-        this.password = password;
-        this.role = role;
     }
 
     // Getters and Setters
-    public Long getId() {
-        return id;
-    }
-
-    public void setId(Long id) {
-        this.id = id;
-    }
-
     public String getName() {
         return name;
     }
@@ -54,30 +31,6 @@ public class Teacher {
         this.name = name;
     }
 
-    public String getEmail() {
-        return email;
-    }
-
-    public void setEmail(String email) {
-        this.email = email;
-    }
-
-    public String getPassword() {
-        return password;
-    }
-
-    public void setPassword(String password) {
-        this.password = password;
-    }
-
-    public Role getRole() {
-        return role;
-    }
-
-    public void setRole(Role role) {
-        this.role = role;
-    }
-
     public Department getDepartment() {
         return department;
     }
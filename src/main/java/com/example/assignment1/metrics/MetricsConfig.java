@@ -0,0 +1,54 @@
+package com.example.assignment1.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Request latency ({@code http.server.requests}), Hibernate statistics and HikariCP
+ * gauges are auto-configured by the actuator; this adds the per-request SQL profile.
+ * Components with their own meters (password pool, caches) implement MeterBinder.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public SqlProfiler sqlProfiler(@Value("${app.sql-profile.slow-request:300ms}") Duration slowRequest,
+                                   @Value("${app.sql-profile.repeat-threshold:5}") int repeatThreshold,
+                                   @Value("${app.sql-profile.buffer-size:50}") int bufferSize) {
+        return new SqlProfiler(slowRequest.toMillis(), repeatThreshold, bufferSize);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlProfilerCustomizer(SqlProfiler profiler) {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, profiler);
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlTimingListener.class.getName());
+        };
+    }
+
+    // Runs just inside the request observation filter so security lookups are included
+    @Bean
+    public FilterRegistrationBean<SqlProfileFilter> sqlProfileFilter(
+            SqlProfiler profiler, MeterRegistry registry,
+            @Value("${app.sql-profile.headers:false}") boolean headers,
+            @Value("${app.sql-profile.unbuffered-paths:/teacher/export/**}") List<String> unbufferedPaths) {
+        FilterRegistrationBean<SqlProfileFilter> registration =
+                new FilterRegistrationBean<>(new SqlProfileFilter(profiler, registry, headers, unbufferedPaths));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    @Bean
+    public SqlProfileEndpoint sqlProfileEndpoint(SqlProfiler profiler) {
+        return new SqlProfileEndpoint(profiler);
+    }
+}
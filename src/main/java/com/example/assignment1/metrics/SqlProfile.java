@@ -0,0 +1,145 @@
+package com.example.assignment1.metrics;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * SQL issued while serving one request: every statement with its execution time,
+ * plus a count per statement shape. A shape seen {@code repeatThreshold} times or
+ * more is reported as a probable N+1 (the same query once per row of an earlier one).
+ */
+public class SqlProfile {
+
+    // Statement texts kept per request; counts and shapes still cover all of them
+    static final int MAX_STATEMENTS = 200;
+
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final String method;
+    private final String uri;
+    private String route;
+    private final Instant startedAt = Instant.now();
+    private final long startNanos = System.nanoTime();
+    private final List<Statement> statements = new ArrayList<>();
+    private final Map<String, Integer> shapes = new LinkedHashMap<>();
+    private int statementCount;
+    private long sqlNanos;
+    private long executionStart;
+    private long elapsedNanos;
+    private int status;
+    private Map<String, Integer> repeated = Map.of();
+
+    SqlProfile(String method, String uri) {
+        this.method = method;
+        this.uri = uri;
+    }
+
+    void prepared(String sql) {
+        statementCount++;
+        shapes.merge(shape(sql), 1, Integer::sum);
+        if (statements.size() < MAX_STATEMENTS) {
+            statements.add(new Statement(sql));
+        }
+    }
+
+    void executionStarted() {
+        executionStart = System.nanoTime();
+    }
+
+    // Hibernate prepares and executes one statement at a time per session, so the
+    // execution belongs to the statement prepared last
+    void executionEnded() {
+        if (executionStart == 0) {
+            return;
+        }
+        long nanos = System.nanoTime() - executionStart;
+        executionStart = 0;
+        sqlNanos += nanos;
+        if (!statements.isEmpty() && statementCount <= MAX_STATEMENTS) {
+            statements.get(statements.size() - 1).nanos += nanos;
+        }
+    }
+
+    void finish(String route, int status, int repeatThreshold) {
+        this.elapsedNanos = System.nanoTime() - startNanos;
+        this.route = route;
+        this.status = status;
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        shapes.forEach((shape, count) -> {
+            if (count >= repeatThreshold) {
+                repeated.put(shape, count);
+            }
+        });
+        this.repeated = repeated;
+    }
+
+    static String shape(String sql) {
+        String shape = IN_LIST.matcher(sql).replaceAll("in (?)");
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    // Route template (e.g. /teacher/student/edit/{id}) when a handler matched
+    public String getRoute() {
+        return route;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getSqlMillis() {
+        return sqlNanos / 1_000_000;
+    }
+
+    // Probable N+1 patterns: statement shape -> times issued
+    public Map<String, Integer> getRepeated() {
+        return repeated;
+    }
+
+    public List<Statement> getStatements() {
+        return statements;
+    }
+
+    public static class Statement {
+        private final String sql;
+        private long nanos;
+
+        Statement(String sql) {
+            this.sql = sql;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public double getMillis() {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
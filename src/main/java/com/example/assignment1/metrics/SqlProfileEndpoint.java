@@ -0,0 +1,25 @@
+package com.example.assignment1.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/sqlprofile}: the slow requests currently in the profiler's ring
+ * buffer, slowest first, each with its statements and repeated shapes.
+ */
+@Endpoint(id = "sqlprofile")
+public class SqlProfileEndpoint {
+
+    private final SqlProfiler profiler;
+
+    public SqlProfileEndpoint(SqlProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @ReadOperation
+    public List<SqlProfile> slowRequests() {
+        return profiler.slowRequests();
+    }
+}
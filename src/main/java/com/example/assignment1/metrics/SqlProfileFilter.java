@@ -0,0 +1,92 @@
+package com.example.assignment1.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Profiles the SQL behind each request, including the security filters and template
+ * rendering. The totals always feed the metrics. With {@code headers} on they also go into
+ * {@code X-SQL-Count}, {@code X-SQL-Time-Ms} and {@code X-SQL-Repeated} response headers;
+ * to get them in before the body, the response is buffered, except on streaming paths.
+ * They are off by default: they tell any caller how much work a page does, and buffering
+ * holds every body in memory.
+ */
+class SqlProfileFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlProfileFilter.class);
+    private static final AntPathMatcher PATHS = new AntPathMatcher();
+
+    private final SqlProfiler profiler;
+    private final MeterRegistry registry;
+    private final boolean headers;
+    private final List<String> unbufferedPaths;
+
+    SqlProfileFilter(SqlProfiler profiler, MeterRegistry registry, boolean headers, List<String> unbufferedPaths) {
+        this.profiler = profiler;
+        this.registry = registry;
+        this.headers = headers;
+        this.unbufferedPaths = unbufferedPaths;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        boolean buffered = headers && unbufferedPaths.stream().noneMatch(p -> PATHS.match(p, path));
+        ContentCachingResponseWrapper wrapper = buffered ? new ContentCachingResponseWrapper(response) : null;
+
+        profiler.start(request.getMethod(), request.getRequestURI());
+        SqlProfile profile = null;
+        try {
+            chain.doFilter(request, buffered ? wrapper : response);
+        } finally {
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            profile = profiler.stop(route != null ? route.toString() : null, response.getStatus());
+            if (profile != null) {
+                record(profile);
+                if (buffered && !response.isCommitted()) {
+                    response.setHeader("X-SQL-Count", String.valueOf(profile.getStatementCount()));
+                    response.setHeader("X-SQL-Time-Ms", String.valueOf(profile.getSqlMillis()));
+                    response.setHeader("X-SQL-Repeated", String.valueOf(profile.getRepeated().size()));
+                }
+            }
+            if (buffered) {
+                wrapper.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void record(SqlProfile profile) {
+        String route = profile.getRoute() != null ? profile.getRoute() : "UNKNOWN";
+        DistributionSummary.builder("app.http.statements")
+                .description("SQL statements issued per request")
+                .tag("method", profile.getMethod())
+                .tag("uri", route)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(profile.getStatementCount());
+        if (!profile.getRepeated().isEmpty()) {
+            Counter.builder("app.http.statements.repeated")
+                    .description("Requests that repeated a statement shape (probable N+1)")
+                    .tag("method", profile.getMethod())
+                    .tag("uri", route)
+                    .register(registry)
+                    .increment();
+            log.warn("Probable N+1 in {} {}: {}", profile.getMethod(), profile.getUri(), profile.getRepeated());
+        }
+    }
+}
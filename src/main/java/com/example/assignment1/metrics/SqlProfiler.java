@@ -0,0 +1,88 @@
+package com.example.assignment1.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Collects a {@link SqlProfile} for the request being served on the current thread.
+ * Registered with Hibernate as the statement inspector (SQL text) and, through
+ * {@link SqlTimingListener}, as a session event listener (execution time). Requests
+ * slower than the configured threshold are kept in a fixed-size ring buffer.
+ */
+public class SqlProfiler implements StatementInspector {
+
+    private static final ThreadLocal<SqlProfile> CURRENT = new ThreadLocal<>();
+
+    private final long slowRequestMillis;
+    private final int repeatThreshold;
+    private final int capacity;
+    private final Deque<SqlProfile> slow;
+
+    public SqlProfiler(long slowRequestMillis, int repeatThreshold, int capacity) {
+        this.slowRequestMillis = slowRequestMillis;
+        this.repeatThreshold = repeatThreshold;
+        this.capacity = capacity;
+        this.slow = new ArrayDeque<>(capacity);
+    }
+
+    public void start(String method, String uri) {
+        CURRENT.set(new SqlProfile(method, uri));
+    }
+
+    // Ends profiling on this thread; null if start() was not called
+    public SqlProfile stop(String route, int status) {
+        SqlProfile profile = CURRENT.get();
+        CURRENT.remove();
+        if (profile == null) {
+            return null;
+        }
+        profile.finish(route, status, repeatThreshold);
+        if (profile.getElapsedMillis() >= slowRequestMillis && capacity > 0) {
+            synchronized (slow) {
+                if (slow.size() == capacity) {
+                    slow.removeFirst();
+                }
+                slow.addLast(profile);
+            }
+        }
+        return profile;
+    }
+
+    // Slow requests still in the buffer, slowest first
+    public List<SqlProfile> slowRequests() {
+        List<SqlProfile> copy;
+        synchronized (slow) {
+            copy = new ArrayList<>(slow);
+        }
+        copy.sort(Comparator.comparingLong(SqlProfile::getElapsedMillis).reversed());
+        return copy;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        SqlProfile profile = CURRENT.get();
+        if (profile != null) {
+            profile.prepared(sql);
+        }
+        return sql;
+    }
+
+    static void executionStarted() {
+        SqlProfile profile = CURRENT.get();
+        if (profile != null) {
+            profile.executionStarted();
+        }
+    }
+
+    static void executionEnded() {
+        SqlProfile profile = CURRENT.get();
+        if (profile != null) {
+            profile.executionEnded();
+        }
+    }
+}
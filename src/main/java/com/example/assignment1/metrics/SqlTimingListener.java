@@ -0,0 +1,30 @@
+package com.example.assignment1.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Times JDBC executions for {@link SqlProfiler}. Hibernate creates one instance per
+ * session from {@code hibernate.session.events.auto}, hence the static hand-off.
+ */
+public class SqlTimingListener implements SessionEventListener {
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        SqlProfiler.executionStarted();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlProfiler.executionEnded();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        SqlProfiler.executionStarted();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlProfiler.executionEnded();
+    }
+}
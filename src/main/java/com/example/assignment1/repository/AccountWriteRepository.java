@@ -0,0 +1,121 @@
+package com.example.assignment1.repository;
+
+import com.example.assignment1.enitity.Role;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Student and teacher writes that go straight to SQL instead of loading entities: partial
+ * updates that set only the given columns, and bulk deletes and department moves over a set
+ * of ids. Each touches a table at most once, however many rows are involved. Native because
+ * JPQL mutations on the JOINED hierarchy go through Hibernate's temporary-table strategy;
+ * every statement declares the table it writes so only the matching cache regions are cleared,
+ * except enrollment deletes, which evict just the deleted students' course lists.
+ * Any write to an account also moves its version, so open edit forms and cached pages go stale.
+ */
+@Repository
+public class AccountWriteRepository {
+
+    private static final String ACCOUNTS = "user_accounts";
+
+    private final EntityManager entityManager;
+    private final StudentCoursesCache studentCourses;
+
+    public AccountWriteRepository(EntityManager entityManager, StudentCoursesCache studentCourses) {
+        this.entityManager = entityManager;
+        this.studentCourses = studentCourses;
+    }
+
+    /**
+     * Sets the given {@code user_accounts} columns of one account and bumps its version. With an
+     * expected version, the row is only updated while it still has that version.
+     * Column names are trusted; callers pass fixed names, never request input.
+     */
+    public boolean updateAccount(Role role, Long id, Map<String, Object> columns, Long expectedVersion) {
+        List<String> set = new ArrayList<>();
+        columns.keySet().forEach(column -> set.add(column + " = :" + column));
+        set.add("version = version + 1");
+        set.add("updated_at = :now");
+        String sql = "update " + ACCOUNTS + " set " + String.join(", ", set) + " where id = :id and role = :role"
+                + (expectedVersion == null ? "" : " and version = :version");
+        Query query = nativeQuery(sql, ACCOUNTS)
+                .setParameter("now", Timestamp.from(Instant.now()))
+                .setParameter("id", id)
+                .setParameter("role", role.name());
+        columns.forEach(query::setParameter);
+        if (expectedVersion != null) {
+            query.setParameter("version", expectedVersion);
+        }
+        return query.executeUpdate() == 1;
+    }
+
+    // The role's own table (name, department); the account row is versioned by updateAccount
+    public void updateDetails(Role role, Long id, Map<String, Object> columns) {
+        if (columns.isEmpty()) {
+            return;
+        }
+        List<String> set = new ArrayList<>();
+        columns.keySet().forEach(column -> set.add(column + " = :" + column));
+        Query query = nativeQuery("update " + table(role) + " set " + String.join(", ", set) + " where id = :id",
+                table(role)).setParameter("id", id);
+        columns.forEach(query::setParameter);
+        query.executeUpdate();
+    }
+
+    public boolean exists(Role role, Long id) {
+        return !entityManager.createNativeQuery("select 1 from " + ACCOUNTS + " where id = :id and role = :role")
+                .setParameter("id", id)
+                .setParameter("role", role.name())
+                .getResultList().isEmpty();
+    }
+
+    // Enrollments first, then the role row, then the account; returns the accounts removed
+    public int deleteAll(Role role, Collection<Long> ids) {
+        if (role == Role.STUDENT) {
+            nativeQuery("delete from student_course where student_id in (:ids)", StudentCoursesCache.QUERY_SPACE)
+                    .setParameter("ids", ids).executeUpdate();
+            studentCourses.evict(ids);
+        }
+        nativeQuery("delete from " + table(role) + " where id in (:ids)", table(role))
+                .setParameter("ids", ids).executeUpdate();
+        return nativeQuery("delete from " + ACCOUNTS + " where id in (:ids) and role = :role", ACCOUNTS)
+                .setParameter("ids", ids)
+                .setParameter("role", role.name())
+                .executeUpdate();
+    }
+
+    // Returns the rows moved; their accounts get a new version
+    public int reassignDepartment(Role role, Collection<Long> ids, Long departmentId) {
+        int moved = nativeQuery("update " + table(role) + " set department_id = :department where id in (:ids)",
+                table(role))
+                .setParameter("department", departmentId)
+                .setParameter("ids", ids)
+                .executeUpdate();
+        nativeQuery("update " + ACCOUNTS + " set version = version + 1, updated_at = :now "
+                + "where id in (:ids) and role = :role", ACCOUNTS)
+                .setParameter("now", Timestamp.from(Instant.now()))
+                .setParameter("ids", ids)
+                .setParameter("role", role.name())
+                .executeUpdate();
+        return moved;
+    }
+
+    public static String table(Role role) {
+        return role == Role.STUDENT ? "students" : "teachers";
+    }
+
+    private Query nativeQuery(String sql, String space) {
+        Query query = entityManager.createNativeQuery(sql);
+        query.unwrap(NativeQuery.class).addSynchronizedQuerySpace(space);
+        return query;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.assignment1.repository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resources of the read-only JSON API and the fields each one exposes, mapped to JPQL
+ * paths over {@code e} (the entity) and {@code d} (its department, joined only when a
+ * {@code d.} path is selected). Anything not listed here, such as passwords, cannot be
+ * requested.
+ */
+public enum ApiResource {
+
+    STUDENTS("Student", "students", true, "id", "e.id", "name", "e.name", "email", "e.email",
+            "departmentId", "e.department.id", "departmentName", "d.name"),
+    TEACHERS("Teacher", "teachers", true, "id", "e.id", "name", "e.name", "email", "e.email",
+            "departmentId", "e.department.id", "departmentName", "d.name"),
+    COURSES("Course", "course", true, "id", "e.id", "title", "e.title",
+            "departmentId", "e.department.id", "departmentName", "d.name"),
+    DEPARTMENTS("Department", "department", false, "id", "e.id", "name", "e.name");
+
+    private final String entity;
+    private final String table;
+    private final boolean inDepartment;
+    private final Map<String, String> fields = new LinkedHashMap<>();
+
+    ApiResource(String entity, String table, boolean inDepartment, String... fieldPaths) {
+        this.entity = entity;
+        this.table = table;
+        this.inDepartment = inDepartment;
+        for (int i = 0; i < fieldPaths.length; i += 2) {
+            fields.put(fieldPaths[i], fieldPaths[i + 1]);
+        }
+    }
+
+    public String entity() {
+        return entity;
+    }
+
+    // Tables a page can show data from, for change stamps (see TableVersions)
+    public List<String> tables() {
+        return inDepartment ? List.of(table, "department") : List.of(table);
+    }
+
+    // Whether rows belong to a department, i.e. can be filtered by one
+    public boolean inDepartment() {
+        return inDepartment;
+    }
+
+    public Map<String, String> fields() {
+        return fields;
+    }
+}
@@ -2,10 +2,36 @@ package com.example.assignment1.repository;
 
 import com.example.assignment1.enitity.Course;
 import com.example.assignment1.enitity.Student;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface CourseRepository extends JpaRepository<Course, Long> {
 
+    // Query-cached like the department listings; writes to course or department invalidate them
+    @EntityGraph("Course.department")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Course> findAllWithDepartmentBy(Sort sort);
+
+    @EntityGraph("Course.department")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Window<Course> findAllWithDepartmentBy(ScrollPosition position, Sort sort, Limit limit);
+
+    // The two runs of a page sorted by the nullable title (see CatalogService.coursePage)
+    @EntityGraph("Course.department")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Window<Course> findAllWithDepartmentByTitleNotNull(ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph("Course.department")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Window<Course> findAllWithDepartmentByTitleIsNull(ScrollPosition position, Sort sort, Limit limit);
 }
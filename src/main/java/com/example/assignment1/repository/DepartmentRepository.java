@@ -2,10 +2,31 @@ package com.example.assignment1.repository;
 
 import com.example.assignment1.enitity.Department;
 import com.example.assignment1.enitity.Student;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
 
+    // Catalog listings go through the query cache; any write to department invalidates them
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Department> findAllBy(Sort sort);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Window<Department> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    // The two runs of a page sorted by the nullable name (see CatalogService.departmentPage)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Window<Department> findAllByNameNotNull(ScrollPosition position, Sort sort, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Window<Department> findAllByNameIsNull(ScrollPosition position, Sort sort, Limit limit);
 }
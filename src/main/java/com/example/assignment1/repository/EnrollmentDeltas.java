@@ -0,0 +1,117 @@
+package com.example.assignment1.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Net changes to the enrollment aggregates (V8) made by one transaction: students per
+ * course, students per department and students per course-load bucket. Applied as relative
+ * updates, so concurrent transactions add up instead of overwriting each other. Rows are
+ * updated in key order, the same order the reconciler locks them in. The course counts and
+ * department counts ({@link #applyCountsTo}) and the load buckets ({@link #applyLoadsTo})
+ * can be applied separately, as {@link EnrollmentStatsRepository#apply} does.
+ */
+public class EnrollmentDeltas {
+
+    // Course loads of this many or more share the last bucket
+    public static final int MAX_LOAD_BUCKET = 10;
+
+    private final Set<Long> newCourses = new HashSet<>();
+    private final Set<Long> newDepartments = new HashSet<>();
+    private final Map<Long, Long> courses = new TreeMap<>();
+    private final Map<Long, Long> departments = new TreeMap<>();
+    private final Map<Integer, Long> loads = new TreeMap<>();
+
+    public static int bucket(int courses) {
+        return Math.min(courses, MAX_LOAD_BUCKET);
+    }
+
+    public void courseCreated(Long courseId) {
+        newCourses.add(courseId);
+    }
+
+    public void departmentCreated(Long departmentId) {
+        newDepartments.add(departmentId);
+    }
+
+    public void course(Long courseId, long delta) {
+        courses.merge(courseId, delta, Long::sum);
+    }
+
+    public void department(Long departmentId, long delta) {
+        if (departmentId != null) {
+            departments.merge(departmentId, delta, Long::sum);
+        }
+    }
+
+    public void load(int courses, long delta) {
+        loads.merge(bucket(courses), delta, Long::sum);
+    }
+
+    // Adds the load buckets of another set of changes to these
+    public void addLoads(EnrollmentDeltas other) {
+        other.loads.forEach((bucket, delta) -> loads.merge(bucket, delta, Long::sum));
+    }
+
+    public Set<Long> courseIds() {
+        return Collections.unmodifiableSet(courses.keySet());
+    }
+
+    public boolean isEmpty() {
+        return newCourses.isEmpty() && newDepartments.isEmpty() && courses.values().stream().allMatch(d -> d == 0)
+                && departments.values().stream().allMatch(d -> d == 0) && loads.values().stream().allMatch(d -> d == 0);
+    }
+
+    public void applyTo(Connection connection) throws SQLException {
+        applyCountsTo(connection);
+        applyLoadsTo(connection);
+    }
+
+    public void applyCountsTo(Connection connection) throws SQLException {
+        insertRows(connection, "insert into course_enrollment_stats (course_id, students) values (?, 0)", newCourses);
+        insertRows(connection, "insert into department_enrollment_stats (department_id, students) values (?, 0)",
+                newDepartments);
+        update(connection, "update course_enrollment_stats set students = students + ? where course_id = ?", courses);
+        update(connection, "update department_enrollment_stats set students = students + ? where department_id = ?",
+                departments);
+    }
+
+    public void applyLoadsTo(Connection connection) throws SQLException {
+        update(connection, "update course_load_stats set students = students + ? where courses = ?", loads);
+    }
+
+    private static void insertRows(Connection connection, String sql, Set<Long> ids) throws SQLException {
+        if (ids.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (Long id : ids) {
+                statement.setLong(1, id);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private static void update(Connection connection, String sql, Map<? extends Number, Long> deltas) throws SQLException {
+        if (deltas.values().stream().allMatch(d -> d == 0)) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (Map.Entry<? extends Number, Long> delta : deltas.entrySet()) {
+                if (delta.getValue() != 0) {
+                    statement.setLong(1, delta.getValue());
+                    statement.setLong(2, delta.getKey().longValue());
+                    statement.addBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.assignment1.repository;
+
+import com.example.assignment1.enitity.Course;
+import com.example.assignment1.enitity.Department;
+import com.example.assignment1.enitity.Student;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.engine.spi.TransactionCompletionCallbacks.AfterCompletionCallback;
+import org.hibernate.engine.spi.TransactionCompletionCallbacks.BeforeCompletionCallback;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.event.spi.PreCollectionRemoveEvent;
+import org.hibernate.event.spi.PreCollectionRemoveEventListener;
+import org.hibernate.event.spi.PreCollectionUpdateEvent;
+import org.hibernate.event.spi.PreCollectionUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Keeps the enrollment aggregates current for writes that go through Hibernate: the teacher
+ * forms, the CSV import and repository saves. Enrollment and department changes are
+ * collected per student during the transaction and applied as one set of {@link EnrollmentDeltas}
+ * just before commit. Writes that bypass entity events (see AccountWriteRepository) apply
+ * their own deltas through {@link EnrollmentStatsRepository}.
+ */
+@Component
+public class EnrollmentStatsListener implements PostInsertEventListener, PostUpdateEventListener,
+        PostDeleteEventListener, PostCollectionRecreateEventListener, PreCollectionUpdateEventListener,
+        PreCollectionRemoveEventListener {
+
+    private static final String COURSES_ROLE = Student.class.getName() + ".courses";
+
+    // Changes made by the current transaction of each session
+    private final Map<SharedSessionContractImplementor, Changes> pending =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    public EnrollmentStatsListener(EntityManagerFactory entityManagerFactory) {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        registry.appendListeners(EventType.PRE_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.PRE_COLLECTION_REMOVE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Student student) {
+            StudentChange change = changes(event.getSession()).student(student.getId());
+            change.inserted = true;
+            change.departmentKnown = true;
+            change.departmentAfter = departmentId(student.getDepartment());
+            change.coursesBefore = 0;
+            change.coursesAfter = student.getCourses() == null ? 0 : student.getCourses().size();
+        } else if (event.getEntity() instanceof Course course) {
+            changes(event.getSession()).deltas.courseCreated(course.getId());
+        } else if (event.getEntity() instanceof Department department) {
+            changes(event.getSession()).deltas.departmentCreated(department.getId());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Student student && event.getOldState() != null) {
+            int index = Arrays.asList(event.getPersister().getPropertyNames()).indexOf("department");
+            StudentChange change = changes(event.getSession()).student(student.getId());
+            if (!change.departmentKnown) {
+                change.departmentKnown = true;
+                change.departmentBefore = departmentId(event.getOldState()[index]);
+            }
+            change.departmentAfter = departmentId(event.getState()[index]);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Student student) {
+            StudentChange change = changes(event.getSession()).student(student.getId());
+            change.deleted = true;
+            if (!change.departmentKnown) {
+                int index = Arrays.asList(event.getPersister().getPropertyNames()).indexOf("department");
+                change.departmentKnown = true;
+                change.departmentBefore = departmentId(event.getDeletedState()[index]);
+            }
+            // Enrollments are removed before their owner; no removal means there were none
+            if (change.coursesBefore < 0) {
+                change.coursesBefore = 0;
+            }
+        }
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        if (!isCourses(event)) {
+            return;
+        }
+        Changes changes = changes(event.getSession());
+        List<Long> after = courseIds((Collection<?>) event.getCollection());
+        after.forEach(id -> changes.deltas.course(id, 1));
+        StudentChange change = changes.student((Long) event.getAffectedOwnerIdOrNull());
+        if (change.coursesBefore < 0) {
+            change.coursesBefore = 0;
+        }
+        change.coursesAfter = after.size();
+    }
+
+    @Override
+    public void onPreUpdateCollection(PreCollectionUpdateEvent event) {
+        if (!isCourses(event)) {
+            return;
+        }
+        Changes changes = changes(event.getSession());
+        List<Long> before = courseIds((Collection<?>) event.getCollection().getStoredSnapshot());
+        List<Long> after = courseIds((Collection<?>) event.getCollection());
+        before.forEach(id -> changes.deltas.course(id, -1));
+        after.forEach(id -> changes.deltas.course(id, 1));
+        StudentChange change = changes.student((Long) event.getAffectedOwnerIdOrNull());
+        if (change.coursesBefore < 0) {
+            change.coursesBefore = before.size();
+        }
+        change.coursesAfter = after.size();
+    }
+
+    @Override
+    public void onPreRemoveCollection(PreCollectionRemoveEvent event) {
+        if (!isCourses(event)) {
+            return;
+        }
+        Changes changes = changes(event.getSession());
+        Long studentId = (Long) event.getAffectedOwnerIdOrNull();
+        PersistentCollection<?> collection = event.getCollection();
+        // Removing a collection that was never loaded does not load it; ask the database instead
+        List<Long> before = collection.wasInitialized()
+                ? courseIds((Collection<?>) collection.getStoredSnapshot())
+                : storedCourseIds(event.getSession(), studentId);
+        before.forEach(id -> changes.deltas.course(id, -1));
+        StudentChange change = changes.student(studentId);
+        if (change.coursesBefore < 0) {
+            change.coursesBefore = before.size();
+        }
+        change.coursesAfter = 0;
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private static boolean isCourses(AbstractCollectionEvent event) {
+        return COURSES_ROLE.equals(event.getCollection().getRole()) && event.getAffectedOwnerIdOrNull() != null;
+    }
+
+    private Changes changes(SharedSessionContractImplementor session) {
+        return pending.computeIfAbsent(session, s -> {
+            s.getTransactionCompletionCallbacks().registerCallback((BeforeCompletionCallback) this::apply);
+            s.getTransactionCompletionCallbacks().registerCallback(
+                    (AfterCompletionCallback) (success, completed) -> pending.remove(completed));
+            return new Changes();
+        });
+    }
+
+    private void apply(SharedSessionContractImplementor session) {
+        Changes changes = pending.remove(session);
+        if (changes == null) {
+            return;
+        }
+        EnrollmentDeltas deltas = changes.deltas;
+        for (StudentChange change : changes.students.values()) {
+            if (change.departmentKnown) {
+                if (!change.inserted) {
+                    deltas.department(change.departmentBefore, -1);
+                }
+                if (!change.deleted) {
+                    deltas.department(change.departmentAfter, 1);
+                }
+            }
+            if (change.coursesBefore >= 0 && !change.inserted) {
+                deltas.load(change.coursesBefore, -1);
+            }
+            if (change.coursesAfter >= 0 && !change.deleted) {
+                deltas.load(change.coursesAfter, 1);
+            }
+        }
+        if (!deltas.isEmpty()) {
+            session.doWork(deltas::applyTo);
+        }
+    }
+
+    private static List<Long> storedCourseIds(SharedSessionContractImplementor session, Long studentId) {
+        List<Long> ids = new ArrayList<>();
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "select course_id from student_course where student_id = ?")) {
+                statement.setLong(1, studentId);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        ids.add(rs.getLong(1));
+                    }
+                }
+            }
+        });
+        return ids;
+    }
+
+    private static List<Long> courseIds(Collection<?> courses) {
+        List<Long> ids = new ArrayList<>();
+        if (courses != null) {
+            for (Object course : courses) {
+                ids.add(((Course) course).getId());
+            }
+        }
+        return ids;
+    }
+
+    private static Long departmentId(Object department) {
+        return department == null ? null : ((Department) department).getId();
+    }
+
+    private static final class Changes {
+        final EnrollmentDeltas deltas = new EnrollmentDeltas();
+        final Map<Long, StudentChange> students = new HashMap<>();
+
+        StudentChange student(Long id) {
+            return students.computeIfAbsent(id, k -> new StudentChange());
+        }
+    }
+
+    // Where one student stood before and after the transaction; -1 course counts are not yet known
+    private static final class StudentChange {
+        boolean inserted;
+        boolean deleted;
+        boolean departmentKnown;
+        Long departmentBefore;
+        Long departmentAfter;
+        int coursesBefore = -1;
+        int coursesAfter = -1;
+    }
+}
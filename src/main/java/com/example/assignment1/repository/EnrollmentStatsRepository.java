@@ -0,0 +1,205 @@
+package com.example.assignment1.repository;
+
+import com.example.assignment1.dto.CourseEnrollment;
+import com.example.assignment1.dto.DepartmentEnrollment;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The enrollment aggregates (V8): reads for the analytics page, deltas for writes that
+ * bypass {@link EnrollmentStatsListener}, and the recount that repairs drift. Reads touch
+ * only the aggregate tables, never students or student_course.
+ * <p>
+ * Enrollment writes lock rows in one order: the courses' seat counts (course_enrollment_stats,
+ * by course id), then the students' own rows, then department counts and course-load buckets.
+ */
+@Repository
+public class EnrollmentStatsRepository {
+
+    private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate named;
+
+    public EnrollmentStatsRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+        this.named = new NamedParameterJdbcTemplate(jdbc);
+    }
+
+    // Most enrolled first
+    public List<CourseEnrollment> topCourses(int limit) {
+        return jdbc.query("select c.id, c.title, d.name, s.students from course_enrollment_stats s "
+                        + "join course c on c.id = s.course_id left join department d on d.id = c.department_id "
+                        + "order by s.students desc, s.course_id desc fetch first ? rows only",
+                (rs, i) -> new CourseEnrollment(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getLong(4)), limit);
+    }
+
+    public List<DepartmentEnrollment> departments() {
+        return jdbc.query("select d.id, d.name, s.students from department_enrollment_stats s "
+                        + "join department d on d.id = s.department_id order by s.students desc, d.id",
+                (rs, i) -> new DepartmentEnrollment(rs.getLong(1), rs.getString(2), rs.getLong(3)));
+    }
+
+    // Number of courses (the last bucket meaning that many or more) -> students
+    public Map<Integer, Long> courseLoad() {
+        Map<Integer, Long> load = new LinkedHashMap<>();
+        jdbc.query("select courses, students from course_load_stats order by courses",
+                rs -> {
+                    load.put(rs.getInt(1), rs.getLong(2));
+                });
+        return load;
+    }
+
+    public long totalEnrollments() {
+        return jdbc.queryForObject("select coalesce(sum(students), 0) from course_enrollment_stats", Long.class);
+    }
+
+    /**
+     * Applies the course and department counts now. The load buckets are collected and
+     * applied once the transaction has committed, on its connection, so no writer holds the
+     * few shared bucket rows while it works; a recount running at that moment may see them
+     * one change behind, which the next recount repairs.
+     */
+    @SuppressWarnings("unchecked")
+    public void apply(EnrollmentDeltas deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            jdbc.execute((ConnectionCallback<Void>) connection -> {
+                deltas.applyTo(connection);
+                return null;
+            });
+            return;
+        }
+        jdbc.execute((ConnectionCallback<Void>) connection -> {
+            deltas.applyCountsTo(connection);
+            return null;
+        });
+        EnrollmentDeltas pending = (EnrollmentDeltas) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            EnrollmentDeltas loads = new EnrollmentDeltas();
+            TransactionSynchronizationManager.bindResource(this, loads);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    // The committed transaction's connection is still bound; commit the buckets on it too
+                    jdbc.execute((ConnectionCallback<Void>) connection -> {
+                        loads.applyLoadsTo(connection);
+                        if (!connection.getAutoCommit()) {
+                            connection.commit();
+                        }
+                        return null;
+                    });
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(EnrollmentStatsRepository.this);
+                }
+            });
+            pending = loads;
+        }
+        pending.addLoads(deltas);
+    }
+
+    // Call before writing a student's rows, so seat counts are locked first as everywhere else
+    public void lockCourses(Collection<Long> courseIds) {
+        if (!courseIds.isEmpty()) {
+            named.queryForList("select course_id from course_enrollment_stats where course_id in (:ids) "
+                    + "order by course_id for update", Map.of("ids", courseIds), Long.class);
+        }
+    }
+
+    // The student's current courses and the given ones, e.g. before an edit replaces the list; returns the current ones
+    public List<Long> lockCourses(Long studentId, Collection<Long> courseIds) {
+        List<Long> current = jdbc.queryForList("select course_id from student_course where student_id = ?",
+                Long.class, studentId);
+        Set<Long> ids = new HashSet<>(courseIds);
+        ids.addAll(current);
+        lockCourses(ids);
+        return current;
+    }
+
+    // What deleting these students takes away; call before deleting them
+    public EnrollmentDeltas forRemoval(Collection<Long> studentIds) {
+        EnrollmentDeltas deltas = new EnrollmentDeltas();
+        Map<String, Object> ids = Map.of("ids", studentIds);
+        named.query("select course_id, count(*) from student_course where student_id in (:ids) group by course_id",
+                ids, rs -> {
+                    deltas.course(rs.getLong(1), -rs.getLong(2));
+                });
+        named.query("select department_id, count(*) from students where id in (:ids) and department_id is not null "
+                + "group by department_id", ids, rs -> {
+            deltas.department(rs.getLong(1), -rs.getLong(2));
+        });
+        named.query("select count(sc.course_id) from students s left join student_course sc on sc.student_id = s.id "
+                + "where s.id in (:ids) group by s.id", ids, rs -> {
+            deltas.load(rs.getInt(1), -1);
+        });
+        return deltas;
+    }
+
+    // What moving these students to another department changes; call before moving them
+    public EnrollmentDeltas forDepartmentMove(Collection<Long> studentIds, Long departmentId) {
+        EnrollmentDeltas deltas = new EnrollmentDeltas();
+        named.query("select department_id, count(*) from students where id in (:ids) group by department_id",
+                Map.of("ids", studentIds), rs -> {
+                    Long from = rs.getObject(1) == null ? null : rs.getLong(1);
+                    deltas.department(from, -rs.getLong(2));
+                    deltas.department(departmentId, rs.getLong(2));
+                });
+        return deltas;
+    }
+
+    /**
+     * Recounts every aggregate from the base tables and corrects the rows that differ,
+     * returning how many did. Call inside a transaction: the aggregate rows are locked
+     * first, so enrollments committed while the recount runs are applied after it.
+     */
+    public int reconcile() {
+        jdbc.queryForList("select course_id from course_enrollment_stats order by course_id for update", Long.class);
+        jdbc.queryForList("select department_id from department_enrollment_stats order by department_id for update", Long.class);
+        jdbc.queryForList("select courses from course_load_stats order by courses for update", Integer.class);
+
+        // Rows for courses and departments created outside Hibernate, e.g. by the dataset generator
+        jdbc.update("insert into course_enrollment_stats (course_id, students) select c.id, 0 from course c "
+                + "where not exists (select 1 from course_enrollment_stats s where s.course_id = c.id)");
+        jdbc.update("insert into department_enrollment_stats (department_id, students) select d.id, 0 from department d "
+                + "where not exists (select 1 from department_enrollment_stats s where s.department_id = d.id)");
+
+        int corrected = jdbc.update("update course_enrollment_stats s "
+                + "set students = (select count(*) from student_course sc where sc.course_id = s.course_id) "
+                + "where students <> (select count(*) from student_course sc where sc.course_id = s.course_id)");
+        corrected += jdbc.update("update department_enrollment_stats s "
+                + "set students = (select count(*) from students t where t.department_id = s.department_id) "
+                + "where students <> (select count(*) from students t where t.department_id = s.department_id)");
+
+        Map<Integer, Long> actual = new LinkedHashMap<>();
+        for (int bucket = 0; bucket <= EnrollmentDeltas.MAX_LOAD_BUCKET; bucket++) {
+            actual.put(bucket, 0L);
+        }
+        jdbc.query("select n, count(*) from (select least(count(sc.course_id), ?) as n "
+                        + "from students s left join student_course sc on sc.student_id = s.id group by s.id) l group by n",
+                rs -> {
+                    actual.put(rs.getInt(1), rs.getLong(2));
+                }, EnrollmentDeltas.MAX_LOAD_BUCKET);
+        Map<Integer, Long> stored = courseLoad();
+        for (Map.Entry<Integer, Long> bucket : actual.entrySet()) {
+            if (!bucket.getValue().equals(stored.get(bucket.getKey()))) {
+                corrected += jdbc.update("update course_load_stats set students = ? where courses = ?",
+                        bucket.getValue(), bucket.getKey());
+            }
+        }
+        return corrected;
+    }
+}
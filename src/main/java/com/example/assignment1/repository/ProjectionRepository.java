@@ -0,0 +1,78 @@
+package com.example.assignment1.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keyset pages of selected columns, in the iteration order of the given fields. The
+ * select list is built from the fields asked for, so the database reads only those
+ * columns and no entities are loaded. Spring Data projection interfaces would fix the
+ * column set per method; sparse fieldsets need any subset. Rows are ordered by id,
+ * which is always selected to serve as the cursor.
+ */
+@Repository
+public class ProjectionRepository {
+
+    private final EntityManager entityManager;
+
+    public ProjectionRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public List<Map<String, Object>> findPage(ApiResource resource, Set<String> fields,
+                                              Long departmentId, Long afterId, int limit) {
+        List<String> select = new ArrayList<>();
+        boolean joinDepartment = false;
+        for (String field : fields) {
+            String path = resource.fields().get(field);
+            if (path == null) {
+                throw new IllegalArgumentException("Unknown field for " + resource.name().toLowerCase() + ": " + field);
+            }
+            select.add(path + " as " + field);
+            joinDepartment |= path.startsWith("d.");
+        }
+        if (!fields.contains("id")) {
+            select.add("e.id as id");
+        }
+
+        StringBuilder jpql = new StringBuilder("select ").append(String.join(", ", select))
+                .append(" from ").append(resource.entity()).append(" e");
+        if (joinDepartment) {
+            jpql.append(" left join e.department d");
+        }
+        jpql.append(" where 1 = 1");
+        if (afterId != null) {
+            jpql.append(" and e.id > :afterId");
+        }
+        if (departmentId != null) {
+            jpql.append(" and e.department.id = :departmentId");
+        }
+        jpql.append(" order by e.id");
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class).setMaxResults(limit);
+        if (afterId != null) {
+            query.setParameter("afterId", afterId);
+        }
+        if (departmentId != null) {
+            query.setParameter("departmentId", departmentId);
+        }
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : query.getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", tuple.get("id"));
+            for (String field : fields) {
+                row.put(field, tuple.get(field));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.assignment1.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Seats, enrollments and waitlists for student self-registration (V9). The seats taken in a
+ * course are its course_enrollment_stats count; {@link #takeSeat} raises it only while it is
+ * below the capacity, so the row lock on that one count is what keeps a course from being
+ * overbooked. Native for the same reason as AccountWriteRepository: a single enrollment row
+ * is written without loading the student's course list; only that student's cached course
+ * list is evicted (see {@link StudentCoursesCache}).
+ */
+@Repository
+public class RegistrationRepository {
+
+    private final EntityManager entityManager;
+    private final StudentCoursesCache studentCourses;
+
+    public RegistrationRepository(EntityManager entityManager, StudentCoursesCache studentCourses) {
+        this.entityManager = entityManager;
+        this.studentCourses = studentCourses;
+    }
+
+    // Null for an unknown course
+    public Seats seats(Long courseId) {
+        List<?> rows = entityManager.createNativeQuery("select c.capacity, s.students, "
+                        + "(select count(*) from course_waitlist w where w.course_id = c.id) from course c "
+                        + "join course_enrollment_stats s on s.course_id = c.id where c.id = :course")
+                .setParameter("course", courseId)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Object[] row = (Object[]) rows.get(0);
+        return new Seats(row[0] == null ? null : ((Number) row[0]).intValue(), ((Number) row[1]).longValue(),
+                ((Number) row[2]).longValue());
+    }
+
+    /**
+     * Takes one seat if the course has one free. With {@code queueFirst}, seats are only taken
+     * while nobody is waiting, so a newcomer cannot overtake the waitlist.
+     */
+    public boolean takeSeat(Long courseId, boolean queueFirst) {
+        return nativeQuery("update course_enrollment_stats s set students = students + 1 where s.course_id = :course "
+                + "and s.students < (select coalesce(c.capacity, " + Integer.MAX_VALUE + ") from course c "
+                + "where c.id = s.course_id)"
+                + (queueFirst ? " and not exists (select 1 from course_waitlist w where w.course_id = s.course_id)" : ""),
+                "course_enrollment_stats")
+                .setParameter("course", courseId)
+                .executeUpdate() == 1;
+    }
+
+    public void releaseSeat(Long courseId) {
+        nativeQuery("update course_enrollment_stats set students = students - 1 where course_id = :course",
+                "course_enrollment_stats")
+                .setParameter("course", courseId)
+                .executeUpdate();
+    }
+
+    public boolean isEnrolled(Long studentId, Long courseId) {
+        return !entityManager.createNativeQuery(
+                        "select 1 from student_course where student_id = :student and course_id = :course")
+                .setParameter("student", studentId)
+                .setParameter("course", courseId)
+                .getResultList().isEmpty();
+    }
+
+    public int courseCount(Long studentId) {
+        return ((Number) entityManager.createNativeQuery("select count(*) from student_course where student_id = :student")
+                .setParameter("student", studentId)
+                .getSingleResult()).intValue();
+    }
+
+    // Call with a seat taken; the student's version moves like any other change to their enrollments
+    public void enroll(Long studentId, Long courseId) {
+        nativeQuery("insert into student_course (student_id, course_id) values (:student, :course)",
+                StudentCoursesCache.QUERY_SPACE)
+                .setParameter("student", studentId)
+                .setParameter("course", courseId)
+                .executeUpdate();
+        studentCourses.evict(studentId);
+        touch(studentId);
+    }
+
+    public boolean unenroll(Long studentId, Long courseId) {
+        boolean removed = nativeQuery("delete from student_course where student_id = :student and course_id = :course",
+                StudentCoursesCache.QUERY_SPACE)
+                .setParameter("student", studentId)
+                .setParameter("course", courseId)
+                .executeUpdate() == 1;
+        if (removed) {
+            studentCourses.evict(studentId);
+            touch(studentId);
+        }
+        return removed;
+    }
+
+    public void joinWaitlist(Long studentId, Long courseId) {
+        nativeQuery("insert into course_waitlist (course_id, student_id, requested_at) values (:course, :student, :now)",
+                "course_waitlist")
+                .setParameter("course", courseId)
+                .setParameter("student", studentId)
+                .setParameter("now", Timestamp.from(Instant.now()))
+                .executeUpdate();
+        touch(studentId);
+    }
+
+    public boolean leaveWaitlist(Long studentId, Long courseId) {
+        boolean removed = nativeQuery("delete from course_waitlist where course_id = :course and student_id = :student",
+                "course_waitlist")
+                .setParameter("course", courseId)
+                .setParameter("student", studentId)
+                .executeUpdate() == 1;
+        if (removed) {
+            touch(studentId);
+        }
+        return removed;
+    }
+
+    public boolean hasWaitlist(Long courseId) {
+        return !entityManager.createNativeQuery("select 1 from course_waitlist where course_id = :course "
+                        + "fetch first 1 rows only")
+                .setParameter("course", courseId)
+                .getResultList().isEmpty();
+    }
+
+    // For enrollments made outside registration, e.g. a teacher's edit; the student's row is written by the caller
+    public void leaveWaitlists(Long studentId, Collection<Long> courseIds) {
+        if (!courseIds.isEmpty()) {
+            nativeQuery("delete from course_waitlist where student_id = :student and course_id in (:courses)",
+                    "course_waitlist")
+                    .setParameter("student", studentId)
+                    .setParameter("courses", courseIds)
+                    .executeUpdate();
+        }
+    }
+
+    // 1 for the head of the queue; null when the student is not waiting for the course
+    public Long waitlistPosition(Long studentId, Long courseId) {
+        List<?> rows = entityManager.createNativeQuery("select count(*) from course_waitlist w "
+                        + "join course_waitlist own on own.course_id = w.course_id and w.id <= own.id "
+                        + "where own.course_id = :course and own.student_id = :student")
+                .setParameter("course", courseId)
+                .setParameter("student", studentId)
+                .getResultList();
+        long position = ((Number) rows.get(0)).longValue();
+        return position == 0 ? null : position;
+    }
+
+    // Removes and returns the head of the queue, locking it so two promotions cannot both take it
+    public Long nextWaiting(Long courseId) {
+        List<?> head = entityManager.createNativeQuery("select id, student_id from course_waitlist "
+                        + "where course_id = :course order by id fetch first 1 rows only for update")
+                .setParameter("course", courseId)
+                .getResultList();
+        if (head.isEmpty()) {
+            return null;
+        }
+        Object[] row = (Object[]) head.get(0);
+        nativeQuery("delete from course_waitlist where id = :id", "course_waitlist")
+                .setParameter("id", ((Number) row[0]).longValue())
+                .executeUpdate();
+        Long studentId = ((Number) row[1]).longValue();
+        touch(studentId);
+        return studentId;
+    }
+
+    // The titles of the courses a student is waiting for, oldest request first
+    public List<String> waitlistTitles(Long studentId) {
+        List<?> titles = entityManager.createNativeQuery("select c.title from course_waitlist w "
+                        + "join course c on c.id = w.course_id where w.student_id = :student order by w.id", String.class)
+                .setParameter("student", studentId)
+                .getResultList();
+        return titles.stream().map(String.class::cast).toList();
+    }
+
+    private void touch(Long studentId) {
+        nativeQuery("update user_accounts set version = version + 1, updated_at = :now where id = :id", "user_accounts")
+                .setParameter("now", Timestamp.from(Instant.now()))
+                .setParameter("id", studentId)
+                .executeUpdate();
+    }
+
+    private Query nativeQuery(String sql, String space) {
+        Query query = entityManager.createNativeQuery(sql);
+        query.unwrap(NativeQuery.class).addSynchronizedQuerySpace(space);
+        return query;
+    }
+
+    /** Capacity (null for unlimited), seats taken and students waiting. */
+    public record Seats(Integer capacity, long taken, long waiting) {
+
+        public int free() {
+            return capacity == null ? Integer.MAX_VALUE : (int) Math.max(0, capacity - taken);
+        }
+    }
+}
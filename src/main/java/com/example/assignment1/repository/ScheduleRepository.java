@@ -0,0 +1,100 @@
+package com.example.assignment1.repository;
+
+import com.example.assignment1.schedule.Meeting;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Course meeting times (V11) and the meetings behind students' schedules, read as
+ * {@link Meeting} rows without loading any entities.
+ */
+@Repository
+public class ScheduleRepository {
+
+    private static final String MEETING_COLUMNS = "m.course_id, c.title, m.day_of_week, m.starts_at, m.ends_at";
+    private static final RowMapper<Meeting> MEETING = (rs, i) -> meeting(rs, 1);
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public ScheduleRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public void addMeeting(Long courseId, DayOfWeek day, LocalTime start, LocalTime end) {
+        jdbc.update("insert into course_meeting (course_id, day_of_week, starts_at, ends_at) "
+                        + "values (:course, :day, :start, :end)",
+                Map.of("course", courseId, "day", day.getValue(), "start", start, "end", end));
+    }
+
+    public List<Meeting> meetingsOf(Long courseId) {
+        return jdbc.query("select " + MEETING_COLUMNS + " from course_meeting m join course c on c.id = m.course_id "
+                + "where m.course_id = :course order by m.day_of_week, m.starts_at", Map.of("course", courseId), MEETING);
+    }
+
+    // Meetings of the given courses, grouped by course; courses without meetings are left out
+    public Map<Long, List<Meeting>> meetingsByCourse(Collection<Long> courseIds) {
+        Map<Long, List<Meeting>> meetings = new LinkedHashMap<>();
+        if (!courseIds.isEmpty()) {
+            jdbc.query("select " + MEETING_COLUMNS + " from course_meeting m join course c on c.id = m.course_id "
+                    + "where m.course_id in (:courses)", Map.of("courses", courseIds), rs -> {
+                Meeting meeting = meeting(rs, 1);
+                meetings.computeIfAbsent(meeting.courseId(), id -> new ArrayList<>()).add(meeting);
+            });
+        }
+        return meetings;
+    }
+
+    // Every course's meetings, for bulk imports that check many students against the same courses
+    public Map<Long, List<Meeting>> allMeetingsByCourse() {
+        Map<Long, List<Meeting>> meetings = new LinkedHashMap<>();
+        jdbc.query("select " + MEETING_COLUMNS + " from course_meeting m join course c on c.id = m.course_id", rs -> {
+            Meeting meeting = meeting(rs, 1);
+            meetings.computeIfAbsent(meeting.courseId(), id -> new ArrayList<>()).add(meeting);
+        });
+        return meetings;
+    }
+
+    public List<Meeting> studentMeetings(Long studentId) {
+        return jdbc.query("select " + MEETING_COLUMNS + " from student_course sc "
+                + "join course_meeting m on m.course_id = sc.course_id join course c on c.id = m.course_id "
+                + "where sc.student_id = :student", Map.of("student", studentId), MEETING);
+    }
+
+    /**
+     * The meetings of every student in a department, in one query ordered by student.
+     * Students whose courses have no meetings are left out.
+     */
+    public List<StudentMeetings> departmentMeetings(Long departmentId) {
+        List<StudentMeetings> students = new ArrayList<>();
+        jdbc.query("select s.id, s.name, " + MEETING_COLUMNS + " from students s "
+                + "join student_course sc on sc.student_id = s.id "
+                + "join course_meeting m on m.course_id = sc.course_id join course c on c.id = m.course_id "
+                + "where s.department_id = :department order by s.id", Map.of("department", departmentId), rs -> {
+            long id = rs.getLong(1);
+            if (students.isEmpty() || students.get(students.size() - 1).studentId() != id) {
+                students.add(new StudentMeetings(id, rs.getString(2), new ArrayList<>()));
+            }
+            students.get(students.size() - 1).meetings().add(meeting(rs, 3));
+        });
+        return students;
+    }
+
+    private static Meeting meeting(ResultSet rs, int column) throws SQLException {
+        return Meeting.of(rs.getLong(column), rs.getString(column + 1), DayOfWeek.of(rs.getInt(column + 2)),
+                rs.getObject(column + 3, LocalTime.class), rs.getObject(column + 4, LocalTime.class));
+    }
+
+    public record StudentMeetings(long studentId, String name, List<Meeting> meetings) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.assignment1.repository;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * JCache region factory whose cache manager belongs to a single session factory.
+ * Caching providers hand out one manager per (configuration URI, class loader), so
+ * with the stock factory every session factory in the JVM shares the same regions,
+ * and contexts on different databases (as in tests) would serve each other's rows.
+ * A class loader of our own makes the key unique; the manager is closed with the
+ * session factory.
+ */
+public class ScopedJCacheRegionFactory extends JCacheRegionFactory {
+
+    private final ClassLoader scope = new ClassLoader(ScopedJCacheRegionFactory.class.getClassLoader()) {
+    };
+
+    @Override
+    protected ClassLoader getClassLoader(CachingProvider cachingProvider) {
+        return scope;
+    }
+
+    // Caffeine resolves classpath: URIs itself; Hibernate would turn them into file URLs first
+    @Override
+    protected URI getUri(SessionFactoryOptions settings, Map<String, Object> properties) {
+        Object uri = properties.get(ConfigSettings.CONFIG_URI);
+        return uri == null ? super.getUri(settings, properties) : URI.create(uri.toString());
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.assignment1.repository;
+
+import com.example.assignment1.enitity.Student;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Per-student eviction of the cached {@code Student.courses} collections. Native writes to
+ * {@code student_course} declare {@link #QUERY_SPACE} rather than the table: no cached region
+ * or query maps to it, so Hibernate does not clear the whole student-courses region on every
+ * enrollment. Only the students whose rows changed are evicted, once right away and again
+ * when the transaction ends, so a read in between cannot leave the old list cached.
+ */
+@Component
+public class StudentCoursesCache {
+
+    public static final String QUERY_SPACE = "student_course_rows";
+
+    private static final String ROLE = Student.class.getName() + ".courses";
+
+    private final Cache cache;
+
+    public StudentCoursesCache(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    public void evict(Long studentId) {
+        evict(List.of(studentId));
+    }
+
+    public void evict(Collection<Long> studentIds) {
+        List<Long> ids = List.copyOf(studentIds);
+        ids.forEach(id -> cache.evictCollectionData(ROLE, id));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    ids.forEach(id -> cache.evictCollectionData(ROLE, id));
+                }
+            });
+        }
+    }
+}
@@ -1,11 +1,46 @@
 package com.example.assignment1.repository;
 
 import com.example.assignment1.enitity.Student;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface StudentRepository extends JpaRepository<Student, Long> {
     Optional<Student> findByEmail(String email);
-}
 
+    // Fully loaded for views rendered after the transaction has ended
+    @EntityGraph(attributePaths = {"department", "courses"})
+    Optional<Student> findWithDetailsById(Long id);
+
+    @EntityGraph(attributePaths = {"department", "courses"})
+    Optional<Student> findWithDetailsByEmail(String email);
+
+    @Query("select s.password from Student s where s.id = :id")
+    Optional<String> findPasswordById(Long id);
+
+    // Keyset (seek) page: the id is appended to the sort so the cursor is always unique
+    @EntityGraph("Student.department")
+    Window<Student> findAllWithDepartmentBy(ScrollPosition position, Sort sort, Limit limit);
+
+    // Forward-only streaming for exports; callers must hold a (read-only) transaction
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select s from Student s left join fetch s.department order by s.id")
+    Stream<Student> streamAllWithDepartment();
+
+    // One row per student_course link: student id, student email, course id, course title
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select s.id, s.email, c.id, c.title from Student s join s.courses c order by s.id, c.id")
+    Stream<Object[]> streamEnrollments();
+}
@@ -0,0 +1,73 @@
+package com.example.assignment1.repository;
+
+import com.example.assignment1.enitity.Course;
+import com.example.assignment1.enitity.Department;
+import com.example.assignment1.enitity.Student;
+import com.example.assignment1.enitity.Teacher;
+import jakarta.persistence.EntityManagerFactory;
+import com.example.assignment1.service.TableVersions;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Bumps a table's row in table_versions when a transaction inserts, updates or deletes
+ * its entities. The bump is collected per transaction and applied once it has committed
+ * (see {@link TableVersions#bump}), so no writer holds a table_versions lock while it works.
+ * Student enrollment changes count too: they increment the student's own version.
+ */
+@Component
+public class TableVersionListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final Map<Class<?>, String> TABLES = Map.of(
+            Student.class, "students", Teacher.class, "teachers",
+            Course.class, "course", Department.class, "department");
+
+    private final TableVersions tableVersions;
+
+    public TableVersionListener(EntityManagerFactory entityManagerFactory, TableVersions tableVersions) {
+        this.tableVersions = tableVersions;
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        written(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        written(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        written(event.getEntity());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void written(Object entity) {
+        String table = TABLES.get(entity.getClass());
+        if (table != null) {
+            tableVersions.bump(table);
+        }
+    }
+}
@@ -2,10 +2,39 @@ package com.example.assignment1.repository;
 
 import com.example.assignment1.enitity.Student;
 import com.example.assignment1.enitity.Teacher;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TeacherRepository extends JpaRepository<Teacher, Long> {
     Optional<Teacher> findByEmail(String email);
+
+    @EntityGraph("Teacher.department")
+    Optional<Teacher> findWithDepartmentById(Long id);
+
+    @EntityGraph("Teacher.department")
+    Optional<Teacher> findWithDepartmentByEmail(String email);
+
+    @Query("select t.password from Teacher t where t.id = :id")
+    Optional<String> findPasswordById(Long id);
+
+    // Keyset (seek) page: the id is appended to the sort so the cursor is always unique
+    @EntityGraph("Teacher.department")
+    Window<Teacher> findAllWithDepartmentBy(ScrollPosition position, Sort sort, Limit limit);
+
+    // Forward-only streaming for exports; callers must hold a (read-only) transaction
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select t from Teacher t left join fetch t.department order by t.id")
+    Stream<Teacher> streamAllWithDepartment();
 }
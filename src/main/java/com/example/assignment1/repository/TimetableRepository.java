@@ -0,0 +1,103 @@
+package com.example.assignment1.repository;
+
+import com.example.assignment1.dto.ScheduledSection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rooms and course sections (V10), and the rows the timetable solver reads: one query per
+ * kind of row, whatever the size of the term. Students taking two courses are counted
+ * per pair of courses in the database, not per student in memory.
+ */
+@Repository
+public class TimetableRepository {
+
+    private final JdbcTemplate jdbc;
+
+    public TimetableRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public void addRoom(String name, int capacity) {
+        jdbc.update("insert into room (name, capacity) values (?, ?)", name, capacity);
+    }
+
+    public List<Room> rooms() {
+        return jdbc.query("select id, name, capacity from room order by name",
+                (rs, i) -> new Room(rs.getLong(1), rs.getString(2), rs.getInt(3)));
+    }
+
+    /**
+     * Gives every course without sections enough of them for its enrolled students, at most
+     * {@code sectionSize} each and at least one; returns how many were added.
+     */
+    public int createMissingSections(int sectionSize) {
+        List<Object[]> rows = new ArrayList<>();
+        jdbc.query("select c.id, coalesce(s.students, 0) from course c "
+                + "left join course_enrollment_stats s on s.course_id = c.id "
+                + "where not exists (select 1 from course_section x where x.course_id = c.id) order by c.id", rs -> {
+            long students = rs.getLong(2);
+            int sections = (int) Math.max(1, (students + sectionSize - 1) / sectionSize);
+            for (int i = 0; i < sections; i++) {
+                // Spread the students evenly; the first sections take the remainder
+                long size = students / sections + (i < students % sections ? 1 : 0);
+                rows.add(new Object[]{rs.getLong(1), size});
+            }
+        });
+        jdbc.batchUpdate("insert into course_section (course_id, students) values (?, ?)", rows);
+        return rows.size();
+    }
+
+    public List<SectionRow> sections() {
+        return jdbc.query("select id, course_id, students from course_section order by id",
+                (rs, i) -> new SectionRow(rs.getLong(1), rs.getLong(2), rs.getInt(3)));
+    }
+
+    public List<Member> courses() {
+        return jdbc.query("select id, department_id from course order by id",
+                (rs, i) -> new Member(rs.getLong(1), rs.getObject(2, Long.class)));
+    }
+
+    public List<Member> teachers() {
+        return jdbc.query("select id, department_id from teachers order by id",
+                (rs, i) -> new Member(rs.getLong(1), rs.getObject(2, Long.class)));
+    }
+
+    // Pairs of courses with the number of students taking both
+    public List<long[]> sharedStudents() {
+        return jdbc.query("select a.course_id, b.course_id, count(*) from student_course a "
+                        + "join student_course b on b.student_id = a.student_id and b.course_id > a.course_id "
+                        + "group by a.course_id, b.course_id",
+                (rs, i) -> new long[]{rs.getLong(1), rs.getLong(2), rs.getLong(3)});
+    }
+
+    // Each row: teacher id, room id, slot, section id
+    public void saveAssignments(List<Object[]> assignments) {
+        jdbc.batchUpdate("update course_section set teacher_id = ?, room_id = ?, slot = ? where id = ?", assignments);
+    }
+
+    public List<ScheduledSection> timetable(int periodsPerDay) {
+        return jdbc.query("select s.id, c.title, s.students, t.name, r.name, s.slot from course_section s "
+                        + "join course c on c.id = s.course_id left join teachers t on t.id = s.teacher_id "
+                        + "left join room r on r.id = s.room_id order by s.slot, r.name, s.id",
+                (rs, i) -> {
+                    Integer slot = rs.getObject(6, Integer.class);
+                    return new ScheduledSection(rs.getLong(1), rs.getString(2), rs.getInt(3), rs.getString(4),
+                            rs.getString(5), slot == null ? null : slot / periodsPerDay + 1,
+                            slot == null ? null : slot % periodsPerDay + 1);
+                });
+    }
+
+    public record Room(Long id, String name, int capacity) {
+    }
+
+    public record SectionRow(Long id, Long courseId, int students) {
+    }
+
+    // A course or teacher and its department, null for none
+    public record Member(Long id, Long departmentId) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.assignment1.repository;
+
+import com.example.assignment1.enitity.UserAccount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+
+public interface UserAccountRepository extends JpaRepository<UserAccount, Long> {
+
+    // Root columns only, so this is one probe of the unique email index with no subclass joins
+    @Query("select a.id as id, a.email as email, a.password as password, a.role as role "
+            + "from UserAccount a where a.email = :email")
+    Optional<UserCredentials> findCredentialsByEmail(String email);
+
+    @Query("select a.email from UserAccount a where a.email in :emails")
+    Set<String> findExistingEmails(Collection<String> emails);
+
+    // Native: a JPQL bulk update on a JOINED hierarchy goes through Hibernate's temporary-table strategy.
+    // The declared space keeps Hibernate from clearing every second-level cache region afterwards.
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_accounts"))
+    @Query(value = "update user_accounts set password = :password where email = :email", nativeQuery = true)
+    int updatePasswordByEmail(String email, String password);
+}
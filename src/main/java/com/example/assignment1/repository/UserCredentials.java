@@ -0,0 +1,14 @@
+package com.example.assignment1.repository;
+
+/**
+ * Login columns of a student or teacher, read without loading the entity.
+ */
+public interface UserCredentials {
+    Long getId();
+
+    String getEmail();
+
+    String getPassword();
+
+    String getRole();
+}
@@ -0,0 +1,9 @@
+package com.example.assignment1.schedule;
+
+/** Two overlapping meetings of different courses. */
+public record Clash(Meeting meeting, Meeting with) {
+
+    public String describe() {
+        return meeting.describe() + " clashes with " + with.describe();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.assignment1.schedule;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.TextStyle;
+import java.util.Locale;
+
+/**
+ * One weekly meeting of a course, in minutes from Monday 00:00; the end is exclusive, so
+ * a meeting ending at 10:00 does not clash with one starting at 10:00.
+ */
+public record Meeting(long courseId, String course, int start, int end) {
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+
+    public Meeting {
+        if (start >= end) {
+            throw new IllegalArgumentException("A meeting must end after it starts");
+        }
+    }
+
+    public static Meeting of(long courseId, String course, DayOfWeek day, LocalTime start, LocalTime end) {
+        int offset = (day.getValue() - 1) * MINUTES_PER_DAY;
+        return new Meeting(courseId, course, offset + minutes(start), offset + minutes(end));
+    }
+
+    public boolean overlaps(Meeting other) {
+        return start < other.end && other.start < end;
+    }
+
+    public DayOfWeek day() {
+        return DayOfWeek.of(start / MINUTES_PER_DAY + 1);
+    }
+
+    public LocalTime startTime() {
+        return LocalTime.ofSecondOfDay(start % MINUTES_PER_DAY * 60L);
+    }
+
+    public LocalTime endTime() {
+        return LocalTime.ofSecondOfDay(end % MINUTES_PER_DAY * 60L);
+    }
+
+    // e.g. "Algorithms (Monday 09:00-10:30)"
+    public String describe() {
+        return course + " (" + day().getDisplayName(TextStyle.FULL, Locale.ENGLISH) + " " + startTime() + "-"
+                + endTime() + ")";
+    }
+
+    private static int minutes(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+}
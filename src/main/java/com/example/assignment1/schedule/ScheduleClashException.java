@@ -0,0 +1,18 @@
+package com.example.assignment1.schedule;
+
+import java.util.List;
+
+/** An enrollment that would give a student two courses meeting at the same time. */
+public class ScheduleClashException extends IllegalArgumentException {
+
+    private final transient List<Clash> clashes;
+
+    public ScheduleClashException(List<Clash> clashes) {
+        super(clashes.get(0).describe() + (clashes.size() > 1 ? " (and " + (clashes.size() - 1) + " more)" : ""));
+        this.clashes = List.copyOf(clashes);
+    }
+
+    public List<Clash> clashes() {
+        return clashes;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.assignment1.schedule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * A student's weekly meetings as an interval index: sorted by start, plus, for every prefix
+ * of that order, the meeting in it that ends last. A new meeting [s, e) can only overlap
+ * meetings that start before e, and it overlaps one of them exactly when the one of them
+ * ending last ends after s, so a check is a binary search and one lookup. The stored
+ * meetings may overlap each other. Immutable, so a cached index is shared between threads.
+ */
+public final class ScheduleIndex {
+
+    private static final Comparator<Meeting> BY_START =
+            Comparator.comparingInt(Meeting::start).thenComparingInt(Meeting::end);
+
+    public static final ScheduleIndex EMPTY = of(List.of());
+
+    private final Meeting[] byStart;
+    // lastEnding[i]: index into byStart of the meeting ending last among byStart[0..i]
+    private final int[] lastEnding;
+    private final Set<Long> courses;
+
+    private ScheduleIndex(Meeting[] byStart) {
+        this.byStart = byStart;
+        this.lastEnding = new int[byStart.length];
+        Set<Long> courseIds = new HashSet<>();
+        for (int i = 0; i < byStart.length; i++) {
+            lastEnding[i] = i > 0 && byStart[lastEnding[i - 1]].end() >= byStart[i].end() ? lastEnding[i - 1] : i;
+            courseIds.add(byStart[i].courseId());
+        }
+        this.courses = Set.copyOf(courseIds);
+    }
+
+    public static ScheduleIndex of(Collection<Meeting> meetings) {
+        Meeting[] sorted = meetings.toArray(new Meeting[0]);
+        Arrays.sort(sorted, BY_START);
+        return new ScheduleIndex(sorted);
+    }
+
+    public int size() {
+        return byStart.length;
+    }
+
+    // Courses with at least one meeting in the index
+    public Set<Long> courses() {
+        return courses;
+    }
+
+    /** A meeting in the index that overlaps the given one (the one ending last), or null. */
+    public Meeting clash(Meeting meeting) {
+        int i = lastStartingBefore(meeting.end());
+        if (i < 0) {
+            return null;
+        }
+        Meeting latest = byStart[lastEnding[i]];
+        return latest.end() > meeting.start() ? latest : null;
+    }
+
+    /**
+     * Clashes of meetings being added with the index and with each other: one per added
+     * meeting that overlaps the index, plus every overlapping pair among the added ones.
+     */
+    public List<Clash> clashes(Collection<Meeting> added) {
+        List<Clash> clashes = new ArrayList<>();
+        for (Meeting meeting : added) {
+            Meeting existing = clash(meeting);
+            if (existing != null) {
+                clashes.add(new Clash(meeting, existing));
+            }
+        }
+        clashes.addAll(overlapping(added));
+        return clashes;
+    }
+
+    public ScheduleIndex without(Collection<Long> courseIds) {
+        return new ScheduleIndex(Arrays.stream(byStart)
+                .filter(m -> !courseIds.contains(m.courseId()))
+                .toArray(Meeting[]::new));
+    }
+
+    /**
+     * Every pair of overlapping meetings of different courses, each once. A sweep in start
+     * order that keeps the meetings still running in a heap by end: O(n log n) plus the
+     * pairs found, where comparing every pair would be O(n²).
+     */
+    public static List<Clash> overlapping(Collection<Meeting> meetings) {
+        Meeting[] sorted = meetings.toArray(new Meeting[0]);
+        Arrays.sort(sorted, BY_START);
+        List<Clash> clashes = new ArrayList<>();
+        PriorityQueue<Meeting> running = new PriorityQueue<>(Comparator.comparingInt(Meeting::end));
+        for (Meeting meeting : sorted) {
+            while (!running.isEmpty() && running.peek().end() <= meeting.start()) {
+                running.poll();
+            }
+            for (Meeting other : running) {
+                if (other.courseId() != meeting.courseId()) {
+                    clashes.add(new Clash(meeting, other));
+                }
+            }
+            running.add(meeting);
+        }
+        return clashes;
+    }
+
+    // Index of the last meeting starting before the given minute, or -1
+    private int lastStartingBefore(int minute) {
+        int low = 0;
+        int high = byStart.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (byStart[mid].start() < minute) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.assignment1.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.Collection;
+
+/**
+ * Principal of a logged-in account. It carries the account id alongside the role
+ * authority, so pages can load the student or teacher by primary key instead of
+ * looking the email up again.
+ */
+public class AccountUser extends User {
+
+    // Stored in the shared session table, so it has to deserialize on every node
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+
+    public AccountUser(Long id, String email, String password, Collection<? extends GrantedAuthority> authorities) {
+        super(email, password, authorities);
+        this.id = id;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    // Null for principals that did not come from CustomUserDetailsService or an API token
+    public static Long idOf(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof AccountUser account) {
+            return account.getId();
+        }
+        if (authentication.getPrincipal() instanceof Jwt token
+                && token.getClaim(TokenService.ACCOUNT_ID_CLAIM) instanceof Number id) {
+            return id.longValue();
+        }
+        return null;
+    }
+}
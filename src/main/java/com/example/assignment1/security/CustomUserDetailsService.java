@@ -1,53 +1,153 @@
 package com.example.assignment1.security;
 
-import com.example.assignment1.enitity.Student;
-import com.example.assignment1.enitity.Teacher;
-import com.example.assignment1.repository.StudentRepository;
-import com.example.assignment1.repository.TeacherRepository;
+import com.example.assignment1.enitity.Emails;
+import com.example.assignment1.enitity.Role;
+import com.example.assignment1.repository.UserAccountRepository;
+import com.example.assignment1.repository.UserCredentials;
 
-import org.springframework.beans.factory.annotation.Autowired;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 
-
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService, MeterBinder {
+
+    private final UserAccountRepository accountRepo;
+
+    // Bounded, expiring cache of resolved accounts; the entries are immutable so
+    // credential erasure after authentication cannot poison them
+    private final Cache<String, CachedUser> cache;
 
-    @Autowired
-    StudentRepository studentRepo;
+    // Account id -> cached email, so an account is evicted by lookup rather than a scan of the
+    // cache. Size and expiry evictions drop the mapping inside the entry's own removal; a
+    // mapping left behind by invalidate() is harmless and overwritten on the next load
+    private final Map<Long, String> emailsById = new ConcurrentHashMap<>();
 
-    @Autowired
-    TeacherRepository teacherRepo;
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong loadNanos = new AtomicLong();
+    private final AtomicLong notFound = new AtomicLong();
+
+    public CustomUserDetailsService(UserAccountRepository accountRepo,
+                                    @Value("${app.security.user-cache.max-size:10000}") long maxSize,
+                                    @Value("${app.security.user-cache.ttl:5m}") Duration ttl) {
+        this.accountRepo = accountRepo;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .<String, CachedUser>evictionListener((email, user, cause) -> {
+                    if (user != null) {
+                        emailsById.remove(user.id(), email);
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) {
+        String email = Emails.normalize(username);
+        CachedUser user = cache.getIfPresent(email);
+        if (user == null) {
+            long start = System.nanoTime();
+            Optional<UserCredentials> found = accountRepo.findCredentialsByEmail(email);
+            loads.incrementAndGet();
+            loadNanos.addAndGet(System.nanoTime() - start);
+            if (found.isEmpty()) {
+                notFound.incrementAndGet();
+                throw new UsernameNotFoundException("User not found");
+            }
+            UserCredentials c = found.get();
+            user = new CachedUser(c.getId(), Role.valueOf(c.getRole()), c.getEmail(), c.getPassword());
+            emailsById.put(user.id(), email);
+            cache.put(email, user);
+        }
+        return new AccountUser(
+                user.id(),
+                user.email(),
+                user.password(),
+                List.of(new SimpleGrantedAuthority("ROLE_" + user.role()))
+        );
+    }
 
+    // Invoked by Spring Security after a successful login whose stored hash is outdated
+    // (e.g. a legacy plain-text row), with the password freshly encoded
     @Override
-    public UserDetails loadUserByUsername(String email) {
-
-        if (studentRepo.findByEmail(email).isPresent()) {
-            Student s = studentRepo.findByEmail(email).get();
-            return new User(
-                    s.getEmail(),
-                    s.getPassword(),
-                    List.of(new SimpleGrantedAuthority("ROLE_" + s.getRole()))
-            );
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        accountRepo.updatePasswordByEmail(user.getUsername(), newPassword);
+        cache.invalidate(user.getUsername());
+        if (user instanceof AccountUser account) {
+            return new AccountUser(account.getId(), account.getUsername(), newPassword, account.getAuthorities());
         }
+        return User.withUserDetails(user).password(newPassword).build();
+    }
 
-        if (teacherRepo.findByEmail(email).isPresent()) {
-            Teacher t = teacherRepo.findByEmail(email).get();
-            return new User(
-                    t.getEmail(),
-                    t.getPassword(),
-                    List.of(new SimpleGrantedAuthority("ROLE_" + t.getRole()))
-            );
+    /**
+     * Called when a student or teacher is changed so stale credentials are not served. Inside
+     * a transaction the entry goes once it has committed: evicted earlier, a login in between
+     * would cache the old row again for the whole TTL.
+     */
+    public void evict(Role role, Long id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(role, id);
+                }
+            });
+        } else {
+            evictNow(role, id);
         }
+    }
 
-        throw new UsernameNotFoundException("User not found");
+    private void evictNow(Role role, Long id) {
+        String email = emailsById.get(id);
+        if (email != null) {
+            cache.asMap().computeIfPresent(email, (key, user) -> {
+                if (user.role() != role || !user.id().equals(id)) {
+                    return user;
+                }
+                emailsById.remove(id, email);
+                return null;
+            });
+        }
     }
-}
 
+    // Hit/miss counts come from the cache itself; loads are the database round trips behind misses
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "users");
+        FunctionTimer.builder("app.security.user.load", this,
+                        s -> s.loads.get(), s -> s.loadNanos.get(), TimeUnit.NANOSECONDS)
+                .description("Account lookups that went to the database")
+                .register(registry);
+        FunctionCounter.builder("app.security.user.not.found", notFound, AtomicLong::get)
+                .description("Login attempts for unknown accounts")
+                .register(registry);
+    }
+
+    private record CachedUser(Long id, Role role, String email, String password) {
+    }
+}
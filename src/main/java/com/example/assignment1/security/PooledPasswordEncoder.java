@@ -0,0 +1,173 @@
+package com.example.assignment1.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs an adaptive (deliberately slow) password encoder on a dedicated, bounded
+ * pool so that login bursts and bulk edits cannot occupy every servlet thread.
+ * When the queue is full further hashing requests are rejected instead of piling up.
+ */
+public class PooledPasswordEncoder implements PasswordEncoder, DisposableBean, MeterBinder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+    private final AtomicLong waited = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+
+    public PooledPasswordEncoder(PasswordEncoder delegate, int poolSize, int queueCapacity) {
+        this.delegate = delegate;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + threads.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                (r, pool) -> {
+                    rejected.incrementAndGet();
+                    throw new RejectedExecutionException("Password hashing queue is full");
+                });
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // Bulk variant for imports: keeps at most two tasks per hashing thread in flight so
+    // interactive logins still find room in the queue, and waits instead of failing
+    // when the queue is momentarily full
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        int window = executor.getMaximumPoolSize() * 2;
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        int done = 0;
+        for (CharSequence raw : rawPasswords) {
+            while (futures.size() - done >= window) {
+                await(futures.get(done++));
+            }
+            while (true) {
+                try {
+                    futures.add(executor.submit(() -> delegate.encode(raw)));
+                    break;
+                } catch (RejectedExecutionException e) {
+                    if (done == futures.size()) {
+                        throw e;
+                    }
+                    await(futures.get(done++));
+                }
+            }
+        }
+        List<String> encoded = new ArrayList<>(futures.size());
+        for (Future<String> future : futures) {
+            encoded.add(await(future));
+        }
+        completed.addAndGet(futures.size());
+        return encoded;
+    }
+
+    // Cheap prefix check, no need to queue it
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T submit(Callable<T> task) {
+        long queuedAt = System.nanoTime();
+        Future<T> future = executor.submit(() -> {
+            waitNanos.addAndGet(System.nanoTime() - queuedAt);
+            waited.incrementAndGet();
+            return task.call();
+        });
+        T result = await(future);
+        completed.incrementAndGet();
+        return result;
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // ===== back-pressure metrics =====
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getPoolSize() {
+        return executor.getMaximumPoolSize();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    public long getCompletedCount() {
+        return completed.get();
+    }
+
+    // Total time tasks spent queued before a hashing thread picked them up
+    public long getTotalWaitNanos() {
+        return waitNanos.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("app.password.hash.queue", this, PooledPasswordEncoder::getQueueDepth)
+                .description("Hashing tasks waiting for a thread")
+                .register(registry);
+        Gauge.builder("app.password.hash.active", this, PooledPasswordEncoder::getActiveCount)
+                .register(registry);
+        Gauge.builder("app.password.hash.threads", this, PooledPasswordEncoder::getPoolSize)
+                .register(registry);
+        FunctionCounter.builder("app.password.hash.rejected", this, PooledPasswordEncoder::getRejectedCount)
+                .description("Hashing requests refused because the queue was full")
+                .register(registry);
+        FunctionCounter.builder("app.password.hash.completed", this, PooledPasswordEncoder::getCompletedCount)
+                .register(registry);
+        // Interactive encode/matches calls only; encodeAll batches are not timed
+        FunctionTimer.builder("app.password.hash.wait", this, e -> e.waited.get(),
+                        PooledPasswordEncoder::getTotalWaitNanos, TimeUnit.NANOSECONDS)
+                .description("Time hashing tasks spent queued")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.assignment1.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+
+/**
+ * Signing, verification and revocation of the API access tokens used by the
+ * {@code /api/**} filter chain in {@link SecurityConfig}.
+ */
+@Configuration
+@EnableConfigurationProperties(TokenProperties.class)
+public class TokenConfig {
+
+    // A per-process random key only verifies tokens on the node that issued them
+    @Bean
+    public TokenKeyRing tokenKeyRing(TokenProperties properties,
+                                     @Value("${app.cluster.enabled:false}") boolean clustered) {
+        if (clustered && properties.keys().isEmpty()) {
+            throw new IllegalStateException("app.cluster.enabled requires app.security.token.keys, "
+                    + "shared by every node");
+        }
+        return new TokenKeyRing(properties.activeKey(), properties.keys());
+    }
+
+    @Bean
+    public TokenRevocations tokenRevocations(JdbcTemplate jdbc, TokenProperties properties) {
+        return new TokenRevocations(jdbc, properties.revocationRefresh());
+    }
+
+    @Bean
+    public JwtEncoder jwtEncoder(TokenKeyRing keys) {
+        return new NimbusJwtEncoder(keys.source());
+    }
+
+    // Signature, expiry, issuer and revocation are all checked in memory
+    @Bean
+    public JwtDecoder jwtDecoder(TokenKeyRing keys, TokenRevocations revocations, TokenProperties properties) {
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.HS256, keys.source()));
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(processor);
+        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                JwtValidators.createDefaultWithIssuer(properties.issuer()), revocations));
+        return decoder;
+    }
+
+    @Bean
+    public JwtAuthenticationConverter jwtAuthenticationConverter() {
+        JwtGrantedAuthoritiesConverter authorities = new JwtGrantedAuthoritiesConverter();
+        authorities.setAuthoritiesClaimName(TokenService.ROLE_CLAIM);
+        authorities.setAuthorityPrefix("ROLE_");
+        JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+        converter.setJwtGrantedAuthoritiesConverter(authorities);
+        return converter;
+    }
+
+    @Bean
+    public TokenService tokenService(CustomUserDetailsService users, PooledPasswordEncoder passwordEncoder,
+                                     JwtEncoder encoder, TokenKeyRing keys, TokenRevocations revocations,
+                                     TokenProperties properties) {
+        return new TokenService(users, passwordEncoder, encoder, keys, revocations,
+                properties.issuer(), properties.ttl());
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.assignment1.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetSequenceKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HMAC keys for API tokens. The active key signs; every key verifies, selected by the
+ * token's {@code kid} header. With no keys configured a random one is made per process,
+ * which is fine for a single node but means tokens do not survive a restart; with
+ * {@code app.cluster.enabled} set, {@link TokenConfig} refuses to start without keys.
+ */
+public class TokenKeyRing {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenKeyRing.class);
+
+    private static final int MIN_KEY_BYTES = 32;
+
+    private final String activeKeyId;
+    private final JWKSource<SecurityContext> source;
+
+    public TokenKeyRing(String activeKeyId, Map<String, String> keys) {
+        List<JWK> jwks = new ArrayList<>();
+        if (keys.isEmpty()) {
+            log.warn("No app.security.token.keys configured, signing API tokens with a random per-process key");
+            byte[] secret = new byte[MIN_KEY_BYTES];
+            new SecureRandom().nextBytes(secret);
+            activeKeyId = "local";
+            jwks.add(key(activeKeyId, secret));
+        } else {
+            keys.forEach((id, encoded) -> jwks.add(key(id, Base64.getDecoder().decode(encoded))));
+        }
+        this.activeKeyId = activeKeyId;
+        this.source = new ImmutableJWKSet<>(new JWKSet(jwks));
+    }
+
+    public String activeKeyId() {
+        return activeKeyId;
+    }
+
+    public JWKSource<SecurityContext> source() {
+        return source;
+    }
+
+    private static JWK key(String id, byte[] secret) {
+        if (secret.length < MIN_KEY_BYTES) {
+            throw new IllegalArgumentException("Token key " + id + " is shorter than " + MIN_KEY_BYTES + " bytes");
+        }
+        return new OctetSequenceKey.Builder(secret)
+                .keyID(id)
+                .algorithm(JWSAlgorithm.HS256)
+                .keyUse(KeyUse.SIGNATURE)
+                .build();
+    }
+}
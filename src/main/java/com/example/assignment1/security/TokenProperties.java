@@ -0,0 +1,30 @@
+package com.example.assignment1.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * API access tokens, bound from {@code app.security.token.*}. {@code keys} maps key ids
+ * to base64 HMAC secrets; tokens are signed with {@code activeKey} and accepted under any
+ * key still in the map, which is how keys are rotated.
+ */
+@ConfigurationProperties("app.security.token")
+public record TokenProperties(
+        @DefaultValue("15m") Duration ttl,
+        @DefaultValue("assignment1") String issuer,
+        String activeKey,
+        @DefaultValue Map<String, String> keys,
+        @DefaultValue("30s") Duration revocationRefresh) {
+
+    public TokenProperties {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl must be positive");
+        }
+        if (!keys.isEmpty() && (activeKey == null || !keys.containsKey(activeKey))) {
+            throw new IllegalArgumentException("active-key must name one of app.security.token.keys");
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.assignment1.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ids of API tokens revoked before they expired. Revocations are written to the
+ * revoked_tokens table and every node reloads it periodically, so checking a token is a
+ * map lookup. Another node's revocation takes effect within one refresh interval; the
+ * revoking node sees it at once. Rows are dropped once the token would have expired anyway.
+ */
+public class TokenRevocations implements OAuth2TokenValidator<Jwt>, MeterBinder, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocations.class);
+
+    private static final OAuth2Error REVOKED = new OAuth2Error("invalid_token", "Token has been revoked", null);
+
+    private final JdbcTemplate jdbc;
+    private final ScheduledExecutorService scheduler;
+
+    // token id -> expiry (epoch millis)
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    public TokenRevocations(JdbcTemplate jdbc, Duration refresh) {
+        this.jdbc = jdbc;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "token-revocations");
+            t.setDaemon(true);
+            return t;
+        });
+        if (!refresh.isZero()) {
+            scheduler.scheduleWithFixedDelay(this::refresh, 0, refresh.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Idempotent: the token may already be revoked, e.g. through a node that has not refreshed yet
+    public void revoke(String tokenId, Instant expiresAt) {
+        try {
+            jdbc.update("insert into revoked_tokens (token_id, expires_at) select ?, ? "
+                            + "where not exists (select 1 from revoked_tokens where token_id = ?)",
+                    tokenId, expiresAt.toEpochMilli(), tokenId);
+        } catch (DuplicateKeyException e) {
+            // A concurrent revocation of the same token inserted it first
+        }
+        revoked.put(tokenId, expiresAt.toEpochMilli());
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && revoked.containsKey(tokenId);
+    }
+
+    // Entries are only ever added or expired, so a refresh racing a local revoke cannot lose it
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        try {
+            jdbc.update("delete from revoked_tokens where expires_at <= ?", now);
+            jdbc.query("select token_id, expires_at from revoked_tokens",
+                    rs -> { revoked.put(rs.getString(1), rs.getLong(2)); });
+        } catch (Exception e) {
+            log.warn("Could not refresh revoked API tokens, keeping {} known revocations", revoked.size(), e);
+        }
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+
+    @Override
+    public OAuth2TokenValidatorResult validate(Jwt token) {
+        return isRevoked(token.getId()) ? OAuth2TokenValidatorResult.failure(REVOKED) : OAuth2TokenValidatorResult.success();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("app.security.token.revoked", revoked, Map::size)
+                .description("Revoked API tokens that have not expired yet")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.assignment1.security;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Issues API access tokens. Credentials are checked once, here, against the same
+ * accounts as form login; afterwards each request is authenticated from the token's
+ * signature and claims alone.
+ */
+public class TokenService {
+
+    public static final String ROLE_CLAIM = "role";
+    public static final String ACCOUNT_ID_CLAIM = "uid";
+
+    private final DaoAuthenticationProvider credentials;
+    private final JwtEncoder encoder;
+    private final TokenKeyRing keys;
+    private final TokenRevocations revocations;
+    private final String issuer;
+    private final Duration ttl;
+
+    public TokenService(CustomUserDetailsService users, PooledPasswordEncoder passwordEncoder,
+                        JwtEncoder encoder, TokenKeyRing keys, TokenRevocations revocations,
+                        String issuer, Duration ttl) {
+        this.credentials = new DaoAuthenticationProvider(users);
+        this.credentials.setPasswordEncoder(passwordEncoder);
+        this.credentials.setUserDetailsPasswordService(users);
+        this.encoder = encoder;
+        this.keys = keys;
+        this.revocations = revocations;
+        this.issuer = issuer;
+        this.ttl = ttl;
+    }
+
+    public Jwt issue(String email, String password) throws AuthenticationException {
+        Authentication authentication = credentials.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated(email, password));
+        AccountUser user = (AccountUser) authentication.getPrincipal();
+        String role = user.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .map(a -> a.substring("ROLE_".length()))
+                .findFirst().orElseThrow();
+
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .id(UUID.randomUUID().toString())
+                .issuer(issuer)
+                .subject(user.getUsername())
+                .issuedAt(now)
+                .expiresAt(now.plus(ttl))
+                .claim(ROLE_CLAIM, role)
+                .claim(ACCOUNT_ID_CLAIM, user.getId())
+                .build();
+        JwsHeader header = JwsHeader.with(MacAlgorithm.HS256).keyId(keys.activeKeyId()).build();
+        return encoder.encode(JwtEncoderParameters.from(header, claims));
+    }
+
+    public void revoke(Jwt token) {
+        revocations.revoke(token.getId(), token.getExpiresAt());
+    }
+}
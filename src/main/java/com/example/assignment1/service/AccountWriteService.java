@@ -0,0 +1,149 @@
+package com.example.assignment1.service;
+
+import com.example.assignment1.dto.AccountPatch;
+import com.example.assignment1.enitity.Emails;
+import com.example.assignment1.enitity.Role;
+import com.example.assignment1.enitity.Student;
+import com.example.assignment1.enitity.Teacher;
+import com.example.assignment1.repository.AccountWriteRepository;
+import com.example.assignment1.repository.EnrollmentDeltas;
+import com.example.assignment1.repository.EnrollmentStatsRepository;
+import com.example.assignment1.security.CustomUserDetailsService;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Partial updates and bulk operations on students and teachers, without loading them.
+ * Unlike {@link StudentService#update}, which merges a whole form-backed entity, a patch
+ * writes only the fields it carries. These writes bypass Hibernate's entity events, so
+ * they bump {@link TableVersions}, adjust the enrollment statistics and evict cached
+ * logins themselves.
+ */
+@Service
+public class AccountWriteService {
+
+    // Bounds the IN list, and with it the statement size and the time the rows stay locked
+    public static final int MAX_BULK_IDS = 1000;
+
+    private final AccountWriteRepository accountWrites;
+    private final PasswordEncoder passwordEncoder;
+    private final CustomUserDetailsService userDetailsService;
+    private final TableVersions tableVersions;
+    private final EnrollmentStatsRepository enrollmentStats;
+    private final RegistrationService registrations;
+    private final TransactionTemplate writeTransaction;
+
+    public AccountWriteService(AccountWriteRepository accountWrites, PasswordEncoder passwordEncoder,
+                               CustomUserDetailsService userDetailsService, TableVersions tableVersions,
+                               EnrollmentStatsRepository enrollmentStats, RegistrationService registrations,
+                               PlatformTransactionManager transactionManager) {
+        this.accountWrites = accountWrites;
+        this.passwordEncoder = passwordEncoder;
+        this.userDetailsService = userDetailsService;
+        this.tableVersions = tableVersions;
+        this.enrollmentStats = enrollmentStats;
+        this.registrations = registrations;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional
+    public void patch(Role role, Long id, AccountPatch patch) {
+        Map<String, Object> account = new LinkedHashMap<>();
+        if (patch.email() != null) {
+            account.put("email", Emails.normalize(requireText(patch.email(), "email")));
+        }
+        if (patch.password() != null) {
+            account.put("password", passwordEncoder.encode(requireText(patch.password(), "password")));
+        }
+        Map<String, Object> details = new LinkedHashMap<>();
+        if (patch.name() != null) {
+            details.put("name", requireText(patch.name(), "name"));
+        }
+        if (patch.departmentId() != null) {
+            details.put("department_id", patch.departmentId());
+        }
+        if (account.isEmpty() && details.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to update");
+        }
+
+        // The account row goes first: it carries the version check
+        if (!accountWrites.updateAccount(role, id, account, patch.version())) {
+            if (patch.version() != null && accountWrites.exists(role, id)) {
+                throw new ObjectOptimisticLockingFailureException(role == Role.STUDENT ? Student.class : Teacher.class, id);
+            }
+            throw new IllegalArgumentException("Invalid " + role.name().toLowerCase() + " Id:" + id);
+        }
+        if (role == Role.STUDENT && patch.departmentId() != null) {
+            enrollmentStats.apply(enrollmentStats.forDepartmentMove(List.of(id), patch.departmentId()));
+        }
+        accountWrites.updateDetails(role, id, details);
+        tableVersions.bump(AccountWriteRepository.table(role));
+        userDetailsService.evict(role, id);
+    }
+
+    // Seats the deleted students held go to the courses' waitlists once the delete has committed
+    public int deleteAll(Role role, Collection<Long> ids) {
+        Set<Long> distinct = checkIds(ids);
+        Set<Long> freed = new HashSet<>();
+        int deleted = writeTransaction.execute(status -> {
+            EnrollmentDeltas deltas = role == Role.STUDENT ? enrollmentStats.forRemoval(distinct) : new EnrollmentDeltas();
+            freed.addAll(deltas.courseIds());
+            // Seat counts before the students' rows, department counts after, as for every enrollment write
+            enrollmentStats.lockCourses(deltas.courseIds());
+            int rows = accountWrites.deleteAll(role, distinct);
+            enrollmentStats.apply(deltas);
+            tableVersions.bump(AccountWriteRepository.table(role));
+            distinct.forEach(id -> userDetailsService.evict(role, id));
+            return rows;
+        });
+        if (!freed.isEmpty()) {
+            registrations.seatsFreed(freed);
+        }
+        return deleted;
+    }
+
+    @Transactional
+    public int reassignDepartment(Role role, Collection<Long> ids, Long departmentId) {
+        if (departmentId == null) {
+            throw new IllegalArgumentException("departmentId is required");
+        }
+        Set<Long> distinct = checkIds(ids);
+        EnrollmentDeltas deltas = role == Role.STUDENT
+                ? enrollmentStats.forDepartmentMove(distinct, departmentId) : new EnrollmentDeltas();
+        int moved = accountWrites.reassignDepartment(role, distinct, departmentId);
+        enrollmentStats.apply(deltas);
+        tableVersions.bump(AccountWriteRepository.table(role));
+        return moved;
+    }
+
+    private static Set<Long> checkIds(Collection<Long> ids) {
+        Set<Long> distinct = ids == null ? new LinkedHashSet<>() : new LinkedHashSet<>(ids);
+        distinct.remove(null);
+        if (distinct.isEmpty()) {
+            throw new IllegalArgumentException("ids must not be empty");
+        }
+        if (distinct.size() > MAX_BULK_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_IDS + " ids per request");
+        }
+        return distinct;
+    }
+
+    private static String requireText(String value, String field) {
+        if (value.isBlank()) {
+            throw new IllegalArgumentException(field + " must not be blank");
+        }
+        return value;
+    }
+}
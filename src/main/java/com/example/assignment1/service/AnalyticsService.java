@@ -0,0 +1,33 @@
+package com.example.assignment1.service;
+
+import com.example.assignment1.dto.EnrollmentAnalytics;
+import com.example.assignment1.repository.EnrollmentStatsRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Enrollment statistics read from the aggregate tables, so the cost depends on the number
+ * of courses and departments but not on the number of students or enrollments.
+ */
+@Service
+public class AnalyticsService {
+
+    private final EnrollmentStatsRepository stats;
+
+    public AnalyticsService(EnrollmentStatsRepository stats) {
+        this.stats = stats;
+    }
+
+    @Transactional(readOnly = true)
+    public EnrollmentAnalytics enrollments(int topCourses) {
+        List<EnrollmentAnalytics.CourseLoad> load = stats.courseLoad().entrySet().stream()
+                .map(e -> new EnrollmentAnalytics.CourseLoad(e.getKey(), e.getValue()))
+                .toList();
+        long students = load.stream().mapToLong(EnrollmentAnalytics.CourseLoad::students).sum();
+        long enrollments = stats.totalEnrollments();
+        return new EnrollmentAnalytics(stats.topCourses(topCourses), stats.departments(), load,
+                students, enrollments, students == 0 ? 0 : (double) enrollments / students);
+    }
+}
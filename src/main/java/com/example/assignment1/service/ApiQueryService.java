@@ -0,0 +1,44 @@
+package com.example.assignment1.service;
+
+import com.example.assignment1.dto.ApiPage;
+import com.example.assignment1.repository.ApiResource;
+import com.example.assignment1.repository.ProjectionRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class ApiQueryService {
+
+    private final ProjectionRepository projections;
+
+    public ApiQueryService(ProjectionRepository projections) {
+        this.projections = projections;
+    }
+
+    // fields is a comma-separated sparse fieldset; blank means every field of the resource
+    @Transactional(readOnly = true)
+    public ApiPage page(ApiResource resource, String fields, Long departmentId, Long afterId, int size) {
+        if (departmentId != null && !resource.inDepartment()) {
+            throw new IllegalArgumentException(resource.name().toLowerCase() + " cannot be filtered by department");
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        if (fields == null || fields.isBlank()) {
+            selected.addAll(resource.fields().keySet());
+        } else {
+            Arrays.stream(fields.split(",")).map(String::trim).filter(f -> !f.isEmpty()).forEach(selected::add);
+        }
+        // One extra row tells whether another page follows
+        List<Map<String, Object>> rows = projections.findPage(resource, selected, departmentId, afterId, size + 1);
+        if (rows.size() <= size) {
+            return new ApiPage(rows, null);
+        }
+        List<Map<String, Object>> page = rows.subList(0, size);
+        return new ApiPage(List.copyOf(page), (Long) page.get(size - 1).get("id"));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.assignment1.service;
+
+import com.example.assignment1.dto.CourseRow;
+import com.example.assignment1.dto.DepartmentRow;
+import com.example.assignment1.enitity.Course;
+import com.example.assignment1.enitity.Department;
+import com.example.assignment1.repository.CourseRepository;
+import com.example.assignment1.repository.DepartmentRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Departments and courses. The dropdown lists come from {@link ReferenceDataCache};
+ * writes invalidate it.
+ */
+@Service
+public class CatalogService {
+
+    private final DepartmentRepository deptRepo;
+    private final CourseRepository courseRepo;
+    private final ReferenceDataCache referenceData;
+
+    public CatalogService(DepartmentRepository deptRepo, CourseRepository courseRepo,
+                          ReferenceDataCache referenceData) {
+        this.deptRepo = deptRepo;
+        this.courseRepo = courseRepo;
+        this.referenceData = referenceData;
+    }
+
+    public List<Department> departments() {
+        return referenceData.departments();
+    }
+
+    public List<Course> courses() {
+        return referenceData.courses();
+    }
+
+    @Transactional(readOnly = true)
+    public Department department(Long id) {
+        return deptRepo.findById(id).orElseThrow(() -> new IllegalArgumentException("Invalid department Id:" + id));
+    }
+
+    @Transactional(readOnly = true)
+    public Course course(Long id) {
+        return courseRepo.findById(id).orElseThrow(() -> new IllegalArgumentException("Invalid course Id:" + id));
+    }
+
+    // Names and titles may be null; those rows come last (see NullsLastScroll)
+    @Transactional(readOnly = true)
+    public Window<DepartmentRow> departmentPage(ScrollPosition position, Sort sort, Limit limit) {
+        if (sort.getOrderFor("name") == null) {
+            return deptRepo.findAllBy(position, sort, limit).map(DepartmentRow::of);
+        }
+        return NullsLastScroll.scroll("name", deptRepo::findAllByNameNotNull, deptRepo::findAllByNameIsNull,
+                Department::getId, position, sort, limit).map(DepartmentRow::of);
+    }
+
+    @Transactional(readOnly = true)
+    public Window<CourseRow> coursePage(ScrollPosition position, Sort sort, Limit limit) {
+        if (sort.getOrderFor("title") == null) {
+            return courseRepo.findAllWithDepartmentBy(position, sort, limit).map(CourseRow::of);
+        }
+        return NullsLastScroll.scroll("title", courseRepo::findAllWithDepartmentByTitleNotNull,
+                courseRepo::findAllWithDepartmentByTitleIsNull, Course::getId, position, sort, limit)
+                .map(CourseRow::of);
+    }
+
+    @Transactional
+    public Department addDepartment(Department department) {
+        Department saved = deptRepo.save(department);
+        referenceData.invalidateDepartments();
+        return saved;
+    }
+
+    @Transactional
+    public Course addCourse(Course course) {
+        if (course.getCapacity() != null && course.getCapacity() < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative");
+        }
+        Course saved = courseRepo.save(course);
+        referenceData.invalidateCourses();
+        return saved;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.assignment1.service;
+
+import com.example.assignment1.enitity.Department;
+import com.example.assignment1.enitity.Student;
+import com.example.assignment1.enitity.Teacher;
+import com.example.assignment1.repository.StudentRepository;
+import com.example.assignment1.repository.TeacherRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Streams whole tables to an output stream as CSV or NDJSON. Rows come from a
+ * forward-only cursor with a fixed fetch size and each entity is detached once
+ * written, so memory use does not depend on the number of rows.
+ * Passwords are never exported.
+ */
+@Service
+public class ExportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final List<String> ACCOUNT_COLUMNS = List.of("id", "name", "email", "role", "department");
+    private static final List<String> ENROLLMENT_COLUMNS = List.of("student_id", "student_email", "course_id", "course_title");
+
+    private final StudentRepository studentRepo;
+    private final TeacherRepository teacherRepo;
+    private final EntityManager entityManager;
+    private final JsonMapper jsonMapper;
+
+    public ExportService(StudentRepository studentRepo, TeacherRepository teacherRepo,
+                         EntityManager entityManager, JsonMapper jsonMapper) {
+        this.studentRepo = studentRepo;
+        this.teacherRepo = teacherRepo;
+        this.entityManager = entityManager;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public void exportStudents(Format format, OutputStream out) throws IOException {
+        RowWriter writer = new RowWriter(format, ACCOUNT_COLUMNS, out);
+        try (Stream<Student> students = studentRepo.streamAllWithDepartment()) {
+            for (Student s : (Iterable<Student>) students::iterator) {
+                writer.write(s.getId(), s.getName(), s.getEmail(), s.getRole(), departmentName(s.getDepartment()));
+                entityManager.detach(s);
+            }
+        }
+        writer.finish();
+    }
+
+    @Transactional(readOnly = true)
+    public void exportTeachers(Format format, OutputStream out) throws IOException {
+        RowWriter writer = new RowWriter(format, ACCOUNT_COLUMNS, out);
+        try (Stream<Teacher> teachers = teacherRepo.streamAllWithDepartment()) {
+            for (Teacher t : (Iterable<Teacher>) teachers::iterator) {
+                writer.write(t.getId(), t.getName(), t.getEmail(), t.getRole(), departmentName(t.getDepartment()));
+                entityManager.detach(t);
+            }
+        }
+        writer.finish();
+    }
+
+    // Scalar rows straight from the student_course join, no entities involved
+    @Transactional(readOnly = true)
+    public void exportEnrollments(Format format, OutputStream out) throws IOException {
+        RowWriter writer = new RowWriter(format, ENROLLMENT_COLUMNS, out);
+        try (Stream<Object[]> enrollments = studentRepo.streamEnrollments()) {
+            for (Object[] row : (Iterable<Object[]>) enrollments::iterator) {
+                writer.write(row);
+            }
+        }
+        writer.finish();
+    }
+
+    private static String departmentName(Department department) {
+        return department == null ? null : department.getName();
+    }
+
+    private final class RowWriter {
+        private final Format format;
+        private final List<String> columns;
+        private final Writer out;
+
+        RowWriter(Format format, List<String> columns, OutputStream out) throws IOException {
+            this.format = format;
+            this.columns = columns;
+            this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            if (format == Format.CSV) {
+                this.out.write(Csv.formatLine(columns));
+                this.out.write('\n');
+            }
+        }
+
+        void write(Object... values) throws IOException {
+            if (format == Format.CSV) {
+                out.write(Csv.formatLine(Arrays.asList(values)));
+            } else {
+                Map<String, Object> row = new LinkedHashMap<>();
+                for (int i = 0; i < columns.size(); i++) {
+                    row.put(columns.get(i), values[i] instanceof Enum<?> e ? e.name() : values[i]);
+                }
+                out.write(jsonMapper.writeValueAsString(row));
+            }
+            out.write('\n');
+        }
+
+        void finish() throws IOException {
+            out.flush();
+        }
+    }
+}
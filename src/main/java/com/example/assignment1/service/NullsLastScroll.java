@@ -0,0 +1,68 @@
+package com.example.assignment1.service;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Keyset scrolling on a column that may be null. Spring Data continues a window with
+ * {@code col > :after or (col = :after and id > :id)}, which never matches a null, so rows
+ * with a null key would be skipped and a cursor carrying one could not move on. Instead the
+ * rows are read in two runs, both with ordinary keysets: those with a value in sort order,
+ * then those without in id order. Nulls therefore come last in either direction, and a
+ * cursor whose key is null resumes in the second run.
+ */
+final class NullsLastScroll {
+
+    private NullsLastScroll() {
+    }
+
+    @FunctionalInterface
+    interface Query<T> {
+        Window<T> find(ScrollPosition position, Sort sort, Limit limit);
+    }
+
+    // sort orders by property, then by id
+    static <T> Window<T> scroll(String property, Query<T> withValue, Query<T> withoutValue, Function<T, Long> idOf,
+                                ScrollPosition position, Sort sort, Limit limit) {
+        Sort byId = Sort.by(sort.getOrderFor(property).getDirection(), "id");
+        Map<String, ?> keys = position instanceof KeysetScrollPosition keyset ? keyset.getKeys() : Map.of();
+
+        if (keys.containsKey(property) && keys.get(property) == null) {
+            Window<T> rest = withoutValue.find(ScrollPosition.forward(Collections.singletonMap("id", keys.get("id"))), byId, limit);
+            List<T> content = rest.getContent();
+            return Window.from(content, i -> nullAt(property, idOf.apply(content.get(i))), rest.hasNext());
+        }
+
+        Window<T> valued = withValue.find(position, sort, limit);
+        if (valued.hasNext()) {
+            return valued;
+        }
+        // A full page still needs one row of the second run to tell whether there is a next page
+        int room = limit.max() - valued.size();
+        Window<T> rest = withoutValue.find(ScrollPosition.keyset(), byId, Limit.of(Math.max(room, 1)));
+        List<T> content = new ArrayList<>(valued.getContent());
+        content.addAll(rest.getContent().subList(0, Math.min(room, rest.size())));
+        boolean hasNext = room == 0 ? !rest.isEmpty() : rest.hasNext();
+        return Window.from(content, i -> i < valued.size()
+                ? valued.positionAt(i)
+                : nullAt(property, idOf.apply(content.get(i))), hasNext);
+    }
+
+    // Same keys as a position in the first run, so the cursor matches the sort either way
+    private static ScrollPosition nullAt(String property, Long id) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(property, null);
+        keys.put("id", id);
+        return ScrollPosition.forward(keys);
+    }
+}
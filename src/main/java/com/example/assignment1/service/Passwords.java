@@ -0,0 +1,20 @@
+package com.example.assignment1.service;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+
+final class Passwords {
+
+    private Passwords() {
+    }
+
+    // A blank or unchanged form value keeps the stored hash; hashing is expensive, so only
+    // a genuinely new password is encoded
+    static String keepOrEncode(PasswordEncoder encoder, String submitted, Optional<String> stored) {
+        if (stored.isPresent() && (submitted == null || submitted.isBlank() || submitted.equals(stored.get()))) {
+            return stored.get();
+        }
+        return encoder.encode(submitted);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.assignment1.service;
+
+import com.example.assignment1.enitity.Course;
+import com.example.assignment1.enitity.Department;
+import com.example.assignment1.repository.CourseRepository;
+import com.example.assignment1.repository.DepartmentRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read-mostly cache of the department and course lists used by the form dropdowns.
+ * Writes on this node invalidate it as they commit; the TTL bounds staleness when
+ * another node made the change.
+ */
+@Component
+public class ReferenceDataCache implements MeterBinder {
+
+    private static final String DEPARTMENTS = "departments";
+    private static final String COURSES = "courses";
+
+    private final LoadingCache<String, List<?>> cache;
+
+    public ReferenceDataCache(DepartmentRepository deptRepo, CourseRepository courseRepo,
+                              @Value("${app.reference-cache.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(2)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(key -> DEPARTMENTS.equals(key)
+                        ? List.copyOf(deptRepo.findAllBy(Sort.by("name")))
+                        // department is fetched up front because cached entities are detached
+                        : List.copyOf(courseRepo.findAllWithDepartmentBy(Sort.by("title"))));
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<Department> departments() {
+        return (List<Department>) cache.get(DEPARTMENTS);
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<Course> courses() {
+        return (List<Course>) cache.get(COURSES);
+    }
+
+    // Courses embed their department, so a department change invalidates both lists
+    public void invalidateDepartments() {
+        afterCommit(() -> cache.invalidateAll(List.of(DEPARTMENTS, COURSES)));
+    }
+
+    public void invalidateCourses() {
+        afterCommit(() -> cache.invalidate(COURSES));
+    }
+
+    // Inside a transaction the lists go once it has committed: dropped earlier, a form opened
+    // in between would load them without the new row and keep that for the whole TTL
+    private static void afterCommit(Runnable invalidation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        } else {
+            invalidation.run();
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "reference-data");
+    }
+}
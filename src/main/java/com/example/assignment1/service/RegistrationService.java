@@ -0,0 +1,182 @@
+package com.example.assignment1.service;
+
+import com.example.assignment1.dto.Registration;
+import com.example.assignment1.repository.EnrollmentDeltas;
+import com.example.assignment1.repository.EnrollmentStatsRepository;
+import com.example.assignment1.repository.RegistrationRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * Students registering for seat-limited courses. A registration first reserves a seat in
+ * {@link SeatCounters}, in memory, and only then confirms it in the database with a guarded
+ * update of the course's seat count. When the course is full, the student joins its
+ * waitlist, and every seat given back goes to the head of the queue, including seats freed
+ * by teacher edits and bulk deletes (see {@link #seatsFreed}). Teachers editing a student's
+ * courses are not limited by capacity. A course that meets while one of the student's
+ * courses does is refused before any seat is taken (see ScheduleService).
+ * <p>
+ * A seat transaction locks the course's seat count first and the students' rows after it,
+ * the order every enrollment write follows (see EnrollmentStatsRepository). The course-load
+ * statistics and the students table version are updated after it commits, so registrations
+ * for different courses do not wait on each other.
+ */
+@Service
+public class RegistrationService {
+
+    private final RegistrationRepository registrations;
+    private final SeatCounters seatCounters;
+    private final EnrollmentStatsRepository enrollmentStats;
+    private final TableVersions tableVersions;
+    private final ScheduleService schedules;
+
+    public RegistrationService(RegistrationRepository registrations, SeatCounters seatCounters,
+                               EnrollmentStatsRepository enrollmentStats, TableVersions tableVersions,
+                               ScheduleService schedules) {
+        this.registrations = registrations;
+        this.seatCounters = seatCounters;
+        this.enrollmentStats = enrollmentStats;
+        this.tableVersions = tableVersions;
+        this.schedules = schedules;
+    }
+
+    // Registering again returns the current seat or waitlist place
+    @Transactional
+    public Registration register(Long studentId, Long courseId) {
+        if (registrations.isEnrolled(studentId, courseId)) {
+            return Registration.enrolled(courseId);
+        }
+        Long position = registrations.waitlistPosition(studentId, courseId);
+        if (position != null) {
+            return Registration.waitlisted(courseId, position);
+        }
+        schedules.requireNoClash(studentId, courseId);
+
+        // A course that looks full with nobody waiting is asked again: a seat freed since the
+        // count was read, e.g. on another node, would otherwise sit unused until the next drop
+        boolean reserved = seatCounters.tryReserve(courseId);
+        if (reserved || !registrations.hasWaitlist(courseId)) {
+            if (registrations.takeSeat(courseId, true)) {
+                afterCompletion(committed -> {
+                    if (!reserved) {
+                        seatCounters.invalidate(courseId);
+                    } else if (!committed) {
+                        seatCounters.release(courseId);
+                    }
+                });
+                enroll(studentId, courseId);
+                tableVersions.bump("students");
+                return Registration.enrolled(courseId);
+            }
+            // Full after all, or the free seats belong to the waitlist; hand them out, then queue
+            // up unless one is left. The seat count is locked before any student row, as elsewhere
+            seatCounters.invalidate(courseId);
+            if (promote(courseId) > 0) {
+                tableVersions.bump("students");
+            }
+            if (registrations.takeSeat(courseId, true)) {
+                enroll(studentId, courseId);
+                tableVersions.bump("students");
+                return Registration.enrolled(courseId);
+            }
+        }
+
+        registrations.joinWaitlist(studentId, courseId);
+        return Registration.waitlisted(courseId, registrations.waitlistPosition(studentId, courseId));
+    }
+
+    // Leaves the course, or its waitlist; a freed seat goes to whoever waited longest
+    @Transactional
+    public void drop(Long studentId, Long courseId) {
+        if (registrations.leaveWaitlist(studentId, courseId)) {
+            return;
+        }
+        // The seat count is locked before the student's rows; not enrolled rolls it back
+        registrations.releaseSeat(courseId);
+        if (!registrations.unenroll(studentId, courseId)) {
+            throw new IllegalArgumentException("Not registered for course Id:" + courseId);
+        }
+        int courses = registrations.courseCount(studentId);
+        EnrollmentDeltas deltas = new EnrollmentDeltas();
+        deltas.load(courses + 1, -1);
+        deltas.load(courses, 1);
+        enrollmentStats.apply(deltas);
+        promote(courseId);
+        schedules.invalidate(studentId);
+        tableVersions.bump("students");
+        afterCompletion(committed -> seatCounters.invalidate(courseId));
+    }
+
+    /**
+     * Gives seats freed by writes outside registration, a teacher's edit or a bulk delete, to
+     * the courses' waitlists. Call once that write has committed; this is a transaction of its own.
+     */
+    @Transactional
+    public void seatsFreed(Collection<Long> courseIds) {
+        boolean promoted = false;
+        for (Long courseId : new TreeSet<>(courseIds)) {
+            promoted |= promote(courseId) > 0;
+            afterCompletion(committed -> seatCounters.invalidate(courseId));
+        }
+        if (promoted) {
+            tableVersions.bump("students");
+        }
+    }
+
+    // Call in the transaction that enrolls the student outside registration, after the seat counts are locked
+    @Transactional
+    public void enrolledElsewhere(Long studentId, Collection<Long> courseIds) {
+        registrations.leaveWaitlists(studentId, courseIds);
+    }
+
+    @Transactional(readOnly = true)
+    public List<String> waitlist(Long studentId) {
+        return registrations.waitlistTitles(studentId);
+    }
+
+    // Moves students from the head of the waitlist into free seats; returns how many
+    private int promote(Long courseId) {
+        int promoted = 0;
+        while (registrations.takeSeat(courseId, false)) {
+            Long next = registrations.nextWaiting(courseId);
+            // Enrolled some other way while still queued, e.g. by a teacher's edit; the entry just goes
+            while (next != null && registrations.isEnrolled(next, courseId)) {
+                next = registrations.nextWaiting(courseId);
+            }
+            if (next == null) {
+                registrations.releaseSeat(courseId);
+                break;
+            }
+            enroll(next, courseId);
+            promoted++;
+        }
+        return promoted;
+    }
+
+    // The seat is already counted; this records the enrollment and the student's new course load
+    private void enroll(Long studentId, Long courseId) {
+        int courses = registrations.courseCount(studentId);
+        registrations.enroll(studentId, courseId);
+        EnrollmentDeltas deltas = new EnrollmentDeltas();
+        deltas.load(courses, -1);
+        deltas.load(courses + 1, 1);
+        enrollmentStats.apply(deltas);
+        schedules.invalidate(studentId);
+    }
+
+    private static void afterCompletion(Consumer<Boolean> action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.assignment1.service;
+
+import com.example.assignment1.dto.StudentClashes;
+import com.example.assignment1.repository.ScheduleRepository;
+import com.example.assignment1.schedule.Clash;
+import com.example.assignment1.schedule.Meeting;
+import com.example.assignment1.schedule.ScheduleClashException;
+import com.example.assignment1.schedule.ScheduleIndex;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Course meeting times and clash checks for enrollments. Each student's meetings are kept
+ * as a {@link ScheduleIndex}, built on first use and cached, as are each course's meetings,
+ * so checking an enrollment against a warm cache costs no query and a binary search per
+ * meeting. Enrollment changes evict the student once their transaction has ended; a change
+ * to any meeting time evicts everything. The TTL bounds staleness from other nodes' writes.
+ * Two registrations by the same student at the same moment are not checked against each other.
+ */
+@Service
+public class ScheduleService implements MeterBinder, DisposableBean {
+
+    private final ScheduleRepository schedules;
+    private final TransactionTemplate readOnly;
+    private final LoadingCache<Long, ScheduleIndex> students;
+    private final LoadingCache<Long, List<Meeting>> courses;
+    private final int reportThreads;
+    private final ExecutorService reportPool;
+
+    public ScheduleService(ScheduleRepository schedules, PlatformTransactionManager transactionManager,
+                           @Value("${app.schedule.cache-size:10000}") long cacheSize,
+                           @Value("${app.schedule.cache-ttl:10m}") Duration ttl,
+                           @Value("${app.schedule.report-threads:0}") int reportThreads) {
+        this.schedules = schedules;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.students = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(id -> ScheduleIndex.of(schedules.studentMeetings(id)));
+        this.courses = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public List<Meeting> load(Long id) {
+                        return List.copyOf(schedules.meetingsByCourse(List.of(id)).getOrDefault(id, List.of()));
+                    }
+
+                    // Courses without meetings are cached as such too
+                    @Override
+                    public Map<Long, List<Meeting>> loadAll(Set<? extends Long> ids) {
+                        Map<Long, List<Meeting>> found = schedules.meetingsByCourse(List.copyOf(ids));
+                        ids.forEach(id -> found.putIfAbsent(id, List.of()));
+                        return found;
+                    }
+                });
+        this.reportThreads = reportThreads > 0 ? reportThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.reportPool = Executors.newFixedThreadPool(this.reportThreads, r -> {
+            Thread t = new Thread(r, "schedule-report-" + threadNumber.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public ScheduleIndex index(Long studentId) {
+        return students.get(studentId);
+    }
+
+    /** Throws {@link ScheduleClashException} if the course meets while one of the student's courses does. */
+    public void requireNoClash(Long studentId, Long courseId) {
+        ScheduleIndex index = students.get(studentId);
+        if (index.courses().contains(courseId)) {
+            return;
+        }
+        List<Clash> clashes = index.clashes(courses.get(courseId));
+        if (!clashes.isEmpty()) {
+            throw new ScheduleClashException(clashes);
+        }
+    }
+
+    /**
+     * Checks a student's whole new set of courses, e.g. from an edit form; {@code studentId}
+     * is null for a new student. Only the courses being added are checked against the rest,
+     * so clashes the student already had do not block other changes.
+     */
+    public void requireNoClash(Long studentId, Collection<Long> courseIds) {
+        ScheduleIndex index = studentId == null ? ScheduleIndex.EMPTY : students.get(studentId);
+        Set<Long> kept = new HashSet<>(courseIds);
+        Set<Long> added = new HashSet<>(kept);
+        added.removeAll(index.courses());
+        Set<Long> removed = new HashSet<>(index.courses());
+        removed.removeAll(kept);
+        if (!removed.isEmpty()) {
+            index = index.without(removed);
+        }
+        List<Meeting> meetings = new ArrayList<>();
+        courses.getAll(added).values().forEach(meetings::addAll);
+        List<Clash> clashes = index.clashes(meetings);
+        if (!clashes.isEmpty()) {
+            throw new ScheduleClashException(clashes);
+        }
+    }
+
+    // Call when the student's enrollments change; takes effect when the transaction ends
+    public void invalidate(Long studentId) {
+        afterTransaction(() -> students.invalidate(studentId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Meeting> meetings(Long courseId) {
+        return schedules.meetingsOf(courseId);
+    }
+
+    // Meetings across midnight are entered as two meetings
+    @Transactional
+    public void addMeeting(Long courseId, DayOfWeek day, LocalTime start, LocalTime end) {
+        if (day == null || start == null || end == null || !start.isBefore(end)) {
+            throw new IllegalArgumentException("A meeting needs a day and must end after it starts");
+        }
+        schedules.addMeeting(courseId, day, start, end);
+        afterTransaction(() -> {
+            courses.invalidateAll();
+            students.invalidateAll();
+        });
+    }
+
+    /**
+     * Every student of the department whose courses clash, with the clashing pairs. The
+     * meetings are read in one query, then students are checked in parallel, each with a
+     * sweep over their own meetings.
+     */
+    public List<StudentClashes> departmentClashes(Long departmentId) {
+        List<ScheduleRepository.StudentMeetings> meetings = readOnly.execute(s -> schedules.departmentMeetings(departmentId));
+        int chunks = Math.min(meetings.size(), reportThreads * 4);
+        if (chunks <= 1) {
+            return clashes(meetings);
+        }
+        List<Callable<List<StudentClashes>>> tasks = new ArrayList<>(chunks);
+        for (int i = 0; i < chunks; i++) {
+            List<ScheduleRepository.StudentMeetings> chunk =
+                    meetings.subList(i * meetings.size() / chunks, (i + 1) * meetings.size() / chunks);
+            tasks.add(() -> clashes(chunk));
+        }
+        List<StudentClashes> report = new ArrayList<>();
+        try {
+            for (Future<List<StudentClashes>> result : reportPool.invokeAll(tasks)) {
+                report.addAll(result.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while checking schedules", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Schedule check failed", e.getCause());
+        }
+        return report;
+    }
+
+    private static List<StudentClashes> clashes(List<ScheduleRepository.StudentMeetings> students) {
+        List<StudentClashes> found = new ArrayList<>();
+        for (ScheduleRepository.StudentMeetings student : students) {
+            List<Clash> clashes = ScheduleIndex.overlapping(student.meetings());
+            if (!clashes.isEmpty()) {
+                found.add(new StudentClashes(student.studentId(), student.name(), clashes));
+            }
+        }
+        return found;
+    }
+
+    private static void afterTransaction(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.run();
+            }
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, students, "schedule-index");
+        CaffeineCacheMetrics.monitor(registry, courses, "course-meetings");
+    }
+
+    @Override
+    public void destroy() {
+        reportPool.shutdownNow();
+    }
+}
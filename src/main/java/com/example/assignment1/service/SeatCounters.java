@@ -0,0 +1,80 @@
+package com.example.assignment1.service;
+
+import com.example.assignment1.repository.RegistrationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This node's count of the free seats in each course. During a registration rush most
+ * requests are turned away here with one compare-and-set: only as many as there are free
+ * seats go on to lock the course's row in the database, where
+ * {@link RegistrationRepository#takeSeat} confirms the seat. The counts are a hint, never
+ * the authority. Other nodes, drops and teacher edits change the real numbers, so a count
+ * that has run out is read again from the database once it is older than the refresh interval.
+ */
+@Component
+public class SeatCounters {
+
+    private final RegistrationRepository registrations;
+    private final long refreshNanos;
+    private final ConcurrentMap<Long, Counter> counters = new ConcurrentHashMap<>();
+
+    public SeatCounters(RegistrationRepository registrations,
+                        @Value("${app.registration.seat-refresh:2s}") Duration refresh) {
+        this.registrations = registrations;
+        this.refreshNanos = refresh.toNanos();
+    }
+
+    // False when the course looks full; throws for an unknown course
+    public boolean tryReserve(Long courseId) {
+        Counter counter = counters.computeIfAbsent(courseId, this::load);
+        while (true) {
+            int free = counter.free.get();
+            if (free <= 0) {
+                if (System.nanoTime() - counter.loadedAt < refreshNanos) {
+                    return false;
+                }
+                // One thread re-reads; the others wait for it and see the new count
+                Counter stale = counter;
+                counter = counters.compute(courseId, (id, current) -> current == null || current == stale ? load(id) : current);
+            } else if (counter.free.compareAndSet(free, free - 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Gives back a reserved seat that was not used, e.g. after a rollback
+    public void release(Long courseId) {
+        Counter counter = counters.get(courseId);
+        if (counter != null) {
+            counter.free.incrementAndGet();
+        }
+    }
+
+    // The count is wrong; the next reservation reads it again
+    public void invalidate(Long courseId) {
+        counters.remove(courseId);
+    }
+
+    private Counter load(Long courseId) {
+        RegistrationRepository.Seats seats = registrations.seats(courseId);
+        if (seats == null) {
+            throw new IllegalArgumentException("Invalid course Id:" + courseId);
+        }
+        return new Counter(seats.free());
+    }
+
+    private static final class Counter {
+        final AtomicInteger free;
+        final long loadedAt = System.nanoTime();
+
+        Counter(int free) {
+            this.free = new AtomicInteger(free);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.example.assignment1.service;
+
+import com.example.assignment1.enitity.Course;
+import com.example.assignment1.enitity.Department;
+import com.example.assignment1.enitity.Emails;
+import com.example.assignment1.enitity.Role;
+import com.example.assignment1.enitity.Student;
+import com.example.assignment1.repository.CourseRepository;
+import com.example.assignment1.repository.DepartmentRepository;
+import com.example.assignment1.repository.ScheduleRepository;
+import com.example.assignment1.repository.UserAccountRepository;
+import com.example.assignment1.schedule.Clash;
+import com.example.assignment1.schedule.Meeting;
+import com.example.assignment1.schedule.ScheduleIndex;
+import com.example.assignment1.security.PooledPasswordEncoder;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Streams a student CSV (name,email,password,department,courses) into the database.
+ * Rows are parsed one line at a time, validated against department and course maps
+ * loaded once per import, and inserted in chunks of {@code app.import.batch-size},
+ * each chunk in its own transaction. Bad rows are reported without aborting the import;
+ * that includes rows whose courses meet at the same time, found by a sweep over the row's
+ * meetings, with every course's meetings also loaded once per import.
+ * Passwords that are already a well-formed BCrypt hash ("{bcrypt}$2a$10$...") are stored
+ * as is; anything else, including other "{id}" prefixes, is hashed like a plain password.
+ */
+@Service
+public class StudentImportService {
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+    private static final List<String> COLUMNS = List.of("name", "email", "password", "department", "courses");
+    private static final Pattern BCRYPT_HASH = Pattern.compile("\\{bcrypt}\\$2[aby]?\\$\\d\\d\\$[./A-Za-z0-9]{53}");
+
+    private final UserAccountRepository accountRepo;
+    private final DepartmentRepository deptRepo;
+    private final CourseRepository courseRepo;
+    private final ScheduleRepository scheduleRepo;
+    private final PooledPasswordEncoder passwordEncoder;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public StudentImportService(UserAccountRepository accountRepo, DepartmentRepository deptRepo,
+                                CourseRepository courseRepo, ScheduleRepository scheduleRepo,
+                                PooledPasswordEncoder passwordEncoder,
+                                EntityManager entityManager, PlatformTransactionManager transactionManager,
+                                @Value("${app.import.batch-size:500}") int batchSize) {
+        this.accountRepo = accountRepo;
+        this.deptRepo = deptRepo;
+        this.courseRepo = courseRepo;
+        this.scheduleRepo = scheduleRepo;
+        this.passwordEncoder = passwordEncoder;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    public ImportResult importStudents(InputStream csv) throws IOException {
+        ImportResult result = new ImportResult();
+        Map<String, Long> departments = new HashMap<>();
+        for (Department d : deptRepo.findAll()) {
+            departments.putIfAbsent(key(d.getName()), d.getId());
+        }
+        Map<String, Long> courses = new HashMap<>();
+        for (Course c : courseRepo.findAll()) {
+            courses.putIfAbsent(key(c.getTitle()), c.getId());
+        }
+        Map<Long, List<Meeting>> meetings = scheduleRepo.allMeetingsByCourse();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            result.error(1, "File is empty");
+            return result;
+        }
+        int[] index = columnIndexes(Csv.parseLine(header.replace("\uFEFF", "")));
+        if (index == null) {
+            result.error(1, "Header must contain the columns " + String.join(",", COLUMNS));
+            return result;
+        }
+
+        List<Row> chunk = new ArrayList<>(batchSize);
+        long lineNo = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank()) {
+                continue;
+            }
+            Row row = parse(lineNo, line, index, departments, courses, meetings, result);
+            if (row != null) {
+                chunk.add(row);
+            }
+            if (chunk.size() >= batchSize) {
+                store(chunk, result);
+                chunk.clear();
+            }
+        }
+        store(chunk, result);
+        return result;
+    }
+
+    private Row parse(long lineNo, String line, int[] index, Map<String, Long> departments,
+                      Map<String, Long> courses, Map<Long, List<Meeting>> meetings, ImportResult result) {
+        List<String> fields;
+        try {
+            fields = Csv.parseLine(line);
+        } catch (IllegalArgumentException e) {
+            result.error(lineNo, e.getMessage());
+            return null;
+        }
+        String name = field(fields, index[0]);
+        String email = Emails.normalize(field(fields, index[1]));
+        String password = field(fields, index[2]);
+        String department = field(fields, index[3]);
+        String courseList = field(fields, index[4]);
+
+        if (name.isEmpty() || email.isEmpty() || password.isEmpty()) {
+            result.error(lineNo, "name, email and password are required");
+            return null;
+        }
+        if (!email.contains("@")) {
+            result.error(lineNo, "Invalid email: " + email);
+            return null;
+        }
+        Long departmentId = null;
+        if (!department.isEmpty()) {
+            departmentId = departments.get(key(department));
+            if (departmentId == null) {
+                result.error(lineNo, "Unknown department: " + department);
+                return null;
+            }
+        }
+        List<Long> courseIds = new ArrayList<>();
+        for (String title : courseList.split(";")) {
+            if (title.isBlank()) {
+                continue;
+            }
+            Long courseId = courses.get(key(title));
+            if (courseId == null) {
+                result.error(lineNo, "Unknown course: " + title.trim());
+                return null;
+            }
+            courseIds.add(courseId);
+        }
+        List<Meeting> schedule = new ArrayList<>();
+        for (Long courseId : courseIds) {
+            schedule.addAll(meetings.getOrDefault(courseId, List.of()));
+        }
+        List<Clash> clashes = ScheduleIndex.overlapping(schedule);
+        if (!clashes.isEmpty()) {
+            result.error(lineNo, clashes.get(0).describe());
+            return null;
+        }
+        return new Row(lineNo, name, email, password, departmentId, courseIds);
+    }
+
+    private void store(List<Row> chunk, ImportResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        // Duplicates against earlier chunks (already committed) and within this chunk
+        Set<String> taken = new HashSet<>(accountRepo.findExistingEmails(chunk.stream().map(Row::email).toList()));
+        List<Row> accepted = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (!taken.add(row.email())) {
+                result.error(row.line(), "Email already exists: " + row.email());
+            } else {
+                accepted.add(row);
+            }
+        }
+
+        List<Row> raw = accepted.stream().filter(r -> !BCRYPT_HASH.matcher(r.password()).matches()).toList();
+        List<String> hashes = passwordEncoder.encodeAll(raw.stream().map(Row::password).toList());
+        Map<Row, String> encoded = new IdentityHashMap<>();
+        for (int i = 0; i < raw.size(); i++) {
+            encoded.put(raw.get(i), hashes.get(i));
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> accepted.forEach(r -> persist(r, encoded)));
+            result.imported += accepted.size();
+        } catch (RuntimeException batchFailure) {
+            // Find the offending rows one at a time; the rest of the chunk still goes in
+            for (Row row : accepted) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persist(row, encoded));
+                    result.imported++;
+                } catch (RuntimeException e) {
+                    result.error(row.line(), "Could not be saved: " + rootMessage(e));
+                }
+            }
+        }
+    }
+
+    private void persist(Row row, Map<Row, String> encoded) {
+        Student student = new Student(row.name(), row.email(),
+                encoded.getOrDefault(row, row.password()), Role.STUDENT);
+        if (row.departmentId() != null) {
+            student.setDepartment(entityManager.getReference(Department.class, row.departmentId()));
+        }
+        List<Course> courses = new ArrayList<>(row.courseIds().size());
+        for (Long id : row.courseIds()) {
+            courses.add(entityManager.getReference(Course.class, id));
+        }
+        student.setCourses(courses);
+        entityManager.persist(student);
+    }
+
+    private static int[] columnIndexes(List<String> header) {
+        int[] index = new int[COLUMNS.size()];
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            index[i] = -1;
+            for (int j = 0; j < header.size(); j++) {
+                if (header.get(j).equalsIgnoreCase(COLUMNS.get(i))) {
+                    index[i] = j;
+                }
+            }
+        }
+        // department and courses are optional columns
+        return index[0] < 0 || index[1] < 0 || index[2] < 0 ? null : index;
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index >= 0 && index < fields.size() ? fields.get(index) : "";
+    }
+
+    private static String key(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String rootMessage(Throwable e) {
+        while (e.getCause() != null) {
+            e = e.getCause();
+        }
+        return e.getMessage();
+    }
+
+    private record Row(long line, String name, String email, String password, Long departmentId,
+                       List<Long> courseIds) {
+    }
+
+    public record RowError(long line, String message) {
+    }
+
+    public static class ImportResult {
+        private long imported;
+        private long failed;
+        private final List<RowError> errors = new ArrayList<>();
+
+        void error(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new RowError(line, message));
+            }
+        }
+
+        public long getImported() {
+            return imported;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        // Only the first MAX_REPORTED_ERRORS are kept; getFailed() has the full count
+        public List<RowError> getErrors() {
+            return errors;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.assignment1.service;
+
+import com.example.assignment1.dto.StudentProfile;
+import com.example.assignment1.dto.StudentRow;
+import com.example.assignment1.enitity.Course;
+import com.example.assignment1.enitity.Role;
+import com.example.assignment1.enitity.Student;
+import com.example.assignment1.repository.EnrollmentStatsRepository;
+import com.example.assignment1.repository.StudentRepository;
+import com.example.assignment1.security.CustomUserDetailsService;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Student reads and writes. Read paths are read-only transactions, which the routing
+ * datasource sends to the replica when one is configured. With open-session-in-view
+ * off, whatever a view needs is loaded here, mostly as DTOs, before the transaction ends.
+ * Writes refuse course lists with clashing meeting times (see ScheduleService).
+ */
+@Service
+public class StudentService {
+
+    private final StudentRepository studentRepo;
+    private final PasswordEncoder passwordEncoder;
+    private final CustomUserDetailsService userDetailsService;
+    private final AccountWriteService accountWrites;
+    private final ScheduleService schedules;
+    private final EnrollmentStatsRepository enrollmentStats;
+    private final RegistrationService registrations;
+    private final TransactionTemplate writeTransaction;
+
+    public StudentService(StudentRepository studentRepo, PasswordEncoder passwordEncoder,
+                          CustomUserDetailsService userDetailsService, AccountWriteService accountWrites,
+                          ScheduleService schedules, EnrollmentStatsRepository enrollmentStats,
+                          RegistrationService registrations, PlatformTransactionManager transactionManager) {
+        this.studentRepo = studentRepo;
+        this.passwordEncoder = passwordEncoder;
+        this.userDetailsService = userDetailsService;
+        this.accountWrites = accountWrites;
+        this.schedules = schedules;
+        this.enrollmentStats = enrollmentStats;
+        this.registrations = registrations;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<StudentProfile> findProfile(Long id) {
+        return studentRepo.findWithDetailsById(id).map(StudentProfile::of);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<StudentProfile> findProfileByEmail(String email) {
+        return studentRepo.findWithDetailsByEmail(email).map(StudentProfile::of);
+    }
+
+    // The form-backing entity, with department and courses loaded
+    @Transactional(readOnly = true)
+    public Student get(Long id) {
+        return studentRepo.findWithDetailsById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid student Id:" + id));
+    }
+
+    @Transactional(readOnly = true)
+    public Window<StudentRow> page(ScrollPosition position, Sort sort, Limit limit) {
+        return studentRepo.findAllWithDepartmentBy(position, sort, limit).map(StudentRow::of);
+    }
+
+    @Transactional
+    public Student create(Student student) {
+        schedules.requireNoClash(null, courseIds(student));
+        student.setRole(Role.STUDENT);
+        student.setPassword(passwordEncoder.encode(student.getPassword()));
+        return studentRepo.save(student);
+    }
+
+    // Seats the edit gives back go to the courses' waitlists once it has committed
+    public Student update(Long id, Student student) {
+        List<Long> courseIds = courseIds(student);
+        Set<Long> dropped = new HashSet<>();
+        Student saved = writeTransaction.execute(status -> {
+            schedules.requireNoClash(id, courseIds);
+            // Hibernate writes the student's rows before the seat counts; lock those first, as registration does
+            dropped.addAll(enrollmentStats.lockCourses(id, courseIds));
+            dropped.removeAll(courseIds);
+            // A student the teacher enrolls stops waiting for the course
+            registrations.enrolledElsewhere(id, courseIds);
+            student.setId(id);
+            student.setRole(Role.STUDENT);
+            student.setPassword(Passwords.keepOrEncode(passwordEncoder, student.getPassword(),
+                    studentRepo.findPasswordById(id)));
+            Student merged = studentRepo.save(student);
+            userDetailsService.evict(Role.STUDENT, id);
+            schedules.invalidate(id);
+            return merged;
+        });
+        if (!dropped.isEmpty()) {
+            registrations.seatsFreed(dropped);
+        }
+        return saved;
+    }
+
+    // Set-based, without loading the entity first
+    public void delete(Long id) {
+        accountWrites.deleteAll(Role.STUDENT, List.of(id));
+    }
+
+    private static List<Long> courseIds(Student student) {
+        return student.getCourses() == null ? List.of()
+                : student.getCourses().stream().map(Course::getId).filter(Objects::nonNull).toList();
+    }
+}
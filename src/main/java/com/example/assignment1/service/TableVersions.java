@@ -0,0 +1,114 @@
+package com.example.assignment1.service;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Change stamps for conditional GETs. A page built from some tables is unchanged as long as
+ * their table_versions rows are (see TableVersionListener), so answering If-None-Match
+ * costs one small query instead of re-reading the tables. Read a page's stamp in the same
+ * read-only transaction as its rows: with a replica configured, a stamp from the primary over
+ * rows from a lagging replica would keep the stale rows cached under the new ETag.
+ * <p>
+ * Bumps requested inside a transaction are collected and applied once it has committed, as a
+ * short transaction of their own on the connection it used, so writers never hold a
+ * table_versions row lock for the length of their work and do not queue behind each other on
+ * it, and no second pooled connection is needed. Until the bump lands, a client revalidating
+ * a page may still be told it is current; the window is one statement.
+ */
+@Service
+public class TableVersions {
+
+    private static final String BUMP = "update table_versions set version = version + 1, updated_at = ? where table_name = ?";
+
+    private final JdbcTemplate jdbc;
+
+    public TableVersions(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public Stamp of(List<String> tables) {
+        return jdbc.query("select table_name, version, updated_at from table_versions order by table_name", rs -> {
+            StringBuilder tag = new StringBuilder();
+            Instant lastModified = Instant.EPOCH;
+            while (rs.next()) {
+                if (tables.contains(rs.getString(1))) {
+                    tag.append(rs.getString(1)).append('=').append(rs.getLong(2)).append(';');
+                    lastModified = max(lastModified, rs.getTimestamp(3).toInstant());
+                }
+            }
+            return new Stamp(tag.toString(), lastModified);
+        });
+    }
+
+    // A single account row, by primary key, without loading the entity
+    public Optional<Stamp> ofAccount(Long id) {
+        return jdbc.query("select version, updated_at from user_accounts where id = ?",
+                (rs, i) -> new Stamp("account" + id + "=" + rs.getLong(1), rs.getTimestamp(2).toInstant()), id)
+                .stream().findFirst();
+    }
+
+    // Entity writes go through TableVersionListener; call directly for bulk SQL and the like
+    @SuppressWarnings("unchecked")
+    public void bump(String... tables) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(List.of(tables));
+            return;
+        }
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<String> bumps = new TreeSet<>();
+            TransactionSynchronizationManager.bindResource(this, bumps);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    // The committed transaction's connection is still bound; commit the bump on it too
+                    jdbc.execute((ConnectionCallback<Void>) connection -> {
+                        apply(bumps);
+                        if (!connection.getAutoCommit()) {
+                            connection.commit();
+                        }
+                        return null;
+                    });
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TableVersions.this);
+                }
+            });
+            pending = bumps;
+        }
+        Collections.addAll(pending, tables);
+    }
+
+    // In table name order, so two bumps never wait on each other's rows crosswise
+    private void apply(Collection<String> tables) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbc.batchUpdate(BUMP, new TreeSet<>(tables).stream().map(table -> new Object[]{now, table}).toList());
+    }
+
+    private static Instant max(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    /** Opaque version tag plus the newest modification time behind it. */
+    public record Stamp(String tag, Instant lastModified) {
+
+        public Stamp and(Stamp other) {
+            return new Stamp(tag + other.tag, max(lastModified, other.lastModified));
+        }
+    }
+}
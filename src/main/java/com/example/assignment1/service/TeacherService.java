@@ -0,0 +1,84 @@
+package com.example.assignment1.service;
+
+import com.example.assignment1.dto.TeacherRow;
+import com.example.assignment1.enitity.Role;
+import com.example.assignment1.enitity.Teacher;
+import com.example.assignment1.repository.TeacherRepository;
+import com.example.assignment1.security.CustomUserDetailsService;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Teacher reads and writes. Read paths are read-only transactions, which the routing
+ * datasource sends to the replica when one is configured; like {@link StudentService}
+ * they return fully loaded results.
+ */
+@Service
+public class TeacherService {
+
+    private final TeacherRepository teacherRepo;
+    private final PasswordEncoder passwordEncoder;
+    private final CustomUserDetailsService userDetailsService;
+    private final AccountWriteService accountWrites;
+
+    public TeacherService(TeacherRepository teacherRepo, PasswordEncoder passwordEncoder,
+                          CustomUserDetailsService userDetailsService, AccountWriteService accountWrites) {
+        this.teacherRepo = teacherRepo;
+        this.passwordEncoder = passwordEncoder;
+        this.userDetailsService = userDetailsService;
+        this.accountWrites = accountWrites;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<TeacherRow> findRow(Long id) {
+        return teacherRepo.findWithDepartmentById(id).map(TeacherRow::of);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<TeacherRow> findRowByEmail(String email) {
+        return teacherRepo.findWithDepartmentByEmail(email).map(TeacherRow::of);
+    }
+
+    // The form-backing entity, with its department loaded
+    @Transactional(readOnly = true)
+    public Teacher get(Long id) {
+        return teacherRepo.findWithDepartmentById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid teacher Id:" + id));
+    }
+
+    @Transactional(readOnly = true)
+    public Window<TeacherRow> page(ScrollPosition position, Sort sort, Limit limit) {
+        return teacherRepo.findAllWithDepartmentBy(position, sort, limit).map(TeacherRow::of);
+    }
+
+    @Transactional
+    public Teacher create(Teacher teacher) {
+        teacher.setRole(Role.TEACHER);
+        teacher.setPassword(passwordEncoder.encode(teacher.getPassword()));
+        return teacherRepo.save(teacher);
+    }
+
+    @Transactional
+    public Teacher update(Long id, Teacher teacher) {
+        teacher.setId(id);
+        teacher.setRole(Role.TEACHER);
+        teacher.setPassword(Passwords.keepOrEncode(passwordEncoder, teacher.getPassword(),
+                teacherRepo.findPasswordById(id)));
+        Teacher saved = teacherRepo.save(teacher);
+        userDetailsService.evict(Role.TEACHER, id);
+        return saved;
+    }
+
+    // Set-based, without loading the entity first
+    public void delete(Long id) {
+        accountWrites.deleteAll(Role.TEACHER, List.of(id));
+    }
+}
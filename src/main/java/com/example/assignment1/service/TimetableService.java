@@ -0,0 +1,183 @@
+package com.example.assignment1.service;
+
+import com.example.assignment1.dto.ScheduledSection;
+import com.example.assignment1.dto.TimetableStatus;
+import com.example.assignment1.repository.TimetableRepository;
+import com.example.assignment1.timetable.Timetable;
+import com.example.assignment1.timetable.TimetableProblem;
+import com.example.assignment1.timetable.TimetableProperties;
+import com.example.assignment1.timetable.TimetableSolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Weekly timetable: assigns every course section a teacher, a room and a slot. A run reads
+ * the term into a {@link TimetableProblem}, solves it in memory with {@link TimetableSolver}
+ * (no database connection is held meanwhile) and writes the assignments back in one batch.
+ * Runs take minutes for a large term, so pages start them in the background; one at a time.
+ */
+@Service
+@EnableConfigurationProperties(TimetableProperties.class)
+public class TimetableService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(TimetableService.class);
+
+    private final TimetableRepository timetables;
+    private final TimetableProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final TimetableSolver solver = new TimetableSolver();
+    private final AtomicReference<TimetableStatus> status = new AtomicReference<>(TimetableStatus.IDLE);
+    private final ExecutorService runner;
+
+    public TimetableService(TimetableRepository timetables, TimetableProperties properties,
+                            PlatformTransactionManager transactionManager) {
+        this.timetables = timetables;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.runner = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "timetable");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public TimetableStatus status() {
+        return status.get();
+    }
+
+    // False if a run is already going
+    public boolean start() {
+        TimetableStatus current = status.get();
+        if (current.state() == TimetableStatus.State.SOLVING
+                || !status.compareAndSet(current, solving())) {
+            return false;
+        }
+        runner.submit(this::run);
+        return true;
+    }
+
+    // Solves in the calling thread
+    public TimetableStatus solve() {
+        TimetableStatus current = status.get();
+        if (current.state() == TimetableStatus.State.SOLVING || !status.compareAndSet(current, solving())) {
+            throw new IllegalStateException("A timetable is already being solved");
+        }
+        run();
+        return status.get();
+    }
+
+    @Transactional(readOnly = true)
+    public List<ScheduledSection> timetable() {
+        return timetables.timetable(properties.periodsPerDay());
+    }
+
+    @Transactional(readOnly = true)
+    public List<TimetableRepository.Room> rooms() {
+        return timetables.rooms();
+    }
+
+    @Transactional
+    public void addRoom(String name, int capacity) {
+        if (name == null || name.isBlank() || capacity < 1) {
+            throw new IllegalArgumentException("A room needs a name and a positive capacity");
+        }
+        timetables.addRoom(name.trim(), capacity);
+    }
+
+    private void run() {
+        Instant started = status.get().startedAt();
+        try {
+            Term term = transactionTemplate.execute(s -> load());
+            Timetable timetable = solver.solve(term.problem(), new TimetableSolver.Settings(properties.threads(),
+                    properties.timeLimit(), properties.unimprovedLimit(), started.toEpochMilli()));
+            transactionTemplate.executeWithoutResult(s -> timetables.saveAssignments(term.assignments(timetable)));
+            status.set(new TimetableStatus(TimetableStatus.State.SOLVED, started, Instant.now(), term.sections().size(),
+                    timetable.score().hard(), timetable.score().soft(), null));
+        } catch (RuntimeException e) {
+            log.warn("Timetable run failed", e);
+            status.set(new TimetableStatus(TimetableStatus.State.FAILED, started, Instant.now(), 0, null, null,
+                    e.getMessage()));
+        }
+    }
+
+    // Reads the term and numbers courses, teachers, rooms and departments densely for the solver
+    private Term load() {
+        int added = timetables.createMissingSections(properties.sectionSize());
+        if (added > 0) {
+            log.info("Created {} course sections", added);
+        }
+        List<TimetableRepository.SectionRow> sections = timetables.sections();
+        List<TimetableRepository.Member> courses = timetables.courses();
+        List<TimetableRepository.Member> teachers = timetables.teachers();
+        List<TimetableRepository.Room> rooms = timetables.rooms();
+
+        Map<Long, Integer> departments = new HashMap<>();
+        Map<Long, Integer> courseIndex = new HashMap<>();
+        int[] courseDepartment = new int[courses.size()];
+        for (int c = 0; c < courses.size(); c++) {
+            courseIndex.put(courses.get(c).id(), c);
+            courseDepartment[c] = index(departments, courses.get(c).departmentId());
+        }
+        int[] teacherDepartment = new int[teachers.size()];
+        for (int t = 0; t < teachers.size(); t++) {
+            teacherDepartment[t] = index(departments, teachers.get(t).departmentId());
+        }
+        int[] sectionCourse = new int[sections.size()];
+        int[] sectionSize = new int[sections.size()];
+        for (int s = 0; s < sections.size(); s++) {
+            sectionCourse[s] = courseIndex.get(sections.get(s).courseId());
+            sectionSize[s] = sections.get(s).students();
+        }
+        List<TimetableProblem.CourseConflict> conflicts = new ArrayList<>();
+        for (long[] pair : timetables.sharedStudents()) {
+            conflicts.add(new TimetableProblem.CourseConflict(courseIndex.get(pair[0]), courseIndex.get(pair[1]),
+                    (int) pair[2]));
+        }
+        TimetableProblem problem = new TimetableProblem(properties.slots(), sectionCourse, sectionSize,
+                courseDepartment, teacherDepartment, properties.maxSectionsPerTeacher(),
+                rooms.stream().mapToInt(TimetableRepository.Room::capacity).toArray(), conflicts);
+        return new Term(problem, sections, teachers, rooms);
+    }
+
+    private static int index(Map<Long, Integer> departments, Long departmentId) {
+        return departmentId == null ? -1 : departments.computeIfAbsent(departmentId, id -> departments.size());
+    }
+
+    private static TimetableStatus solving() {
+        return new TimetableStatus(TimetableStatus.State.SOLVING, Instant.now(), null, 0, null, null, null);
+    }
+
+    @Override
+    public void destroy() {
+        runner.shutdownNow();
+    }
+
+    // The problem and the rows behind its indexes
+    private record Term(TimetableProblem problem, List<TimetableRepository.SectionRow> sections,
+                        List<TimetableRepository.Member> teachers, List<TimetableRepository.Room> rooms) {
+
+        List<Object[]> assignments(Timetable timetable) {
+            List<Object[]> rows = new ArrayList<>(sections.size());
+            for (int s = 0; s < sections.size(); s++) {
+                rows.add(new Object[]{teachers.get(timetable.teacher()[s]).id(), rooms.get(timetable.room()[s]).id(),
+                        timetable.slot()[s], sections.get(s).id()});
+            }
+            return rows;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.assignment1.timetable;
+
+/**
+ * Penalties of a timetable; lower is better. Any hard penalty (a double booking, an
+ * overfull room, an overloaded teacher) outweighs every soft one.
+ */
+public record Score(long hard, long soft) implements Comparable<Score> {
+
+    public static final Score ZERO = new Score(0, 0);
+
+    public boolean feasible() {
+        return hard == 0;
+    }
+
+    @Override
+    public int compareTo(Score other) {
+        return hard != other.hard ? Long.compare(hard, other.hard) : Long.compare(soft, other.soft);
+    }
+
+    public boolean betterThan(Score other) {
+        return compareTo(other) < 0;
+    }
+
+    @Override
+    public String toString() {
+        return hard + "hard/" + soft + "soft";
+    }
+}
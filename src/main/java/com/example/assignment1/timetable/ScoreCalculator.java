@@ -0,0 +1,126 @@
+package com.example.assignment1.timetable;
+
+/**
+ * A timetable being changed by one search thread, with its score kept up to date
+ * incrementally. Occupancy counts per teacher, room and course and slot mean that moving a
+ * section only touches what that section contributes: a few array cells and the courses
+ * that conflict with its own. Never shared between threads.
+ */
+final class ScoreCalculator {
+
+    static final int TEACHER_CLASH = 1;
+    static final int ROOM_CLASH = 1;
+    static final int ROOM_TOO_SMALL = 1;
+    static final int TEACHER_OVERLOAD = 1;
+    // Soft: a section taught outside its course's department, and two sections of one course at once
+    static final int OUTSIDE_DEPARTMENT = 10;
+    static final int SAME_COURSE_SLOT = 5;
+
+    private final TimetableProblem problem;
+    final int[] teacher;
+    final int[] room;
+    final int[] slot;
+
+    private final int[] teacherSlot;
+    private final int[] roomSlot;
+    private final int[] courseSlot;
+    private final int[] teacherLoad;
+    private long hard;
+    private long soft;
+
+    ScoreCalculator(TimetableProblem problem, int[] teacher, int[] room, int[] slot) {
+        this.problem = problem;
+        this.teacher = teacher.clone();
+        this.room = room.clone();
+        this.slot = slot.clone();
+        this.teacherSlot = new int[problem.teachers() * problem.slots];
+        this.roomSlot = new int[problem.rooms() * problem.slots];
+        this.courseSlot = new int[problem.courseDepartment.length * problem.slots];
+        this.teacherLoad = new int[problem.teachers()];
+        for (int s = 0; s < problem.sections(); s++) {
+            add(s);
+        }
+    }
+
+    Score score() {
+        return new Score(hard, soft);
+    }
+
+    // Reassigns one section and returns the new score
+    Score move(int section, int newTeacher, int newRoom, int newSlot) {
+        remove(section);
+        teacher[section] = newTeacher;
+        room[section] = newRoom;
+        slot[section] = newSlot;
+        add(section);
+        return score();
+    }
+
+    private void add(int s) {
+        int t = teacher[s];
+        int r = room[s];
+        int at = slot[s];
+        int course = problem.sectionCourse[s];
+
+        hard += (long) TEACHER_CLASH * teacherSlot[t * problem.slots + at]++;
+        hard += (long) ROOM_CLASH * roomSlot[r * problem.slots + at]++;
+        if (problem.sectionSize[s] > problem.roomCapacity[r]) {
+            hard += ROOM_TOO_SMALL;
+        }
+        if (teacherLoad[t]++ >= problem.maxSectionsPerTeacher) {
+            hard += TEACHER_OVERLOAD;
+        }
+        if (outsideDepartment(course, t)) {
+            soft += OUTSIDE_DEPARTMENT;
+        }
+        soft += (long) SAME_COURSE_SLOT * courseSlot[course * problem.slots + at]++;
+        soft += conflicts(course, at);
+    }
+
+    private void remove(int s) {
+        int t = teacher[s];
+        int r = room[s];
+        int at = slot[s];
+        int course = problem.sectionCourse[s];
+
+        hard -= (long) TEACHER_CLASH * --teacherSlot[t * problem.slots + at];
+        hard -= (long) ROOM_CLASH * --roomSlot[r * problem.slots + at];
+        if (problem.sectionSize[s] > problem.roomCapacity[r]) {
+            hard -= ROOM_TOO_SMALL;
+        }
+        if (--teacherLoad[t] >= problem.maxSectionsPerTeacher) {
+            hard -= TEACHER_OVERLOAD;
+        }
+        if (outsideDepartment(course, t)) {
+            soft -= OUTSIDE_DEPARTMENT;
+        }
+        soft -= (long) SAME_COURSE_SLOT * --courseSlot[course * problem.slots + at];
+        soft -= conflicts(course, at);
+    }
+
+    // Students of this course who also take a course with a section in the same slot
+    private long conflicts(int course, int at) {
+        int[] neighbours = problem.courseNeighbours[course];
+        int[] weights = problem.courseWeights[course];
+        long penalty = 0;
+        for (int i = 0; i < neighbours.length; i++) {
+            penalty += (long) weights[i] * courseSlot[neighbours[i] * problem.slots + at];
+        }
+        return penalty;
+    }
+
+    private boolean outsideDepartment(int course, int t) {
+        int department = problem.courseDepartment[course];
+        return department >= 0 && problem.teacherDepartment[t] != department;
+    }
+
+    // Whether the room is free at the slot, ignoring the given section
+    boolean roomFree(int r, int at, int except) {
+        int occupied = roomSlot[r * problem.slots + at];
+        return occupied == 0 || occupied == 1 && room[except] == r && slot[except] == at;
+    }
+
+    int load(int t) {
+        return teacherLoad[t];
+    }
+}
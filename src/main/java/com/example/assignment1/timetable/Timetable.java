@@ -0,0 +1,10 @@
+package com.example.assignment1.timetable;
+
+import java.time.Duration;
+
+/**
+ * A solved timetable: for each section (by index) its teacher, room and slot index, with the
+ * score and the search effort behind it. Arrays are owned by the record; do not modify them.
+ */
+public record Timetable(int[] teacher, int[] room, int[] slot, Score score, long steps, Duration elapsed) {
+}
@@ -0,0 +1,132 @@
+package com.example.assignment1.timetable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * What has to be scheduled, with everything referred to by a dense index instead of a
+ * database id: sections (each of one course, with an expected number of students),
+ * teachers and rooms, and a week of {@code slots} time slots. Departments are indexes too,
+ * or -1 for none. Students taking two courses make those courses conflict; the conflict
+ * is spread over their sections, since a student only attends one section of each.
+ */
+public final class TimetableProblem {
+
+    final int slots;
+    final int[] sectionCourse;
+    final int[] sectionSize;
+    final int[] courseDepartment;
+    final int[] teacherDepartment;
+    final int maxSectionsPerTeacher;
+    final int[] roomCapacity;
+
+    // Per course: the conflicting courses and, in the same order, the penalty per pair of their sections sharing a slot
+    final int[][] courseNeighbours;
+    final int[][] courseWeights;
+    // Teachers of each department, for moves that keep a section in its course's department
+    final int[][] departmentTeachers;
+    // Room indexes by ascending capacity, and per section the first of them that is big enough
+    final int[] roomsBySize;
+    final int[] firstFittingRoom;
+
+    public TimetableProblem(int slots, int[] sectionCourse, int[] sectionSize, int[] courseDepartment,
+                            int[] teacherDepartment, int maxSectionsPerTeacher, int[] roomCapacity,
+                            List<CourseConflict> conflicts) {
+        if (slots < 1 || teacherDepartment.length == 0 || roomCapacity.length == 0) {
+            throw new IllegalArgumentException("Need at least one time slot, one teacher and one room");
+        }
+        if (sectionCourse.length != sectionSize.length) {
+            throw new IllegalArgumentException("Every section needs a course and a size");
+        }
+        this.slots = slots;
+        this.sectionCourse = sectionCourse.clone();
+        this.sectionSize = sectionSize.clone();
+        this.courseDepartment = courseDepartment.clone();
+        this.teacherDepartment = teacherDepartment.clone();
+        this.maxSectionsPerTeacher = maxSectionsPerTeacher;
+        this.roomCapacity = roomCapacity.clone();
+
+        int[] sectionsPerCourse = new int[courseDepartment.length];
+        for (int course : sectionCourse) {
+            sectionsPerCourse[course]++;
+        }
+        List<Map<Integer, Integer>> weights = new ArrayList<>();
+        for (int c = 0; c < courseDepartment.length; c++) {
+            weights.add(new HashMap<>());
+        }
+        for (CourseConflict conflict : conflicts) {
+            int pairs = sectionsPerCourse[conflict.a()] * sectionsPerCourse[conflict.b()];
+            if (conflict.a() == conflict.b() || pairs == 0 || conflict.students() <= 0) {
+                continue;
+            }
+            // Students are split across sections; round up so a shared student always counts
+            int weight = (conflict.students() + pairs - 1) / pairs;
+            weights.get(conflict.a()).merge(conflict.b(), weight, Integer::sum);
+            weights.get(conflict.b()).merge(conflict.a(), weight, Integer::sum);
+        }
+        this.courseNeighbours = new int[courseDepartment.length][];
+        this.courseWeights = new int[courseDepartment.length][];
+        for (int c = 0; c < courseDepartment.length; c++) {
+            courseNeighbours[c] = weights.get(c).keySet().stream().mapToInt(Integer::intValue).toArray();
+            courseWeights[c] = Arrays.stream(courseNeighbours[c]).map(weights.get(c)::get).toArray();
+        }
+
+        int departments = Math.max(Arrays.stream(courseDepartment).max().orElse(-1),
+                Arrays.stream(teacherDepartment).max().orElse(-1)) + 1;
+        List<List<Integer>> byDepartment = new ArrayList<>();
+        for (int d = 0; d < departments; d++) {
+            byDepartment.add(new ArrayList<>());
+        }
+        for (int t = 0; t < teacherDepartment.length; t++) {
+            if (teacherDepartment[t] >= 0) {
+                byDepartment.get(teacherDepartment[t]).add(t);
+            }
+        }
+        this.departmentTeachers = byDepartment.stream()
+                .map(list -> list.stream().mapToInt(Integer::intValue).toArray())
+                .toArray(int[][]::new);
+
+        this.roomsBySize = IntStream.range(0, roomCapacity.length).boxed()
+                .sorted((a, b) -> Integer.compare(roomCapacity[a], roomCapacity[b]))
+                .mapToInt(Integer::intValue).toArray();
+        this.firstFittingRoom = new int[sectionSize.length];
+        for (int s = 0; s < sectionSize.length; s++) {
+            int first = 0;
+            while (first < roomsBySize.length && roomCapacity[roomsBySize[first]] < sectionSize[s]) {
+                first++;
+            }
+            // Too big for every room: any room is as bad as another
+            firstFittingRoom[s] = first == roomsBySize.length ? 0 : first;
+        }
+    }
+
+    public int sections() {
+        return sectionCourse.length;
+    }
+
+    public int teachers() {
+        return teacherDepartment.length;
+    }
+
+    public int rooms() {
+        return roomCapacity.length;
+    }
+
+    public int slots() {
+        return slots;
+    }
+
+    // Teachers in the section's course department; empty when it has none
+    int[] preferredTeachers(int section) {
+        int department = courseDepartment[sectionCourse[section]];
+        return department < 0 ? new int[0] : departmentTeachers[department];
+    }
+
+    /** Two courses (by index) and the number of students taking both. */
+    public record CourseConflict(int a, int b, int students) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.assignment1.timetable;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * The teaching week and the solver's budget, bound from {@code app.timetable.*}. Courses
+ * without sections get one per {@code sectionSize} enrolled students (at least one).
+ * {@code solverThreads} 0 means one per core.
+ */
+@ConfigurationProperties("app.timetable")
+public record TimetableProperties(
+        @DefaultValue("5") int days,
+        @DefaultValue("8") int periodsPerDay,
+        @DefaultValue("4") int maxSectionsPerTeacher,
+        @DefaultValue("60") int sectionSize,
+        @DefaultValue("0") int solverThreads,
+        @DefaultValue("5m") Duration timeLimit,
+        @DefaultValue("30s") Duration unimprovedLimit) {
+
+    public TimetableProperties {
+        if (days < 1 || periodsPerDay < 1) {
+            throw new IllegalArgumentException("A week needs at least one day and one period");
+        }
+        if (maxSectionsPerTeacher < 1 || sectionSize < 1 || solverThreads < 0) {
+            throw new IllegalArgumentException("max-sections-per-teacher and section-size must be positive, solver-threads not negative");
+        }
+    }
+
+    public int slots() {
+        return days * periodsPerDay;
+    }
+
+    public int threads() {
+        return solverThreads > 0 ? solverThreads : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,286 @@
+package com.example.assignment1.timetable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds a timetable greedily, then improves it by local search. Several threads search at
+ * once, each with late acceptance hill climbing: a move is kept if it is no worse than the
+ * current timetable or than the one a fixed number of steps ago, which lets the search walk
+ * out of local optima. Threads publish their best timetable to each other, and a thread
+ * that has stopped improving continues from the best one found by any thread. Every step is
+ * scored incrementally by {@link ScoreCalculator}, so a step costs the same at any size.
+ */
+public class TimetableSolver {
+
+    private static final Logger log = LoggerFactory.getLogger(TimetableSolver.class);
+
+    private static final int LATE_ACCEPTANCE = 2000;
+    // Steps between looking at the clock and the shared best
+    private static final int SYNC_STEPS = 20_000;
+
+    /**
+     * Threads to search with, how long to search at most, how long to go on without any
+     * thread improving the best timetable, and the random seed.
+     */
+    public record Settings(int threads, Duration timeLimit, Duration unimprovedLimit, long seed) {
+
+        public Settings {
+            if (threads < 1) {
+                throw new IllegalArgumentException("threads must be positive");
+            }
+        }
+    }
+
+    public Timetable solve(TimetableProblem problem, Settings settings) {
+        long started = System.nanoTime();
+        if (problem.sections() == 0) {
+            return new Timetable(new int[0], new int[0], new int[0], Score.ZERO, 0, Duration.ZERO);
+        }
+        Timetable initial = construct(problem, new Random(settings.seed()));
+        SharedBest best = new SharedBest(initial, started);
+        log.info("Timetable of {} sections: initial score {}", problem.sections(), initial.score());
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(settings.threads(), r -> {
+            Thread t = new Thread(r, "timetable-solver-" + threadNumber.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        long steps = 0;
+        try {
+            List<Future<Long>> workers = new ArrayList<>();
+            SplittableRandom seeds = new SplittableRandom(settings.seed());
+            for (int i = 0; i < settings.threads(); i++) {
+                SplittableRandom random = seeds.split();
+                workers.add(pool.submit(() -> search(problem, settings, best, random, started)));
+            }
+            for (Future<Long> worker : workers) {
+                steps += worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Timetable search failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        Timetable result = best.get();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        log.info("Timetable of {} sections: score {} after {} steps in {} ms", problem.sections(), result.score(),
+                steps, elapsed.toMillis());
+        return new Timetable(result.teacher(), result.room(), result.slot(), result.score(), steps, elapsed);
+    }
+
+    // One search thread; returns the number of steps it took
+    private static long search(TimetableProblem problem, Settings settings, SharedBest best, SplittableRandom random,
+                               long started) {
+        Timetable start = best.get();
+        ScoreCalculator calculator = new ScoreCalculator(problem, start.teacher(), start.room(), start.slot());
+        Score current = calculator.score();
+        Score[] history = new Score[LATE_ACCEPTANCE];
+        Arrays.fill(history, current);
+        Score ownBest = current;
+        int[] bestTeacher = calculator.teacher.clone();
+        int[] bestRoom = calculator.room.clone();
+        int[] bestSlot = calculator.slot.clone();
+        long lastImproved = 0;
+        long step = 0;
+
+        while (true) {
+            int section = random.nextInt(problem.sections());
+            int oldTeacher = calculator.teacher[section];
+            int oldRoom = calculator.room[section];
+            int oldSlot = calculator.slot[section];
+            int other = -1;
+            Score candidate;
+            int kind = random.nextInt(10);
+            if (kind < 4) {
+                candidate = calculator.move(section, oldTeacher, oldRoom, random.nextInt(problem.slots));
+            } else if (kind < 6) {
+                candidate = calculator.move(section, oldTeacher, randomRoom(problem, section, random), oldSlot);
+            } else if (kind < 8) {
+                candidate = calculator.move(section, randomTeacher(problem, section, random), oldRoom, oldSlot);
+            } else {
+                // Two sections trade their slot and room, which keeps both rooms singly booked
+                other = random.nextInt(problem.sections());
+                int otherRoom = calculator.room[other];
+                int otherSlot = calculator.slot[other];
+                calculator.move(other, calculator.teacher[other], oldRoom, oldSlot);
+                candidate = calculator.move(section, oldTeacher, otherRoom, otherSlot);
+            }
+
+            int v = (int) (step % LATE_ACCEPTANCE);
+            if (!candidate.betterThan(current) && candidate.compareTo(current) != 0 && history[v].betterThan(candidate)) {
+                // Rejected: put the section(s) back
+                if (other >= 0) {
+                    int otherRoom = calculator.room[section];
+                    int otherSlot = calculator.slot[section];
+                    calculator.move(section, oldTeacher, oldRoom, oldSlot);
+                    calculator.move(other, calculator.teacher[other], otherRoom, otherSlot);
+                } else {
+                    calculator.move(section, oldTeacher, oldRoom, oldSlot);
+                }
+            } else {
+                current = candidate;
+                if (current.betterThan(ownBest)) {
+                    ownBest = current;
+                    lastImproved = step;
+                    System.arraycopy(calculator.teacher, 0, bestTeacher, 0, bestTeacher.length);
+                    System.arraycopy(calculator.room, 0, bestRoom, 0, bestRoom.length);
+                    System.arraycopy(calculator.slot, 0, bestSlot, 0, bestSlot.length);
+                }
+            }
+            if (current.betterThan(history[v])) {
+                history[v] = current;
+            }
+            step++;
+
+            if (step % SYNC_STEPS == 0) {
+                best.offer(bestTeacher, bestRoom, bestSlot, ownBest);
+                long now = System.nanoTime();
+                if (Thread.currentThread().isInterrupted() || best.score().equals(Score.ZERO)
+                        || now - started >= settings.timeLimit().toNanos()
+                        || now - best.improvedAt() >= settings.unimprovedLimit().toNanos()) {
+                    return step;
+                }
+                // Stuck behind another thread: carry on from its timetable
+                if (step - lastImproved >= 10L * SYNC_STEPS && best.score().betterThan(ownBest)) {
+                    Timetable shared = best.get();
+                    calculator = new ScoreCalculator(problem, shared.teacher(), shared.room(), shared.slot());
+                    current = calculator.score();
+                    ownBest = current;
+                    System.arraycopy(shared.teacher(), 0, bestTeacher, 0, bestTeacher.length);
+                    System.arraycopy(shared.room(), 0, bestRoom, 0, bestRoom.length);
+                    System.arraycopy(shared.slot(), 0, bestSlot, 0, bestSlot.length);
+                    Arrays.fill(history, current);
+                    lastImproved = step;
+                }
+            }
+        }
+    }
+
+    private static int randomRoom(TimetableProblem problem, int section, SplittableRandom random) {
+        int first = problem.firstFittingRoom[section];
+        return problem.roomsBySize[first + random.nextInt(problem.roomsBySize.length - first)];
+    }
+
+    // Usually a teacher of the course's department, sometimes anyone
+    private static int randomTeacher(TimetableProblem problem, int section, SplittableRandom random) {
+        int[] preferred = problem.preferredTeachers(section);
+        if (preferred.length > 0 && random.nextInt(10) < 8) {
+            return preferred[random.nextInt(preferred.length)];
+        }
+        return random.nextInt(problem.teachers());
+    }
+
+    /**
+     * Largest sections first: the least loaded teacher of the course's department (anyone if
+     * it has none left), then the slot where the smallest free room that fits makes the score
+     * worst by the least.
+     */
+    static Timetable construct(TimetableProblem problem, Random random) {
+        int sections = problem.sections();
+        Integer[] order = new Integer[sections];
+        for (int s = 0; s < sections; s++) {
+            order[s] = s;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(problem.sectionSize[b], problem.sectionSize[a]));
+
+        // Start with everything in slot 0; sections are placed one by one from there
+        int[] teacher = new int[sections];
+        int[] room = new int[sections];
+        int[] slot = new int[sections];
+        ScoreCalculator calculator = new ScoreCalculator(problem, teacher, room, slot);
+        for (int s : order) {
+            int chosenTeacher = leastLoaded(calculator, problem.preferredTeachers(s), problem.maxSectionsPerTeacher);
+            if (chosenTeacher < 0) {
+                chosenTeacher = leastLoaded(calculator, allTeachers(problem), Integer.MAX_VALUE);
+            }
+            Score bestScore = null;
+            int bestSlot = 0;
+            int bestRoom = problem.roomsBySize[problem.firstFittingRoom[s]];
+            int offset = random.nextInt(problem.slots);
+            for (int i = 0; i < problem.slots; i++) {
+                int at = (offset + i) % problem.slots;
+                int candidateRoom = freeRoom(problem, calculator, s, at);
+                Score score = calculator.move(s, chosenTeacher, candidateRoom, at);
+                if (bestScore == null || score.betterThan(bestScore)) {
+                    bestScore = score;
+                    bestSlot = at;
+                    bestRoom = candidateRoom;
+                }
+            }
+            calculator.move(s, chosenTeacher, bestRoom, bestSlot);
+        }
+        return new Timetable(calculator.teacher.clone(), calculator.room.clone(), calculator.slot.clone(),
+                calculator.score(), 0, Duration.ZERO);
+    }
+
+    private static int freeRoom(TimetableProblem problem, ScoreCalculator calculator, int section, int at) {
+        for (int i = problem.firstFittingRoom[section]; i < problem.roomsBySize.length; i++) {
+            if (calculator.roomFree(problem.roomsBySize[i], at, section)) {
+                return problem.roomsBySize[i];
+            }
+        }
+        return problem.roomsBySize[problem.firstFittingRoom[section]];
+    }
+
+    private static int leastLoaded(ScoreCalculator calculator, int[] teachers, int below) {
+        int chosen = -1;
+        for (int t : teachers) {
+            if (calculator.load(t) < below && (chosen < 0 || calculator.load(t) < calculator.load(chosen))) {
+                chosen = t;
+            }
+        }
+        return chosen;
+    }
+
+    private static int[] allTeachers(TimetableProblem problem) {
+        int[] all = new int[problem.teachers()];
+        Arrays.setAll(all, i -> i);
+        return all;
+    }
+
+    // The best timetable any thread has found, and when it last got better
+    private static final class SharedBest {
+        private Timetable timetable;
+        private long improvedAt;
+
+        SharedBest(Timetable initial, long now) {
+            this.timetable = initial;
+            this.improvedAt = now;
+        }
+
+        synchronized Timetable get() {
+            return timetable;
+        }
+
+        synchronized Score score() {
+            return timetable.score();
+        }
+
+        synchronized long improvedAt() {
+            return improvedAt;
+        }
+
+        synchronized void offer(int[] teacher, int[] room, int[] slot, Score score) {
+            if (score.betterThan(timetable.score())) {
+                timetable = new Timetable(teacher.clone(), room.clone(), slot.clone(), score, 0, Duration.ZERO);
+                improvedAt = System.nanoTime();
+            }
+        }
+    }
+}
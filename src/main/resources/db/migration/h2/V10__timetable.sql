@@ -0,0 +1,32 @@
+-- Weekly timetable (TimetableService): rooms, and the sections each course is taught in.
+-- A section's teacher, room and slot are filled in by the solver; slot numbers run day by
+-- day, app.timetable.periods-per-day to a day.
+
+create table room (
+    id       bigint generated by default as identity,
+    name     varchar(255) not null,
+    capacity int          not null,
+    constraint room_pk primary key (id),
+    constraint room_name_uk unique (name)
+);
+
+create table course_section (
+    id         bigint generated by default as identity,
+    course_id  bigint not null,
+    students   int    not null,
+    teacher_id bigint,
+    room_id    bigint,
+    slot       int,
+    constraint course_section_pk primary key (id)
+);
+-- Indexes first, so the foreign keys below use them
+create index course_section_course_idx on course_section (course_id);
+create index course_section_teacher_idx on course_section (teacher_id);
+create index course_section_room_idx on course_section (room_id);
+
+alter table course_section add constraint course_section_course_fk
+    foreign key (course_id) references course on delete cascade;
+alter table course_section add constraint course_section_teacher_fk
+    foreign key (teacher_id) references teachers on delete set null;
+alter table course_section add constraint course_section_room_fk
+    foreign key (room_id) references room on delete set null;
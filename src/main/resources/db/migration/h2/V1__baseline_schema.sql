@@ -0,0 +1,38 @@
+-- Mirrors db/migration/postgresql; H2 keeps the enum column type Hibernate maps Role to,
+-- and foreign keys are added in V2 once their indexes exist.
+
+create table department (
+    id   bigint generated by default as identity primary key,
+    name varchar(255)
+);
+
+create table course (
+    id            bigint generated by default as identity primary key,
+    title         varchar(255),
+    department_id bigint
+);
+
+create sequence students_seq start with 1 increment by 50;
+
+create table students (
+    id            bigint       not null primary key,
+    name          varchar(255) not null,
+    email         varchar(255) not null constraint students_email_uk unique,
+    password      varchar(255) not null,
+    role          enum ('STUDENT', 'TEACHER') not null,
+    department_id bigint
+);
+
+create table teachers (
+    id            bigint generated by default as identity primary key,
+    name          varchar(255) not null,
+    email         varchar(255) not null constraint teachers_email_uk unique,
+    password      varchar(255) not null,
+    role          enum ('STUDENT', 'TEACHER') not null,
+    department_id bigint
+);
+
+create table student_course (
+    student_id bigint not null,
+    course_id  bigint not null
+);
@@ -0,0 +1,19 @@
+-- Indexes first: H2 adds its own index for a foreign key unless a usable one exists.
+create index students_department_idx on students (department_id);
+create index teachers_department_idx on teachers (department_id);
+create index course_department_idx on course (department_id);
+
+alter table student_course add constraint student_course_pk primary key (student_id, course_id);
+create index student_course_course_idx on student_course (course_id, student_id);
+
+alter table course add foreign key (department_id) references department;
+alter table students add foreign key (department_id) references department;
+alter table teachers add foreign key (department_id) references department;
+alter table student_course add foreign key (student_id) references students;
+alter table student_course add foreign key (course_id) references course;
+
+-- H2 has no expression indexes, so case-insensitive uniqueness goes through a generated column
+alter table students add column email_key varchar(255) generated always as (lower(email));
+alter table teachers add column email_key varchar(255) generated always as (lower(email));
+create unique index students_email_lower_uk on students (email_key);
+create unique index teachers_email_lower_uk on teachers (email_key);
@@ -0,0 +1,39 @@
+-- Credentials of students and teachers move into one table keyed by a shared id.
+-- Students keep their ids; teachers are renumbered above every existing id.
+
+create sequence user_accounts_seq start with 1 increment by 50;
+
+create table user_accounts (
+    id       bigint       not null primary key,
+    email    varchar(255) not null constraint user_accounts_email_uk unique,
+    password varchar(255) not null,
+    role     enum ('STUDENT', 'TEACHER') not null,
+    email_key varchar(255) generated always as (lower(email))
+);
+create unique index user_accounts_email_lower_uk on user_accounts (email_key);
+
+alter table teachers alter column id drop identity;
+update teachers set id = id + (select coalesce(max(id), 0) from (
+    select id from students union all select id from teachers) ids);
+
+insert into user_accounts (id, email, password, role)
+select id, email, password, role from students;
+insert into user_accounts (id, email, password, role)
+select id, email, password, role from teachers;
+
+drop index students_email_lower_uk;
+drop index teachers_email_lower_uk;
+alter table students drop column email_key;
+alter table teachers drop column email_key;
+alter table students drop column email;
+alter table students drop column password;
+alter table students drop column role;
+alter table teachers drop column email;
+alter table teachers drop column password;
+alter table teachers drop column role;
+
+alter table students add constraint students_account_fk foreign key (id) references user_accounts;
+alter table teachers add constraint teachers_account_fk foreign key (id) references user_accounts;
+
+alter sequence user_accounts_seq restart with (select coalesce(max(id), 0) + 50 from user_accounts);
+drop sequence students_seq;
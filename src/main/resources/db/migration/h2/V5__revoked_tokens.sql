@@ -0,0 +1,9 @@
+-- API tokens revoked before their expiry (epoch millis); every node reloads this
+-- table periodically and rows are deleted once the token has expired anyway.
+create table revoked_tokens (
+    token_id varchar(36) not null,
+    expires_at bigint not null,
+    constraint revoked_tokens_pk primary key (token_id)
+);
+
+create index revoked_tokens_expires_idx on revoked_tokens (expires_at);
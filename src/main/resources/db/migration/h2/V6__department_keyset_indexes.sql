@@ -0,0 +1,3 @@
+-- PostgreSQL widens the department indexes to (department_id, id) here for the API's
+-- keyset pages. H2 keeps the single-column ones: its unnamed foreign keys from V2 own
+-- them, so they cannot be dropped, and the test datasets are too small to need it.
@@ -0,0 +1,40 @@
+-- Enrollment aggregates for the analytics page, so statistics cost the same at any number
+-- of students. EnrollmentStatsListener applies deltas in the transaction that changes
+-- enrollments; EnrollmentStatsReconciler recounts periodically to repair any drift.
+
+create table course_enrollment_stats (
+    course_id bigint not null,
+    students  bigint not null,
+    constraint course_enrollment_stats_pk primary key (course_id),
+    constraint course_enrollment_stats_course_fk foreign key (course_id) references course on delete cascade
+);
+-- Most and least popular courses without sorting the table
+create index course_enrollment_stats_students_idx on course_enrollment_stats (students, course_id);
+
+create table department_enrollment_stats (
+    department_id bigint not null,
+    students      bigint not null,
+    constraint department_enrollment_stats_pk primary key (department_id),
+    constraint department_enrollment_stats_department_fk foreign key (department_id) references department on delete cascade
+);
+
+-- Students by number of courses taken; the last bucket (10) counts ten or more
+create table course_load_stats (
+    courses  int    not null,
+    students bigint not null,
+    constraint course_load_stats_pk primary key (courses)
+);
+
+insert into course_enrollment_stats (course_id, students)
+select c.id, (select count(*) from student_course sc where sc.course_id = c.id) from course c;
+
+insert into department_enrollment_stats (department_id, students)
+select d.id, (select count(*) from students s where s.department_id = d.id) from department d;
+
+insert into course_load_stats (courses, students)
+select b.n, (select count(*) from (
+        select least(count(sc.course_id), 10) as n
+        from students s left join student_course sc on sc.student_id = s.id
+        group by s.id) l
+    where l.n = b.n)
+from (values (0), (1), (2), (3), (4), (5), (6), (7), (8), (9), (10)) as b(n);
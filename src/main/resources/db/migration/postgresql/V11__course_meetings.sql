@@ -0,0 +1,18 @@
+-- Weekly meeting times of a course (ScheduleService). A student may not be enrolled in two
+-- courses whose meetings overlap. A meeting starts and ends on the same day; day_of_week
+-- runs 1 (Monday) to 7.
+
+create table course_meeting (
+    id          bigint generated by default as identity,
+    course_id   bigint   not null,
+    day_of_week smallint not null,
+    starts_at   time     not null,
+    ends_at     time     not null,
+    constraint course_meeting_pk primary key (id),
+    constraint course_meeting_day_ck check (day_of_week between 1 and 7),
+    constraint course_meeting_time_ck check (starts_at < ends_at)
+);
+create index course_meeting_course_idx on course_meeting (course_id);
+
+alter table course_meeting add constraint course_meeting_course_fk
+    foreign key (course_id) references course on delete cascade;
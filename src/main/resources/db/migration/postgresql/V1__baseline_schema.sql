@@ -0,0 +1,38 @@
+-- Schema as previously created by spring.jpa.hibernate.ddl-auto=update. Databases that
+-- already have it are baselined at this version (spring.flyway.baseline-on-migrate).
+
+create table department (
+    id   bigint generated by default as identity primary key,
+    name varchar(255)
+);
+
+create table course (
+    id            bigint generated by default as identity primary key,
+    title         varchar(255),
+    department_id bigint references department
+);
+
+create sequence students_seq start with 1 increment by 50;
+
+create table students (
+    id            bigint       not null primary key,
+    name          varchar(255) not null,
+    email         varchar(255) not null constraint students_email_uk unique,
+    password      varchar(255) not null,
+    role          varchar(255) not null check (role in ('STUDENT', 'TEACHER')),
+    department_id bigint references department
+);
+
+create table teachers (
+    id            bigint generated by default as identity primary key,
+    name          varchar(255) not null,
+    email         varchar(255) not null constraint teachers_email_uk unique,
+    password      varchar(255) not null,
+    role          varchar(255) not null check (role in ('STUDENT', 'TEACHER')),
+    department_id bigint references department
+);
+
+create table student_course (
+    student_id bigint not null references students,
+    course_id  bigint not null references course
+);
@@ -0,0 +1,37 @@
+-- PostgreSQL does not index foreign key columns by itself; without these every
+-- department/course join or delete cascade check scans the referencing table.
+create index students_department_idx on students (department_id);
+create index teachers_department_idx on teachers (department_id);
+create index course_department_idx on course (department_id);
+
+-- A student's courses (primary key) and a course's students (reverse index)
+alter table student_course add constraint student_course_pk primary key (student_id, course_id);
+create index student_course_course_idx on student_course (course_id, student_id);
+
+-- Emails are stored lower-cased (see Student#setEmail); these keep it that way for
+-- rows written outside the application. Lookups use the plain unique email index.
+-- Emails that differ only by case cannot both be lower-cased; stop with the offending
+-- address rather than a bare unique violation, so the duplicates can be merged first.
+do $$
+declare
+    duplicate text;
+begin
+    select lower(email) into duplicate from students group by lower(email) having count(*) > 1 limit 1;
+    if duplicate is not null then
+        raise exception 'Students share the email % in different case; merge them before migrating', duplicate;
+    end if;
+    select lower(email) into duplicate from teachers group by lower(email) having count(*) > 1 limit 1;
+    if duplicate is not null then
+        raise exception 'Teachers share the email % in different case; merge them before migrating', duplicate;
+    end if;
+end $$;
+update students set email = lower(email) where email <> lower(email);
+update teachers set email = lower(email) where email <> lower(email);
+create unique index students_email_lower_uk on students (lower(email));
+create unique index teachers_email_lower_uk on teachers (lower(email));
+
+-- Student ids came from an identity column before the pooled students_seq; start the
+-- sequence past them so the first allocated block cannot collide. A database baselined
+-- at V1 was created by Hibernate and may not have the sequence yet.
+create sequence if not exists students_seq start with 1 increment by 50;
+select setval('students_seq', coalesce((select max(id) from students), 0) + 50, false);
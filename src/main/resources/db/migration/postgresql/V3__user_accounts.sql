@@ -0,0 +1,32 @@
+-- Credentials of students and teachers move into one table keyed by a shared id.
+-- Students keep their ids; teachers are renumbered above every existing id.
+-- An email held by both a student and a teacher fails the insert below; resolve those first.
+
+create sequence user_accounts_seq start with 1 increment by 50;
+
+create table user_accounts (
+    id       bigint       not null primary key,
+    email    varchar(255) not null constraint user_accounts_email_uk unique,
+    password varchar(255) not null,
+    role     varchar(255) not null check (role in ('STUDENT', 'TEACHER'))
+);
+create unique index user_accounts_email_lower_uk on user_accounts (lower(email));
+
+alter table teachers alter column id drop identity if exists;
+update teachers set id = id + (select coalesce(max(id), 0) from (
+    select id from students union all select id from teachers) ids);
+
+insert into user_accounts (id, email, password, role)
+select id, email, password, role from students;
+insert into user_accounts (id, email, password, role)
+select id, email, password, role from teachers;
+
+-- Also drops the email indexes on both tables
+alter table students drop column email, drop column password, drop column role;
+alter table teachers drop column email, drop column password, drop column role;
+
+alter table students add constraint students_account_fk foreign key (id) references user_accounts;
+alter table teachers add constraint teachers_account_fk foreign key (id) references user_accounts;
+
+select setval('user_accounts_seq', coalesce((select max(id) from user_accounts), 0) + 50, false);
+drop sequence if exists students_seq;
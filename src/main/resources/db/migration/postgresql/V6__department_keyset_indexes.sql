@@ -0,0 +1,15 @@
+-- API listings filter by department and page by id (see ProjectionRepository); with the id
+-- in the index a page is one range scan in order instead of a scan plus sort. Foreign key
+-- checks and joins use the leading column as before. The wider index is built before the
+-- old one goes, so department lookups always have one.
+create index students_department_id_idx on students (department_id, id);
+drop index students_department_idx;
+alter index students_department_id_idx rename to students_department_idx;
+
+create index teachers_department_id_idx on teachers (department_id, id);
+drop index teachers_department_idx;
+alter index teachers_department_id_idx rename to teachers_department_idx;
+
+create index course_department_id_idx on course (department_id, id);
+drop index course_department_idx;
+alter index course_department_id_idx rename to course_department_idx;
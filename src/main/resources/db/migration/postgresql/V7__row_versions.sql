@@ -0,0 +1,22 @@
+-- Optimistic-lock versions and last-modified times for the edited entities
+alter table user_accounts add column version bigint default 0 not null;
+alter table user_accounts add column updated_at timestamp(6) with time zone default current_timestamp not null;
+alter table course add column version bigint default 0 not null;
+alter table course add column updated_at timestamp(6) with time zone default current_timestamp not null;
+alter table department add column version bigint default 0 not null;
+alter table department add column updated_at timestamp(6) with time zone default current_timestamp not null;
+
+-- One row per table, bumped once by every transaction that writes to it (TableVersionListener).
+-- Listings compare these four rows instead of re-reading the tables to answer conditional GETs.
+create table table_versions (
+    table_name varchar(64) not null,
+    version bigint not null,
+    updated_at timestamp(6) with time zone not null,
+    constraint table_versions_pk primary key (table_name)
+);
+
+insert into table_versions (table_name, version, updated_at) values
+    ('students', 0, current_timestamp),
+    ('teachers', 0, current_timestamp),
+    ('course', 0, current_timestamp),
+    ('department', 0, current_timestamp);
@@ -0,0 +1,20 @@
+-- Seat limits and waitlists for student self-registration (RegistrationService). A null
+-- capacity means unlimited. Seats taken are the course_enrollment_stats counts (V8), which
+-- registration increments with a guarded update, so a course cannot be overbooked.
+alter table course add column capacity int;
+
+-- First come, first served: the lowest id is the head of a course's queue
+create table course_waitlist (
+    id           bigint generated by default as identity,
+    course_id    bigint not null,
+    student_id   bigint not null,
+    requested_at timestamp(6) with time zone not null,
+    constraint course_waitlist_pk primary key (id),
+    constraint course_waitlist_uk unique (course_id, student_id),
+    constraint course_waitlist_course_fk foreign key (course_id) references course on delete cascade,
+    constraint course_waitlist_student_fk foreign key (student_id) references students on delete cascade
+);
+-- One course's queue in order, and positions within it
+create index course_waitlist_course_idx on course_waitlist (course_id, id);
+-- A student's own entries
+create index course_waitlist_student_idx on course_waitlist (student_id);
@@ -0,0 +1,63 @@
+package com.example.assignment1.benchmark;
+
+import com.example.assignment1.Assignment1Application;
+import com.example.assignment1.dataset.DatasetGenerator;
+import com.example.assignment1.dataset.DatasetSpec;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Boots the application against a private in-memory H2 database and fills it with
+ * the standard synthetic dataset. Shared by the benchmarks and parameterized by dataset size.
+ */
+@State(Scope.Benchmark)
+public class ApplicationState {
+
+    static final int DEPARTMENTS = 20;
+    static final int COURSES = 200;
+
+    // Number of students; teachers are 1/20 of that
+    @Param({"1000", "100000"})
+    public int students;
+
+    public ConfigurableApplicationContext context;
+    public List<String> studentEmails;
+    public List<Long> studentIds;
+
+    @Setup(Level.Trial)
+    public void start() {
+        // Passed as arguments so they win over application-test.properties
+        context = new SpringApplicationBuilder(Assignment1Application.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:mem:bench" + students + ";DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--logging.level.com.example.assignment1=WARN");
+        generate();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    private void generate() {
+        bean(DatasetGenerator.class).generate(new DatasetSpec(DEPARTMENTS, COURSES, Math.max(1, students / 20),
+                students, 4.5, 8, 1.0, 1.1, 0.7, "password123", 42, 5000));
+        JdbcTemplate jdbc = bean(JdbcTemplate.class);
+        studentIds = jdbc.queryForList("select id from students order by id", Long.class);
+        studentEmails = jdbc.queryForList("select email from user_accounts where role = 'STUDENT' order by id", String.class);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.assignment1.benchmark;
+
+import com.example.assignment1.controller.TeacherController;
+import jakarta.servlet.ServletContext;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teacher dashboard: building the model (the four keyset-paged queries) and
+ * rendering teacher-dashboard.html from it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class DashboardBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private TeacherController controller;
+    private SpringTemplateEngine templateEngine;
+    private JakartaServletWebApplication webApplication;
+    private ServletContext servletContext;
+    private ExtendedModelMap renderedModel;
+
+    @Setup
+    public void setUp(ApplicationState app) {
+        controller = app.bean(TeacherController.class);
+        templateEngine = app.bean(SpringTemplateEngine.class);
+        servletContext = new MockServletContext();
+        webApplication = JakartaServletWebApplication.buildApplication(servletContext);
+        renderedModel = buildModel();
+    }
+
+    @Benchmark
+    public ExtendedModelMap dashboardModel() {
+        return buildModel();
+    }
+
+    @Benchmark
+    public String renderDashboard() {
+        WebContext context = new WebContext(webApplication.buildExchange(
+                new MockHttpServletRequest(servletContext), new MockHttpServletResponse()));
+        context.setVariables(renderedModel);
+        return templateEngine.process("teacher-dashboard", context);
+    }
+
+    private ExtendedModelMap buildModel() {
+        ExtendedModelMap model = new ExtendedModelMap();
+        // The first teacher DatasetGenerator creates, so the header lookup finds a row
+        controller.dashboard(model, new TestingAuthenticationToken("teacher0@example.edu", null),
+                new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse()),
+                pageSize, "name", "asc", null, "id", "asc", null, "id", "asc", null, "id", "asc", null);
+        return model;
+    }
+}
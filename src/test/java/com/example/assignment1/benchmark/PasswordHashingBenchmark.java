@@ -0,0 +1,43 @@
+package com.example.assignment1.benchmark;
+
+import com.example.assignment1.security.PooledPasswordEncoder;
+import com.example.assignment1.security.SecurityConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login throughput (one password check per login) through the pooled encoder at
+ * different BCrypt cost factors, with more callers than hashing threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class PasswordHashingBenchmark {
+
+    @Param({"4", "8", "10", "12"})
+    public int strength;
+
+    private PooledPasswordEncoder encoder;
+    private String stored;
+
+    @Setup
+    public void setUp() {
+        encoder = new SecurityConfig().passwordEncoder(strength, 0, 1024);
+        stored = encoder.encode("password123");
+    }
+
+    @TearDown
+    public void tearDown() {
+        encoder.destroy();
+    }
+
+    @Benchmark
+    public boolean login() {
+        return encoder.matches("password123", stored);
+    }
+}
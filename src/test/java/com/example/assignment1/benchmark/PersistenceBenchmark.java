@@ -0,0 +1,46 @@
+package com.example.assignment1.benchmark;
+
+import com.example.assignment1.enitity.Role;
+import com.example.assignment1.enitity.Student;
+import com.example.assignment1.repository.StudentRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Student insert and update through StudentRepository.save, as done by the
+ * teacher's add and edit forms.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class PersistenceBenchmark {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private StudentRepository studentRepository;
+
+    @Setup
+    public void setUp(ApplicationState app) {
+        studentRepository = app.bean(StudentRepository.class);
+    }
+
+    @Benchmark
+    public Student saveStudent() {
+        long n = sequence.incrementAndGet();
+        return studentRepository.save(new Student("New Student " + n, "new" + n + "-" + System.nanoTime() + "@example.com",
+                "{noop}password123", Role.STUDENT));
+    }
+
+    @Benchmark
+    public Student updateStudent(ApplicationState app) {
+        Long id = app.studentIds.get(ThreadLocalRandom.current().nextInt(app.studentIds.size()));
+        Student student = studentRepository.findById(id).orElseThrow();
+        student.setName("Renamed " + sequence.incrementAndGet());
+        return studentRepository.save(student);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.assignment1.benchmark;
+
+import com.example.assignment1.repository.UserAccountRepository;
+import com.example.assignment1.security.CustomUserDetailsService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CustomUserDetailsService.loadUserByUsername, through the application's cache and
+ * with a cache that never holds entries (every call reaches the database).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class SecurityBenchmark {
+
+    private CustomUserDetailsService cached;
+    private CustomUserDetailsService uncached;
+
+    @Setup
+    public void setUp(ApplicationState app) {
+        cached = app.bean(CustomUserDetailsService.class);
+        uncached = new CustomUserDetailsService(app.bean(UserAccountRepository.class), 0, Duration.ZERO);
+    }
+
+    @Benchmark
+    public UserDetails loadUserCached(ApplicationState app) {
+        return cached.loadUserByUsername(randomEmail(app));
+    }
+
+    @Benchmark
+    public UserDetails loadUserUncached(ApplicationState app) {
+        return uncached.loadUserByUsername(randomEmail(app));
+    }
+
+    private static String randomEmail(ApplicationState app) {
+        return app.studentEmails.get(ThreadLocalRandom.current().nextInt(app.studentEmails.size()));
+    }
+}
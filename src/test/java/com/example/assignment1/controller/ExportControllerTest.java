@@ -0,0 +1,102 @@
+package com.example.assignment1.controller;
+
+import com.example.assignment1.enitity.*;
+import com.example.assignment1.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+        courseRepository.deleteAll();
+        departmentRepository.deleteAll();
+
+        Department department = departmentRepository.save(new Department(null, "Computer Science"));
+        Course course = courseRepository.save(new Course(null, "Data Structures", department));
+
+        Student student = new Student("Doe, John", "john@example.com", "password123", Role.STUDENT);
+        student.setDepartment(department);
+        student.setCourses(List.of(course));
+        studentRepository.save(student);
+        teacherRepository.save(new Teacher("Mr. Smith", "smith@example.com", "password123", Role.TEACHER));
+    }
+
+    @Test
+    @WithMockUser(username = "smith@example.com", roles = "TEACHER")
+    void testStudentsCsv() throws Exception {
+        String body = mockMvc.perform(get("/teacher/export/students"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"students.csv\""))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals("id,name,email,role,department", lines[0]);
+        assertTrue(lines[1].endsWith(",\"Doe, John\",john@example.com,STUDENT,Computer Science"));
+        assertFalse(body.contains("password123"));
+    }
+
+    @Test
+    @WithMockUser(username = "smith@example.com", roles = "TEACHER")
+    void testTeachersNdjson() throws Exception {
+        String body = mockMvc.perform(get("/teacher/export/teachers").param("format", "ndjson"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(1, body.lines().count());
+        assertTrue(body.contains("\"email\":\"smith@example.com\""));
+        assertTrue(body.contains("\"role\":\"TEACHER\""));
+        assertTrue(body.contains("\"department\":null"));
+    }
+
+    @Test
+    @WithMockUser(username = "smith@example.com", roles = "TEACHER")
+    void testEnrollmentsCsv() throws Exception {
+        String body = mockMvc.perform(get("/teacher/export/enrollments"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].contains(",john@example.com,") && lines[1].endsWith(",Data Structures"));
+    }
+
+    @Test
+    @WithMockUser(username = "john@example.com", roles = "STUDENT")
+    void testStudentsCannotExport() throws Exception {
+        mockMvc.perform(get("/teacher/export/students"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.assignment1.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTest {
+
+    @Test
+    void testRoundTrip() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("name", "O'Brien, Ann:1");
+        keys.put("id", 42L);
+
+        String cursor = KeysetCursor.encode(ScrollPosition.forward(keys));
+        KeysetScrollPosition decoded = (KeysetScrollPosition) KeysetCursor.decode(cursor);
+
+        assertEquals(keys, decoded.getKeys());
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void testBlankCursorIsFirstPage() {
+        assertTrue(((KeysetScrollPosition) KeysetCursor.decode(null)).isInitial());
+        assertTrue(((KeysetScrollPosition) KeysetCursor.decode("")).isInitial());
+        assertNull(KeysetCursor.encode(ScrollPosition.keyset()));
+    }
+
+    @Test
+    void testTamperedCursorIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not-a-cursor"));
+    }
+}
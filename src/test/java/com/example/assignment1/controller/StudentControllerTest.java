@@ -1,16 +1,18 @@
 package com.example.assignment1.controller;
 
+import com.example.assignment1.dto.StudentProfile;
 import com.example.assignment1.enitity.Role;
 import com.example.assignment1.enitity.Student;
 import com.example.assignment1.repository.StudentRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.context.ActiveProfiles;
 
 import java.util.Optional;
 
@@ -20,13 +22,14 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
+@ActiveProfiles("test")
 @AutoConfigureMockMvc
 class StudentControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
 
-    @MockBean
+    @MockitoBean
     private StudentRepository studentRepository;
 
     private Student student;
@@ -44,24 +47,24 @@ class StudentControllerTest {
     @Test
     @WithMockUser(username = "john@example.com", roles = "STUDENT")
     void testStudentDashboard() throws Exception {
-        when(studentRepository.findByEmail("john@example.com")).thenReturn(Optional.of(student));
+        when(studentRepository.findWithDetailsByEmail("john@example.com")).thenReturn(Optional.of(student));
 
         mockMvc.perform(get("/student/dashboard").with(csrf()))
                 .andExpect(status().isOk())
                 .andExpect(view().name("student-dashboard"))
                 .andExpect(model().attributeExists("student"))
-                .andExpect(model().attribute("student", student));
+                .andExpect(model().attribute("student", StudentProfile.of(student)));
     }
 
     @Test
     @WithMockUser(username = "nonexistent@example.com", roles = "STUDENT")
     void testStudentDashboardStudentNotFound() throws Exception {
-        when(studentRepository.findByEmail("nonexistent@example.com")).thenReturn(Optional.empty());
+        when(studentRepository.findWithDetailsByEmail("nonexistent@example.com")).thenReturn(Optional.empty());
 
         mockMvc.perform(get("/student/dashboard").with(csrf()))
                 .andExpect(status().isOk())
                 .andExpect(view().name("student-dashboard"))
-                .andExpect(model().attribute("student", null));
+                .andExpect(model().attribute("student", (Object) null));
     }
 
     @Test
@@ -1,32 +1,41 @@
 package com.example.assignment1.controller;
 
+import com.example.assignment1.dto.TeacherRow;
 import com.example.assignment1.enitity.Role;
 import com.example.assignment1.enitity.Teacher;
 import com.example.assignment1.repository.TeacherRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.context.ActiveProfiles;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
+@ActiveProfiles("test")
 @AutoConfigureMockMvc
 class TeacherControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
 
-    @MockBean
+    @MockitoBean
     private TeacherRepository teacherRepository;
 
     private Teacher teacher;
@@ -39,29 +48,56 @@ class TeacherControllerTest {
         teacher.setEmail("smith@example.com");
         teacher.setPassword("password123");
         teacher.setRole(Role.TEACHER);
+
+        when(teacherRepository.findAllWithDepartmentBy(any(), any(), any()))
+                .thenReturn(Window.from(List.of(), ScrollPosition::offset));
     }
 
     @Test
     @WithMockUser(username = "smith@example.com", roles = "TEACHER")
     void testTeacherDashboard() throws Exception {
-        when(teacherRepository.findByEmail("smith@example.com")).thenReturn(Optional.of(teacher));
+        when(teacherRepository.findWithDepartmentByEmail("smith@example.com")).thenReturn(Optional.of(teacher));
 
         mockMvc.perform(get("/teacher/dashboard").with(csrf()))
                 .andExpect(status().isOk())
                 .andExpect(view().name("teacher-dashboard"))
                 .andExpect(model().attributeExists("teacher"))
-                .andExpect(model().attribute("teacher", teacher));
+                .andExpect(model().attribute("teacher", TeacherRow.of(teacher)));
     }
 
     @Test
     @WithMockUser(username = "nonexistent@example.com", roles = "TEACHER")
     void testTeacherDashboardTeacherNotFound() throws Exception {
-        when(teacherRepository.findByEmail("nonexistent@example.com")).thenReturn(Optional.empty());
+        when(teacherRepository.findWithDepartmentByEmail("nonexistent@example.com")).thenReturn(Optional.empty());
 
         mockMvc.perform(get("/teacher/dashboard").with(csrf()))
                 .andExpect(status().isOk())
                 .andExpect(view().name("teacher-dashboard"))
-                .andExpect(model().attribute("teacher", null));
+                .andExpect(model().attribute("teacher", (Object) null));
+    }
+
+    @Test
+    @WithMockUser(username = "smith@example.com", roles = "TEACHER")
+    void testTeacherDashboardRejectsMalformedCursor() throws Exception {
+        mockMvc.perform(get("/teacher/dashboard").param("studentAfter", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        // A well-formed cursor issued for another sort
+        String byId = KeysetCursor.encode(ScrollPosition.forward(Map.of("id", 5L)));
+        mockMvc.perform(get("/teacher/dashboard").param("studentSort", "name").param("studentAfter", byId))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "smith@example.com", roles = "TEACHER")
+    void testTeacherDashboardLinksKeepOtherTables() throws Exception {
+        String cursor = KeysetCursor.encode(ScrollPosition.forward(Map.of("id", 5L)));
+        mockMvc.perform(get("/teacher/dashboard")
+                        .param("teacherSort", "name").param("teacherDir", "desc").param("courseAfter", cursor))
+                .andExpect(status().isOk())
+                // Re-sorting students keeps the teachers' sort and the courses' page
+                .andExpect(content().string(containsString("/teacher/dashboard?size=20&amp;studentSort=name&amp;studentDir=asc"
+                        + "&amp;teacherSort=name&amp;teacherDir=desc&amp;departmentSort=id&amp;departmentDir=asc"
+                        + "&amp;courseSort=id&amp;courseDir=asc&amp;courseAfter=" + cursor + "\"")));
     }
 
     @Test
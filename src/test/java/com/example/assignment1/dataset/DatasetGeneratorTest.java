@@ -0,0 +1,73 @@
+package com.example.assignment1.dataset;
+
+import com.example.assignment1.service.AnalyticsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Own database: the generator refuses to run when students already exist
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:datasetgen", "spring.jpa.show-sql=false",
+        "app.security.password.bcrypt-strength=4"})
+@ActiveProfiles("test")
+class DatasetGeneratorTest {
+
+    @Autowired
+    private DatasetGenerator generator;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Test
+    void testGeneratesSkewedDatasetAndRefusesToRunTwice() {
+        DatasetSpec spec = new DatasetSpec(5, 40, 30, 3000, 4.0, 8, 1.0, 1.1, 0.7, "password123", 7, 1000);
+
+        DatasetGenerator.Summary summary = generator.generate(spec);
+
+        assertEquals(5, count("department"));
+        assertEquals(40, count("course"));
+        assertEquals(30, count("teachers"));
+        assertEquals(3000, count("students"));
+        assertEquals(summary.enrollments(), count("student_course"));
+        // Mean enrollment per student lands near the configured 4.0
+        assertTrue(summary.enrollments() > 3000 * 3.5 && summary.enrollments() < 3000 * 4.5,
+                "enrollments: " + summary.enrollments());
+        assertEquals(0, jdbc.queryForObject(
+                "select count(*) from (select student_id, course_id from student_course "
+                        + "group by student_id, course_id having count(*) > 1) d", Long.class));
+        assertEquals(3000, jdbc.queryForObject("select count(distinct email) from user_accounts where role = 'STUDENT'", Long.class));
+
+        // Zipf skew: the busiest course and department dwarf the quietest
+        List<Long> perCourse = jdbc.queryForList(
+                "select count(*) from student_course group by course_id order by count(*) desc", Long.class);
+        assertTrue(perCourse.get(0) > 5 * perCourse.get(perCourse.size() - 1), "course counts: " + perCourse);
+        List<Long> perDepartment = jdbc.queryForList(
+                "select count(*) from students group by department_id order by count(*) desc", Long.class);
+        assertTrue(perDepartment.get(0) > 3 * perDepartment.get(perDepartment.size() - 1),
+                "department counts: " + perDepartment);
+
+        assertTrue(jdbc.queryForObject("select min(password) from user_accounts", String.class).startsWith("{bcrypt}"));
+        // Statistics are counted once the load is done
+        assertEquals(summary.enrollments(), analyticsService.enrollments(1).enrollments());
+        assertEquals(3000, analyticsService.enrollments(1).students());
+        assertThrows(IllegalStateException.class, () -> generator.generate(spec));
+    }
+
+    @Test
+    void testRejectsImpossibleSpec() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new DatasetSpec(5, 4, 0, 10, 4.0, 8, 1.0, 1.1, 0.7, "pw", 1, 100));
+    }
+
+    private long count(String table) {
+        return jdbc.queryForObject("select count(*) from " + table, Long.class);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.assignment1.datasource;
+
+import com.example.assignment1.dto.DepartmentRow;
+import com.example.assignment1.enitity.Department;
+import com.example.assignment1.repository.DepartmentRepository;
+import com.example.assignment1.service.CatalogService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Two separate H2 databases stand in for the primary and the replica; the replica
+// gets a hand-made department table so it is obvious which one answered. The query
+// cache is off: it would answer listings without asking either database.
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "spring.datasource.url=jdbc:h2:mem:rwprimary;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.url=" + ReadWriteRoutingTest.REPLICA_URL,
+        "app.datasource.replica.lag-query=select lag_seconds from replica_lag",
+        "app.datasource.replica.max-lag=5s",
+        "app.datasource.replica.check-interval=0s"})
+@ActiveProfiles("test")
+class ReadWriteRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:rwreplica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private ReplicaHealth replicaHealth;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @BeforeEach
+    void setUp() {
+        replica.execute("create table if not exists department (id bigint primary key, name varchar(255), "
+                + "version bigint default 0 not null, updated_at timestamp(6) with time zone default current_timestamp not null)");
+        replica.execute("create table if not exists replica_lag (lag_seconds double)");
+        replica.update("delete from department");
+        replica.update("delete from replica_lag");
+        replica.update("insert into department (id, name) values (1000, 'Replica Dept')");
+        replica.update("insert into replica_lag values (0)");
+        departmentRepository.deleteAll();
+        replicaHealth.check();
+    }
+
+    @AfterEach
+    void tearDown() {
+        departmentRepository.deleteAll();
+    }
+
+    @Test
+    void testReadOnlyTransactionsUseReplicaAndWritesUsePrimary() {
+        assertEquals(List.of("Replica Dept"), departmentNames());
+
+        catalogService.addDepartment(new Department(null, "Primary Dept"));
+
+        assertEquals(1, departmentRepository.count(), "repository reads go to the replica as well");
+        assertEquals(List.of("Replica Dept"), departmentNames());
+        assertEquals(1, replica.queryForObject("select count(*) from department", Integer.class));
+    }
+
+    @Test
+    void testLaggingReplicaFallsBackToPrimary() {
+        catalogService.addDepartment(new Department(null, "Primary Dept"));
+
+        replica.update("update replica_lag set lag_seconds = 60");
+        replicaHealth.check();
+        assertFalse(replicaHealth.isUsable());
+        assertEquals(List.of("Primary Dept"), departmentNames());
+
+        replica.update("update replica_lag set lag_seconds = 1");
+        replicaHealth.check();
+        assertTrue(replicaHealth.isUsable());
+        assertEquals(List.of("Replica Dept"), departmentNames());
+    }
+
+    private List<String> departmentNames() {
+        return catalogService.departmentPage(ScrollPosition.keyset(), Sort.by("id"), Limit.of(10))
+                .stream().map(DepartmentRow::name).toList();
+    }
+}
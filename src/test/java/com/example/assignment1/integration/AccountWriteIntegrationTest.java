@@ -0,0 +1,160 @@
+package com.example.assignment1.integration;
+
+import com.example.assignment1.dto.AccountPatch;
+import com.example.assignment1.enitity.Course;
+import com.example.assignment1.enitity.Department;
+import com.example.assignment1.enitity.Role;
+import com.example.assignment1.enitity.Student;
+import com.example.assignment1.metrics.SqlProfile;
+import com.example.assignment1.metrics.SqlProfiler;
+import com.example.assignment1.repository.CourseRepository;
+import com.example.assignment1.repository.DepartmentRepository;
+import com.example.assignment1.repository.StudentRepository;
+import com.example.assignment1.repository.TeacherRepository;
+import com.example.assignment1.service.AccountWriteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.JwtRequestPostProcessor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AccountWriteIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SqlProfiler profiler;
+
+    @Autowired
+    private AccountWriteService accountWrites;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    private Department physics;
+    private Department history;
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+        courseRepository.deleteAll();
+        departmentRepository.deleteAll();
+        ids.clear();
+
+        physics = departmentRepository.save(new Department(null, "Physics"));
+        history = departmentRepository.save(new Department(null, "History"));
+        Course mechanics = courseRepository.save(new Course(null, "Mechanics", physics));
+        for (int i = 0; i < 5; i++) {
+            Student student = new Student("Student " + i, "bulk" + i + "@example.com", "password123", Role.STUDENT);
+            student.setDepartment(physics);
+            student.setCourses(new ArrayList<>(List.of(mechanics)));
+            ids.add(studentRepository.save(student).getId());
+        }
+    }
+
+    @Test
+    void testPatchWritesOnlyTheGivenFieldsWithoutLoading() throws Exception {
+        Long id = ids.get(0);
+        mockMvc.perform(patch("/api/students/" + id).with(teacher())
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"name\": \"Renamed\", \"version\": 0}"))
+                .andExpect(status().isNoContent());
+
+        Student student = studentRepository.findWithDetailsById(id).orElseThrow();
+        assertEquals("Renamed", student.getName());
+        assertEquals("bulk0@example.com", student.getEmail());
+        assertEquals("password123", student.getPassword());
+        assertEquals(1, student.getCourses().size());
+        assertEquals(1, student.getVersion());
+
+        // A second client still holding version 0 is turned away
+        mockMvc.perform(patch("/api/students/" + id).with(teacher())
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"name\": \"Other\", \"version\": 0}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(patch("/api/students/" + id).with(teacher())
+                        .contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/teachers/" + id).with(teacher())
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"name\": \"Not a teacher\"}"))
+                .andExpect(status().isBadRequest());
+
+        profiler.start("PATCH", "/test");
+        accountWrites.patch(Role.STUDENT, id, new AccountPatch(null, "Moved@Example.com", null, history.getId(), null));
+        SqlProfile profile = profiler.stop("/test", 204);
+
+        assertEquals(2, profile.getStatementCount(), statements(profile));
+        assertTrue(profile.getStatements().stream().allMatch(s -> s.getSql().toLowerCase().startsWith("update")),
+                statements(profile));
+        assertEquals("moved@example.com", studentRepository.findById(id).orElseThrow().getEmail());
+    }
+
+    @Test
+    void testBulkOperationsRunOneStatementPerTable() throws Exception {
+        List<Long> moved = ids.subList(0, 3);
+        profiler.start("POST", "/test");
+        assertEquals(3, accountWrites.reassignDepartment(Role.STUDENT, moved, history.getId()));
+        SqlProfile profile = profiler.stop("/test", 200);
+        assertEquals(2, profile.getStatementCount(), statements(profile));
+        assertEquals(3, jdbc.queryForObject("select count(*) from students where department_id = ?",
+                Long.class, history.getId()));
+
+        mockMvc.perform(post("/api/students/bulk-delete").with(teacher())
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"ids\": " + moved + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(3));
+        assertEquals(2, studentRepository.count());
+        assertEquals(2, jdbc.queryForObject("select count(*) from student_course", Long.class));
+        assertEquals(2, jdbc.queryForObject("select count(*) from user_accounts", Long.class));
+
+        mockMvc.perform(post("/api/students/bulk-reassign").with(teacher())
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"ids\": " + ids.subList(3, 5) + ", \"departmentId\": -1}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(post("/api/students/bulk-delete").with(student())
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"ids\": " + ids.subList(3, 5) + "}"))
+                .andExpect(status().isForbidden());
+    }
+
+    private static String statements(SqlProfile profile) {
+        return profile.getStatements().stream().map(SqlProfile.Statement::getSql).toList().toString();
+    }
+
+    private static JwtRequestPostProcessor teacher() {
+        return jwt().authorities(new SimpleGrantedAuthority("ROLE_TEACHER"));
+    }
+
+    private static JwtRequestPostProcessor student() {
+        return jwt().authorities(new SimpleGrantedAuthority("ROLE_STUDENT"));
+    }
+}
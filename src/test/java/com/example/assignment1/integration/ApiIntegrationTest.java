@@ -0,0 +1,146 @@
+package com.example.assignment1.integration;
+
+import com.example.assignment1.enitity.Course;
+import com.example.assignment1.enitity.Department;
+import com.example.assignment1.enitity.Role;
+import com.example.assignment1.enitity.Student;
+import com.example.assignment1.metrics.SqlProfile;
+import com.example.assignment1.metrics.SqlProfiler;
+import com.example.assignment1.repository.ApiResource;
+import com.example.assignment1.repository.CourseRepository;
+import com.example.assignment1.repository.DepartmentRepository;
+import com.example.assignment1.repository.StudentRepository;
+import com.example.assignment1.repository.TeacherRepository;
+import com.example.assignment1.service.ApiQueryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.JwtRequestPostProcessor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ApiIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SqlProfiler profiler;
+
+    @Autowired
+    private ApiQueryService apiQueryService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    private Department physics;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+        courseRepository.deleteAll();
+        departmentRepository.deleteAll();
+
+        physics = departmentRepository.save(new Department(null, "Physics"));
+        Department history = departmentRepository.save(new Department(null, "History"));
+        for (int i = 0; i < 5; i++) {
+            Student student = new Student("Student " + i, "api" + i + "@example.com", "password123", Role.STUDENT);
+            student.setDepartment(i < 3 ? physics : history);
+            studentRepository.save(student);
+        }
+        Course course = new Course();
+        course.setTitle("Mechanics");
+        course.setDepartment(physics);
+        courseRepository.save(course);
+    }
+
+    @Test
+    void testListsStudentsWithoutPasswords() throws Exception {
+        mockMvc.perform(get("/api/students").with(teacher()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(5)))
+                .andExpect(jsonPath("$.items[0].email").value("api0@example.com"))
+                .andExpect(jsonPath("$.items[0].departmentName").value("Physics"))
+                .andExpect(jsonPath("$.items[0].password").doesNotExist())
+                .andExpect(jsonPath("$.next").value(nullValue()));
+
+        mockMvc.perform(get("/api/students").param("fields", "id,password").with(teacher()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testSparseFieldsetSelectsOnlyThoseColumns() throws Exception {
+        mockMvc.perform(get("/api/students").param("fields", "name").param("department", physics.getId().toString())
+                        .with(teacher()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(3)))
+                .andExpect(jsonPath("$.items[0].*", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].name").value("Student 0"))
+                .andExpect(jsonPath("$.items[0].id").isNumber());
+
+        // The request filter keeps its own profile, so capture the same query directly
+        profiler.start("GET", "/test");
+        apiQueryService.page(ApiResource.STUDENTS, "name", physics.getId(), null, 20);
+        SqlProfile profile = profiler.stop("/test", 200);
+
+        String sql = profile.getStatements().stream().map(SqlProfile.Statement::getSql)
+                .filter(s -> s.contains("students")).findFirst().orElseThrow().toLowerCase();
+        assertFalse(sql.contains("email"), sql);
+        assertFalse(sql.contains("password"), sql);
+        assertFalse(sql.contains("join"), sql);
+    }
+
+    @Test
+    void testPagesFollowTheNextCursor() throws Exception {
+        String first = mockMvc.perform(get("/api/students").param("size", "2").param("fields", "email").with(teacher()))
+                .andExpect(jsonPath("$.items[*].email", contains("api0@example.com", "api1@example.com")))
+                .andExpect(jsonPath("$.next").isNumber())
+                .andReturn().getResponse().getContentAsString();
+        String next = first.replaceAll(".*\"next\":(\\d+).*", "$1");
+
+        mockMvc.perform(get("/api/students").param("size", "2").param("fields", "email").param("after", next)
+                        .with(teacher()))
+                .andExpect(jsonPath("$.items[*].email", contains("api2@example.com", "api3@example.com")));
+    }
+
+    @Test
+    void testCatalogIsOpenToStudentsButPeopleAreNot() throws Exception {
+        mockMvc.perform(get("/api/courses").param("department", physics.getId().toString()).with(student()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Mechanics"));
+        mockMvc.perform(get("/api/departments").with(student()))
+                .andExpect(jsonPath("$.items[*].name", contains("Physics", "History")));
+        mockMvc.perform(get("/api/teachers").with(student())).andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/students")).andExpect(status().isUnauthorized());
+    }
+
+    private static JwtRequestPostProcessor teacher() {
+        return jwt().authorities(new SimpleGrantedAuthority("ROLE_TEACHER"));
+    }
+
+    private static JwtRequestPostProcessor student() {
+        return jwt().authorities(new SimpleGrantedAuthority("ROLE_STUDENT"));
+    }
+}
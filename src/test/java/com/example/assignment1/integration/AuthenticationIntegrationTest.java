@@ -4,23 +4,26 @@ import com.example.assignment1.enitity.Department;
 import com.example.assignment1.enitity.Role;
 import com.example.assignment1.enitity.Student;
 import com.example.assignment1.enitity.Teacher;
+import com.example.assignment1.repository.CourseRepository;
 import com.example.assignment1.repository.DepartmentRepository;
 import com.example.assignment1.repository.StudentRepository;
 import com.example.assignment1.repository.TeacherRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.test.context.ActiveProfiles;
 
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
+@ActiveProfiles("test")
 @AutoConfigureMockMvc
 @Transactional
 class AuthenticationIntegrationTest {
@@ -37,6 +40,9 @@ class AuthenticationIntegrationTest {
     @Autowired
     private DepartmentRepository departmentRepository;
 
+    @Autowired
+    private CourseRepository courseRepository;
+
     private Student student;
     private Teacher teacher;
     private Department department;
@@ -45,7 +51,9 @@ class AuthenticationIntegrationTest {
     void setUp() {
         studentRepository.deleteAll();
         teacherRepository.deleteAll();
+        courseRepository.deleteAll();
         departmentRepository.deleteAll();
+        departmentRepository.flush();
 
         department = new Department();
         department.setName("Computer Science");
@@ -0,0 +1,178 @@
+package com.example.assignment1.integration;
+
+import com.example.assignment1.controller.TeacherController;
+import com.example.assignment1.enitity.Course;
+import com.example.assignment1.enitity.Department;
+import com.example.assignment1.enitity.Role;
+import com.example.assignment1.enitity.Student;
+import com.example.assignment1.enitity.Teacher;
+import com.example.assignment1.repository.CourseRepository;
+import com.example.assignment1.repository.DepartmentRepository;
+import com.example.assignment1.repository.StudentRepository;
+import com.example.assignment1.repository.TeacherRepository;
+import com.example.assignment1.service.TableVersions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalGetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TeacherController teacherController;
+
+    @Autowired
+    private TableVersions tableVersions;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    private Department physics;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+        courseRepository.deleteAll();
+        departmentRepository.deleteAll();
+
+        physics = departmentRepository.save(new Department(null, "Physics"));
+        courseRepository.save(new Course(null, "Mechanics", physics));
+    }
+
+    @Test
+    @WithMockUser(username = "smith@example.com", roles = "TEACHER")
+    void testApiAnswersNotModifiedUntilATableChanges() throws Exception {
+        String etag = mockMvc.perform(get("/api/courses"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "private, no-cache"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/courses").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        // Another page of the same resource has its own tag
+        mockMvc.perform(get("/api/courses").param("size", "1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+
+        courseRepository.save(new Course(null, "Optics", physics));
+
+        mockMvc.perform(get("/api/courses").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    void testTeacherDashboardSkipsLoadingWhenUnchanged() {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        assertEquals("teacher-dashboard", dashboard(new MockHttpServletRequest("GET", "/teacher/dashboard"), first));
+        String etag = first.getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletRequest revalidate = new MockHttpServletRequest("GET", "/teacher/dashboard");
+        revalidate.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        assertNull(dashboard(revalidate, second));
+        assertEquals(304, second.getStatus());
+
+        // Bulk SQL bypasses the entity listener and bumps explicitly
+        tableVersions.bump("students");
+        MockHttpServletResponse third = new MockHttpServletResponse();
+        assertEquals("teacher-dashboard", dashboard(revalidate, third));
+        assertNotEquals(etag, third.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @WithMockUser(username = "smith@example.com", roles = "TEACHER")
+    void testStaleEditIsRejected() throws Exception {
+        Student student = new Student("John Doe", "john@example.com", "password123", Role.STUDENT);
+        student.setDepartment(physics);
+        Long id = studentRepository.save(student).getId();
+
+        mockMvc.perform(update(id, "John Smith", 0)).andExpect(redirectedUrl("/teacher/dashboard"));
+        // A second form rendered before the first save still carries version 0
+        mockMvc.perform(update(id, "Johnny Doe", 0)).andExpect(redirectedUrl("/teacher/student/edit/" + id + "?stale"));
+
+        Student saved = studentRepository.findById(id).orElseThrow();
+        assertEquals("John Smith", saved.getName());
+        assertEquals(1, saved.getVersion());
+    }
+
+    @Test
+    @WithMockUser(username = "smith@example.com", roles = "TEACHER")
+    void testEditFormsWorkWithoutDepartment() throws Exception {
+        Long studentId = studentRepository.save(new Student("John Doe", "john@example.com", "password123", Role.STUDENT)).getId();
+        Long teacherId = teacherRepository.save(new Teacher("Mr. Smith", "smith@example.com", "password123", Role.TEACHER)).getId();
+
+        mockMvc.perform(get("/teacher/student/edit/" + studentId))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("<option value=\"\" selected=\"selected\">None</option>")));
+        mockMvc.perform(get("/teacher/teacher/edit/" + teacherId))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("<option value=\"\" selected=\"selected\">None</option>")));
+
+        // Choosing a department and then "None" again
+        mockMvc.perform(update(studentId, "John Doe", 0)).andExpect(redirectedUrl("/teacher/dashboard"));
+        assertEquals(physics.getId(), studentRepository.findWithDetailsById(studentId).orElseThrow().getDepartment().getId());
+        mockMvc.perform(post("/teacher/student/update/" + studentId).with(csrf())
+                        .param("name", "John Doe").param("email", "john@example.com").param("password", "")
+                        .param("department.id", "").param("version", "1"))
+                .andExpect(redirectedUrl("/teacher/dashboard"));
+        assertNull(studentRepository.findWithDetailsById(studentId).orElseThrow().getDepartment());
+        mockMvc.perform(post("/teacher/teacher/update/" + teacherId).with(csrf())
+                        .param("name", "Mr. Smith").param("email", "smith@example.com").param("password", "")
+                        .param("department.id", "").param("version", "0"))
+                .andExpect(redirectedUrl("/teacher/dashboard"));
+        assertNull(teacherRepository.findWithDepartmentById(teacherId).orElseThrow().getDepartment());
+    }
+
+    private String dashboard(MockHttpServletRequest request, MockHttpServletResponse response) {
+        return teacherController.dashboard(new ExtendedModelMap(),
+                new TestingAuthenticationToken("teacher0@example.com", null),
+                new ServletWebRequest(request, response),
+                20, "name", "asc", null, "id", "asc", null, "id", "asc", null, "id", "asc", null);
+    }
+
+    private MockHttpServletRequestBuilder update(Long id, String name, long version) {
+        return post("/teacher/student/update/" + id).with(csrf())
+                .param("name", name)
+                .param("email", "john@example.com")
+                .param("password", "")
+                .param("department.id", String.valueOf(physics.getId()))
+                .param("version", String.valueOf(version));
+    }
+}
@@ -0,0 +1,282 @@
+package com.example.assignment1.integration;
+
+import com.example.assignment1.dto.Registration;
+import com.example.assignment1.enitity.Course;
+import com.example.assignment1.enitity.Department;
+import com.example.assignment1.enitity.Role;
+import com.example.assignment1.enitity.Student;
+import com.example.assignment1.repository.CourseRepository;
+import com.example.assignment1.repository.DepartmentRepository;
+import com.example.assignment1.repository.StudentRepository;
+import com.example.assignment1.repository.TeacherRepository;
+import com.example.assignment1.security.TokenService;
+import com.example.assignment1.service.AccountWriteService;
+import com.example.assignment1.service.EnrollmentStatsReconciler;
+import com.example.assignment1.service.RegistrationService;
+import com.example.assignment1.service.StudentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CourseRegistrationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RegistrationService registrationService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private AccountWriteService accountWriteService;
+
+    @Autowired
+    private EnrollmentStatsReconciler reconciler;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    private Department physics;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+        courseRepository.deleteAll();
+        departmentRepository.deleteAll();
+        reconciler.reconcile();
+
+        physics = departmentRepository.save(new Department(null, "Physics"));
+    }
+
+    @Test
+    void testRegistrationRushNeverOverbooks() throws Exception {
+        int seats = 25;
+        int students = 300;
+        Course course = course("Quantum Mechanics", seats);
+        List<Long> ids = students("rush", students);
+
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Registration>> results = new ArrayList<>();
+        try {
+            for (Long id : ids) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return registrationService.register(id, course.getId());
+                }));
+            }
+            start.countDown();
+            int enrolled = 0;
+            List<Long> positions = new ArrayList<>();
+            for (Future<Registration> result : results) {
+                Registration registration = result.get();
+                if (registration.status() == Registration.Status.ENROLLED) {
+                    enrolled++;
+                } else {
+                    positions.add(registration.position());
+                }
+            }
+            assertEquals(seats, enrolled);
+            assertEquals(students - seats, positions.size());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(seats, jdbc.queryForObject("select count(*) from student_course where course_id = ?",
+                Integer.class, course.getId()));
+        assertEquals(students - seats, jdbc.queryForObject("select count(*) from course_waitlist where course_id = ?",
+                Integer.class, course.getId()));
+        // Every student holds exactly one seat or one place in the queue, and the places are 1..n
+        assertEquals(students, jdbc.queryForObject("select count(distinct student_id) from ("
+                + "select student_id from student_course union all select student_id from course_waitlist) r", Integer.class));
+        List<Long> queue = new ArrayList<>();
+        for (Long id : ids) {
+            Registration registration = registrationService.register(id, course.getId());
+            if (registration.status() == Registration.Status.WAITLISTED) {
+                queue.add(registration.position());
+            }
+        }
+        assertEquals(LongStream.rangeClosed(1, students - seats).boxed().toList(), queue.stream().sorted().toList());
+        // The seat counts the guard relies on agree with the enrollments
+        assertEquals(0, reconciler.reconcile());
+    }
+
+    @Test
+    void testDroppedSeatGoesToTheHeadOfTheWaitlist() {
+        Course course = course("Optics", 1);
+        List<Long> ids = students("queue", 3);
+
+        assertEquals(Registration.enrolled(course.getId()), registrationService.register(ids.get(0), course.getId()));
+        assertEquals(Registration.waitlisted(course.getId(), 1), registrationService.register(ids.get(1), course.getId()));
+        assertEquals(Registration.waitlisted(course.getId(), 2), registrationService.register(ids.get(2), course.getId()));
+
+        registrationService.drop(ids.get(0), course.getId());
+        assertEquals(Registration.enrolled(course.getId()), registrationService.register(ids.get(1), course.getId()));
+        assertEquals(Registration.waitlisted(course.getId(), 1), registrationService.register(ids.get(2), course.getId()));
+        // The next seat freed goes to the remaining student, so a returning one queues again
+        registrationService.drop(ids.get(1), course.getId());
+        assertEquals(Registration.waitlisted(course.getId(), 1), registrationService.register(ids.get(0), course.getId()));
+        assertEquals(List.of("Optics"), registrationService.waitlist(ids.get(0)));
+
+        registrationService.drop(ids.get(0), course.getId());
+        assertEquals(List.of(), registrationService.waitlist(ids.get(0)));
+        assertThrows(IllegalArgumentException.class, () -> registrationService.drop(ids.get(0), course.getId()));
+        assertEquals(0, reconciler.reconcile());
+    }
+
+    @Test
+    void testSeatsFreedByEditsAndDeletesGoToTheWaitlist() {
+        Course course = course("Acoustics", 1);
+        List<Long> ids = students("freed", 3);
+        registrationService.register(ids.get(0), course.getId());
+        registrationService.register(ids.get(1), course.getId());
+        registrationService.register(ids.get(2), course.getId());
+
+        Student edited = studentService.get(ids.get(0));
+        edited.setPassword("");
+        edited.setCourses(new ArrayList<>());
+        studentService.update(ids.get(0), edited);
+        assertEquals(Registration.enrolled(course.getId()), registrationService.register(ids.get(1), course.getId()));
+        assertEquals(Registration.waitlisted(course.getId(), 1), registrationService.register(ids.get(2), course.getId()));
+
+        accountWriteService.deleteAll(Role.STUDENT, List.of(ids.get(1)));
+        assertEquals(Registration.enrolled(course.getId()), registrationService.register(ids.get(2), course.getId()));
+        assertEquals(0, reconciler.reconcile());
+    }
+
+    @Test
+    void testTeacherEnrollingAWaitingStudentTakesThemOffTheWaitlist() {
+        Course course = course("Electronics", 1);
+        List<Long> ids = students("teach", 3);
+        registrationService.register(ids.get(0), course.getId());
+        registrationService.register(ids.get(1), course.getId());
+        registrationService.register(ids.get(2), course.getId());
+
+        Student edited = studentService.get(ids.get(1));
+        edited.setPassword("");
+        edited.setCourses(new ArrayList<>(List.of(course)));
+        studentService.update(ids.get(1), edited);
+        assertEquals(List.of(), registrationService.waitlist(ids.get(1)));
+        assertEquals(Registration.waitlisted(course.getId(), 1), registrationService.register(ids.get(2), course.getId()));
+
+        // An entry left at the head of the queue by an earlier enrollment is skipped, not enrolled twice
+        jdbc.update("insert into course_waitlist (id, course_id, student_id, requested_at) "
+                + "select min(id) - 1, course_id, ?, min(requested_at) from course_waitlist where course_id = ? "
+                + "group by course_id", ids.get(1), course.getId());
+        jdbc.update("update course set capacity = 3 where id = ?", course.getId());
+        registrationService.drop(ids.get(0), course.getId());
+        assertEquals(Registration.enrolled(course.getId()), registrationService.register(ids.get(2), course.getId()));
+        assertEquals(List.of(), registrationService.waitlist(ids.get(1)));
+        assertEquals(0, reconciler.reconcile());
+    }
+
+    @Test
+    void testSeatFreedElsewhereIsNotHiddenByTheSeatCount() {
+        Course course = course("Thermodynamics", 1);
+        List<Long> ids = students("stale", 2);
+        assertEquals(Registration.enrolled(course.getId()), registrationService.register(ids.get(0), course.getId()));
+
+        // Another node gives the seat back; this node's count still says the course is full
+        jdbc.update("delete from student_course where student_id = ?", ids.get(0));
+        jdbc.update("update course_enrollment_stats set students = students - 1 where course_id = ?", course.getId());
+        assertEquals(Registration.enrolled(course.getId()), registrationService.register(ids.get(1), course.getId()));
+        assertEquals(1, jdbc.queryForObject("select students from course_enrollment_stats where course_id = ?",
+                Integer.class, course.getId()));
+    }
+
+    @Test
+    void testUnlimitedCourseAndApi() throws Exception {
+        Course open = course("Lectures", null);
+        Long id = students("api", 1).get(0);
+
+        mockMvc.perform(put("/api/student/courses/" + open.getId() + "/registration")
+                        .with(jwt().jwt(j -> j.claim(TokenService.ACCOUNT_ID_CLAIM, id))
+                                .authorities(new SimpleGrantedAuthority("ROLE_STUDENT"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("ENROLLED"));
+        mockMvc.perform(delete("/api/student/courses/" + open.getId() + "/registration")
+                        .with(jwt().jwt(j -> j.claim(TokenService.ACCOUNT_ID_CLAIM, id))
+                                .authorities(new SimpleGrantedAuthority("ROLE_STUDENT"))))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(put("/api/student/courses/" + Long.MAX_VALUE + "/registration")
+                        .with(jwt().jwt(j -> j.claim(TokenService.ACCOUNT_ID_CLAIM, id))
+                                .authorities(new SimpleGrantedAuthority("ROLE_STUDENT"))))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(put("/api/student/courses/" + open.getId() + "/registration")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_TEACHER"))))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "form0@example.com", roles = "STUDENT")
+    void testDashboardFormsRegisterTheLoggedInStudent() throws Exception {
+        Course full = course("Seminar", 0);
+        Course open = course("Lab", 5);
+        Long id = students("form", 1).get(0);
+
+        mockMvc.perform(post("/student/courses/" + open.getId() + "/register").with(csrf()))
+                .andExpect(redirectedUrl("/student/dashboard?enrolled"));
+        mockMvc.perform(post("/student/courses/" + full.getId() + "/register").with(csrf()))
+                .andExpect(redirectedUrl("/student/dashboard?waitlisted=1"));
+        assertEquals(1, jdbc.queryForObject("select count(*) from student_course where student_id = ?", Integer.class, id));
+        assertEquals(List.of("Seminar"), registrationService.waitlist(id));
+    }
+
+    private Course course(String title, Integer capacity) {
+        Course course = new Course(null, title, physics);
+        course.setCapacity(capacity);
+        return courseRepository.save(course);
+    }
+
+    private List<Long> students(String prefix, int count) {
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Student student = new Student(prefix + " " + i, prefix + i + "@example.com", "password123", Role.STUDENT);
+            student.setDepartment(physics);
+            student.setCourses(new ArrayList<>());
+            students.add(student);
+        }
+        return studentRepository.saveAll(students).stream().map(Student::getId).toList();
+    }
+}
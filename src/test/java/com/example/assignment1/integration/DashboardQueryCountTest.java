@@ -0,0 +1,123 @@
+package com.example.assignment1.integration;
+
+import com.example.assignment1.controller.KeysetPage;
+import com.example.assignment1.controller.TeacherController;
+import com.example.assignment1.dto.CourseRow;
+import com.example.assignment1.dto.StudentRow;
+import com.example.assignment1.dto.TeacherRow;
+import com.example.assignment1.enitity.*;
+import com.example.assignment1.repository.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class DashboardQueryCountTest {
+
+    @Autowired
+    private TeacherController teacherController;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private List<Department> departments;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+        courseRepository.deleteAll();
+        departmentRepository.deleteAll();
+
+        departments = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Department department = new Department();
+            department.setName("Department " + i);
+            departments.add(departmentRepository.save(department));
+        }
+    }
+
+    @Test
+    void testDashboardStatementCountDoesNotGrowWithRows() {
+        seed(2);
+        long small = countDashboardStatements();
+
+        seed(40);
+        long large = countDashboardStatements();
+
+        // teacher lookup plus one query per table
+        assertEquals(5, small);
+        // departments did not change in between, so their listing comes from the query cache
+        assertEquals(4, large);
+    }
+
+    private void seed(int rows) {
+        int offset = (int) studentRepository.count();
+        for (int i = offset; i < offset + rows; i++) {
+            Department department = departments.get(i % departments.size());
+
+            Student student = new Student("Student " + i, "student" + i + "@example.com", "password123", Role.STUDENT);
+            student.setDepartment(department);
+            studentRepository.save(student);
+
+            Teacher teacher = new Teacher("Teacher " + i, "teacher" + i + "@example.com", "password123", Role.TEACHER);
+            teacher.setDepartment(department);
+            teacherRepository.save(teacher);
+
+            Course course = new Course();
+            course.setTitle("Course " + i);
+            course.setDepartment(department);
+            courseRepository.save(course);
+        }
+    }
+
+    private long countDashboardStatements() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ExtendedModelMap model = new ExtendedModelMap();
+        teacherController.dashboard(model, new TestingAuthenticationToken("teacher0@example.com", null),
+                new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse()),
+                20, "name", "asc", null, "id", "asc", null, "id", "asc", null, "id", "asc", null);
+
+        // Rows are DTOs resolved inside the service transactions
+        for (Object row : ((KeysetPage<?>) model.getAttribute("students")).getContent()) {
+            assertNotNull(((StudentRow) row).departmentName());
+        }
+        for (Object row : ((KeysetPage<?>) model.getAttribute("teachers")).getContent()) {
+            assertNotNull(((TeacherRow) row).departmentName());
+        }
+        for (Object row : ((KeysetPage<?>) model.getAttribute("courses")).getContent()) {
+            assertNotNull(((CourseRow) row).departmentName());
+        }
+        return statistics.getPrepareStatementCount();
+    }
+}
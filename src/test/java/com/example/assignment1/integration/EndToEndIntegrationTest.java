@@ -5,11 +5,12 @@ import com.example.assignment1.repository.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.test.context.ActiveProfiles;
 
 import java.util.Arrays;
 import java.util.Optional;
@@ -20,6 +21,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
+@ActiveProfiles("test")
 @AutoConfigureMockMvc
 @Transactional
 class EndToEndIntegrationTest {
@@ -51,6 +53,7 @@ class EndToEndIntegrationTest {
         teacherRepository.deleteAll();
         courseRepository.deleteAll();
         departmentRepository.deleteAll();
+        departmentRepository.flush();
 
         // Create Department
         department = new Department();
@@ -59,7 +62,7 @@ class EndToEndIntegrationTest {
 
         // Create Course
         course = new Course();
-        course.setName("Data Structures");
+        course.setTitle("Data Structures");
         course.setDepartment(department);
         course = courseRepository.save(course);
 
@@ -94,7 +97,7 @@ class EndToEndIntegrationTest {
     void testCourseCreatedUnderDepartment() {
         Optional<Course> foundCourse = courseRepository.findById(course.getId());
         assertTrue(foundCourse.isPresent());
-        assertEquals("Data Structures", foundCourse.get().getName());
+        assertEquals("Data Structures", foundCourse.get().getTitle());
         assertEquals("Computer Science", foundCourse.get().getDepartment().getName());
     }
 
@@ -108,7 +111,7 @@ class EndToEndIntegrationTest {
         assertEquals("Computer Science", retrievedStudent.getDepartment().getName());
         assertNotNull(retrievedStudent.getCourses());
         assertEquals(1, retrievedStudent.getCourses().size());
-        assertEquals("Data Structures", retrievedStudent.getCourses().get(0).getName());
+        assertEquals("Data Structures", retrievedStudent.getCourses().get(0).getTitle());
     }
 
     @Test
@@ -0,0 +1,180 @@
+package com.example.assignment1.integration;
+
+import com.example.assignment1.dto.EnrollmentAnalytics;
+import com.example.assignment1.enitity.Course;
+import com.example.assignment1.enitity.Department;
+import com.example.assignment1.enitity.Role;
+import com.example.assignment1.enitity.Student;
+import com.example.assignment1.repository.CourseRepository;
+import com.example.assignment1.repository.DepartmentRepository;
+import com.example.assignment1.repository.StudentRepository;
+import com.example.assignment1.repository.TeacherRepository;
+import com.example.assignment1.service.AccountWriteService;
+import com.example.assignment1.service.AnalyticsService;
+import com.example.assignment1.service.EnrollmentStatsReconciler;
+import com.example.assignment1.service.StudentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EnrollmentAnalyticsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private EnrollmentStatsReconciler reconciler;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private AccountWriteService accountWrites;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    private Department physics;
+    private Department history;
+    private Course mechanics;
+    private Course optics;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+        courseRepository.deleteAll();
+        departmentRepository.deleteAll();
+        // Other tests write rows with plain SQL; start from exact numbers
+        reconciler.reconcile();
+
+        physics = departmentRepository.save(new Department(null, "Physics"));
+        history = departmentRepository.save(new Department(null, "History"));
+        mechanics = courseRepository.save(new Course(null, "Mechanics", physics));
+        optics = courseRepository.save(new Course(null, "Optics", physics));
+    }
+
+    @Test
+    void testFormWritesKeepStatisticsExact() {
+        Student alice = create("Alice", physics, mechanics, optics);
+        Student bob = create("Bob", physics, mechanics);
+        create("Carol", history);
+
+        EnrollmentAnalytics analytics = analyticsService.enrollments(10);
+        assertEquals(3, analytics.students());
+        assertEquals(3, analytics.enrollments());
+        assertEquals(List.of(2L, 1L), analytics.courses().stream().map(c -> c.students()).toList());
+        assertEquals("Mechanics", analytics.courses().get(0).title());
+        assertEquals(List.of(2L, 1L), analytics.departments().stream().map(d -> d.students()).toList());
+        assertEquals(List.of(1L, 1L, 1L), analytics.courseLoad().subList(0, 3).stream().map(l -> l.students()).toList());
+        assertEquals(0, reconciler.reconcile());
+
+        // The edit form replaces the course list and may move the student
+        Student edited = studentService.get(alice.getId());
+        edited.setCourses(new ArrayList<>(List.of(optics)));
+        edited.setDepartment(history);
+        edited.setPassword("");
+        studentService.update(alice.getId(), edited);
+        assertEquals(0, reconciler.reconcile());
+
+        studentService.delete(bob.getId());
+        assertEquals(0, reconciler.reconcile());
+
+        analytics = analyticsService.enrollments(10);
+        assertEquals(2, analytics.students());
+        assertEquals(1, analytics.enrollments());
+        assertEquals(List.of("History", "Physics"), analytics.departments().stream().map(d -> d.name()).toList());
+        assertEquals(List.of(2L, 0L), analytics.departments().stream().map(d -> d.students()).toList());
+    }
+
+    @Test
+    void testBulkWritesAndRepositoryDeletesKeepStatisticsExact() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            ids.add(create("Student " + i, physics, mechanics).getId());
+        }
+        accountWrites.reassignDepartment(Role.STUDENT, ids.subList(0, 2), history.getId());
+        assertEquals(0, reconciler.reconcile());
+        accountWrites.deleteAll(Role.STUDENT, ids.subList(1, 3));
+        assertEquals(0, reconciler.reconcile());
+        studentRepository.deleteAll();
+        assertEquals(0, reconciler.reconcile());
+        assertEquals(0, analyticsService.enrollments(10).enrollments());
+    }
+
+    @Test
+    void testReconciliationRepairsDriftAndApiServesTheNumbers() throws Exception {
+        Student alice = create("Alice", physics);
+        // Written behind the application's back
+        jdbc.update("insert into student_course (student_id, course_id) values (?, ?)", alice.getId(), optics.getId());
+
+        assertEquals(0, analyticsService.enrollments(10).enrollments());
+        assertEquals(3, reconciler.reconcile());
+        assertEquals(1, analyticsService.enrollments(10).enrollments());
+
+        mockMvc.perform(get("/api/analytics/enrollments").param("top", "1")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_TEACHER"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.courses.length()").value(1))
+                .andExpect(jsonPath("$.courses[0].title").value("Optics"))
+                .andExpect(jsonPath("$.courseLoad[1].students").value(1))
+                .andExpect(jsonPath("$.averageLoad").value(1.0));
+        mockMvc.perform(get("/api/analytics/enrollments")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_STUDENT"))))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "smith@example.com", roles = "TEACHER")
+    void testAnalyticsPageRenders() throws Exception {
+        create("Alice", physics, mechanics, optics);
+
+        mockMvc.perform(get("/teacher/analytics"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("analytics"))
+                .andExpect(content().string(containsString("Mechanics")))
+                .andExpect(content().string(containsString("10 or more")));
+    }
+
+    private Student create(String name, Department department, Course... courses) {
+        Student student = new Student(name, name.replace(' ', '.').toLowerCase() + "@example.com", "password123",
+                Role.STUDENT);
+        student.setDepartment(department);
+        student.setCourses(new ArrayList<>(List.of(courses)));
+        return studentService.create(student);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.assignment1.integration;
+
+import com.example.assignment1.enitity.Department;
+import com.example.assignment1.enitity.Role;
+import com.example.assignment1.enitity.Student;
+import com.example.assignment1.repository.CourseRepository;
+import com.example.assignment1.repository.DepartmentRepository;
+import com.example.assignment1.repository.StudentRepository;
+import com.example.assignment1.repository.TeacherRepository;
+import com.example.assignment1.security.CustomUserDetailsService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+        courseRepository.deleteAll();
+        departmentRepository.deleteAll();
+
+        Department department = departmentRepository.save(new Department(null, "Computer Science"));
+        Student student = new Student("John Doe", "john@example.com", "password123", Role.STUDENT);
+        student.setDepartment(department);
+        studentRepository.save(student);
+    }
+
+    @Test
+    @WithMockUser(username = "smith@example.com", roles = "TEACHER")
+    void testRecordsStatementsPerRequestByRoute() throws Exception {
+        mockMvc.perform(get("/teacher/export/students")).andExpect(status().isOk());
+        DistributionSummary dashboard = registry.find("app.http.statements").tag("uri", "/teacher/dashboard").summary();
+        long dashboards = dashboard == null ? 0 : dashboard.count();
+        mockMvc.perform(get("/teacher/dashboard"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-SQL-Count"));
+
+        DistributionSummary statements = registry.get("app.http.statements")
+                .tag("uri", "/teacher/export/{table}")
+                .tag("method", "GET")
+                .summary();
+        assertEquals(1, statements.count());
+        assertTrue(statements.max() >= 1, "max: " + statements.max());
+        // Without the headers the profile still feeds the metrics
+        assertEquals(dashboards + 1,
+                registry.get("app.http.statements").tag("uri", "/teacher/dashboard").summary().count());
+    }
+
+    @Test
+    void testApplicationMetersAreRegistered() {
+        userDetailsService.loadUserByUsername("john@example.com");
+        userDetailsService.loadUserByUsername("john@example.com");
+
+        assertTrue(registry.get("app.security.user.load").functionTimer().count() >= 1);
+        assertTrue(registry.get("cache.gets").tag("cache", "users").tag("result", "hit")
+                .functionCounter().count() >= 1);
+        assertNotNull(registry.get("cache.gets").tag("cache", "reference-data").functionCounter());
+        assertNotNull(registry.get("app.password.hash.queue").gauge());
+        assertNotNull(registry.get("hikaricp.connections.pending").gauge());
+        assertNotNull(registry.find("hibernate.statements").meter());
+    }
+
+    @Test
+    void testHealthIsPublicButMetricsAreNot() throws Exception {
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().is3xxRedirection());
+    }
+}
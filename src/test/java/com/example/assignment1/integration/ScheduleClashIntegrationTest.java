@@ -0,0 +1,211 @@
+package com.example.assignment1.integration;
+
+import com.example.assignment1.dto.Registration;
+import com.example.assignment1.dto.StudentClashes;
+import com.example.assignment1.enitity.Course;
+import com.example.assignment1.enitity.Department;
+import com.example.assignment1.enitity.Role;
+import com.example.assignment1.enitity.Student;
+import com.example.assignment1.repository.CourseRepository;
+import com.example.assignment1.repository.DepartmentRepository;
+import com.example.assignment1.repository.StudentRepository;
+import com.example.assignment1.repository.TeacherRepository;
+import com.example.assignment1.schedule.ScheduleClashException;
+import com.example.assignment1.security.TokenService;
+import com.example.assignment1.service.EnrollmentStatsReconciler;
+import com.example.assignment1.service.RegistrationService;
+import com.example.assignment1.service.ScheduleService;
+import com.example.assignment1.service.StudentImportService;
+import com.example.assignment1.service.StudentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "app.schedule.report-threads=4")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ScheduleClashIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Autowired
+    private RegistrationService registrationService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentImportService importService;
+
+    @Autowired
+    private EnrollmentStatsReconciler reconciler;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    private Department physics;
+    private Course mechanics;
+    private Course optics;
+    private Course lab;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+        courseRepository.deleteAll();
+        departmentRepository.deleteAll();
+        reconciler.reconcile();
+
+        physics = departmentRepository.save(new Department(null, "Physics"));
+        // Mechanics and Optics overlap on Monday morning; Lab meets right after Mechanics
+        mechanics = courseRepository.save(new Course(null, "Mechanics", physics));
+        optics = courseRepository.save(new Course(null, "Optics", physics));
+        lab = courseRepository.save(new Course(null, "Lab", physics));
+        reconciler.reconcile();
+        scheduleService.addMeeting(mechanics.getId(), DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 30));
+        scheduleService.addMeeting(mechanics.getId(), DayOfWeek.THURSDAY, LocalTime.of(9, 0), LocalTime.of(10, 30));
+        scheduleService.addMeeting(optics.getId(), DayOfWeek.MONDAY, LocalTime.of(10, 0), LocalTime.of(11, 0));
+        scheduleService.addMeeting(lab.getId(), DayOfWeek.THURSDAY, LocalTime.of(10, 30), LocalTime.of(12, 0));
+    }
+
+    @Test
+    void testRegistrationRefusesClashingCourses() {
+        Long id = students("reg", 1).get(0);
+
+        assertEquals(Registration.Status.ENROLLED, registrationService.register(id, mechanics.getId()).status());
+        // The schedule cached before the first registration was evicted when it committed
+        ScheduleClashException clash = assertThrows(ScheduleClashException.class,
+                () -> registrationService.register(id, optics.getId()));
+        assertEquals("Optics (Monday 10:00-11:00) clashes with Mechanics (Monday 09:00-10:30)", clash.getMessage());
+        assertEquals(Registration.Status.ENROLLED, registrationService.register(id, lab.getId()).status());
+
+        registrationService.drop(id, mechanics.getId());
+        assertEquals(Registration.Status.ENROLLED, registrationService.register(id, optics.getId()).status());
+        assertEquals(0, reconciler.reconcile());
+    }
+
+    @Test
+    void testNewMeetingTimesApplyToCachedSchedules() throws Exception {
+        Course seminar = courseRepository.save(new Course(null, "Seminar", physics));
+        reconciler.reconcile();
+        Long id = students("api", 1).get(0);
+        registrationService.register(id, seminar.getId());
+        registrationService.register(id, lab.getId());
+
+        scheduleService.addMeeting(seminar.getId(), DayOfWeek.MONDAY, LocalTime.of(10, 45), LocalTime.of(11, 30));
+        mockMvc.perform(put("/api/student/courses/" + optics.getId() + "/registration")
+                        .with(jwt().jwt(j -> j.claim(TokenService.ACCOUNT_ID_CLAIM, id))
+                                .authorities(new SimpleGrantedAuthority("ROLE_STUDENT"))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.detail").value(containsString("Seminar (Monday 10:45-11:30)")));
+    }
+
+    @Test
+    void testEditsAndImportsCheckTheWholeCourseList() throws Exception {
+        Long id = students("edit", 1).get(0);
+        Student student = studentService.get(id);
+        student.setPassword("");
+        student.setCourses(new ArrayList<>(List.of(mechanics, lab)));
+        studentService.update(id, student);
+
+        // Adding Optics clashes; swapping Mechanics for it does not
+        Student adding = studentService.get(id);
+        adding.setPassword("");
+        adding.setCourses(new ArrayList<>(List.of(mechanics, lab, optics)));
+        assertThrows(ScheduleClashException.class, () -> studentService.update(id, adding));
+        Student swapping = studentService.get(id);
+        swapping.setPassword("");
+        swapping.setCourses(new ArrayList<>(List.of(optics, lab)));
+        studentService.update(id, swapping);
+        assertEquals(List.of(optics.getId(), lab.getId()), jdbc.queryForList(
+                "select course_id from student_course where student_id = ? order by course_id", Long.class, id));
+
+        String csv = "name,email,password,department,courses\n"
+                + "Ann,ann@example.com,password123,Physics,Mechanics;Lab\n"
+                + "Bob,bob@example.com,password123,Physics,Mechanics;Optics\n";
+        StudentImportService.ImportResult result =
+                importService.importStudents(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(1, result.getImported());
+        assertEquals(3, result.getErrors().get(0).line());
+        assertTrue(result.getErrors().get(0).message().contains("clashes with"));
+    }
+
+    @Test
+    @WithMockUser(username = "smith@example.com", roles = "TEACHER")
+    void testDepartmentReportFindsExistingClashes() throws Exception {
+        List<Long> ids = students("dept", 40);
+        // Enrollments written before meeting times existed, straight into the table
+        for (int i = 0; i < ids.size(); i++) {
+            jdbc.update("insert into student_course (student_id, course_id) values (?, ?)", ids.get(i), mechanics.getId());
+            jdbc.update("insert into student_course (student_id, course_id) values (?, ?)", ids.get(i),
+                    i % 4 == 0 ? optics.getId() : lab.getId());
+        }
+
+        List<StudentClashes> report = scheduleService.departmentClashes(physics.getId());
+        assertEquals(ids.stream().filter(id -> ids.indexOf(id) % 4 == 0).toList(),
+                report.stream().map(StudentClashes::studentId).toList());
+        report.forEach(r -> assertEquals(1, r.clashes().size()));
+
+        mockMvc.perform(get("/teacher/department/" + physics.getId() + "/clashes"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("schedule-clashes"))
+                .andExpect(content().string(containsString("dept 0")));
+        mockMvc.perform(post("/teacher/course/" + lab.getId() + "/meetings").with(csrf())
+                        .param("day", "FRIDAY").param("start", "14:00").param("end", "15:00"))
+                .andExpect(redirectedUrl("/teacher/course/" + lab.getId() + "/meetings"));
+        mockMvc.perform(get("/teacher/course/" + lab.getId() + "/meetings"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("FRIDAY")))
+                .andExpect(content().string(containsString("15:00")));
+    }
+
+    private List<Long> students(String prefix, int count) {
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Student student = new Student(prefix + " " + i, prefix + i + "@example.com", "password123", Role.STUDENT);
+            student.setDepartment(physics);
+            student.setCourses(new ArrayList<>());
+            students.add(student);
+        }
+        return studentRepository.saveAll(students).stream().map(Student::getId).toList();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.assignment1.integration;
+
+import com.example.assignment1.enitity.Department;
+import com.example.assignment1.enitity.Role;
+import com.example.assignment1.enitity.Teacher;
+import com.example.assignment1.repository.CourseRepository;
+import com.example.assignment1.repository.DepartmentRepository;
+import com.example.assignment1.repository.StudentRepository;
+import com.example.assignment1.repository.TeacherRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Every request counts as slow so it lands in the ring buffer
+@SpringBootTest(properties = {"app.sql-profile.slow-request=0ms", "app.sql-profile.headers=true"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SqlProfileIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    private Long teacherId;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+        courseRepository.deleteAll();
+        departmentRepository.deleteAll();
+
+        Department department = departmentRepository.save(new Department(null, "Computer Science"));
+        Teacher teacher = new Teacher("Mr. Smith", "smith@example.com", "password123", Role.TEACHER);
+        teacher.setDepartment(department);
+        teacherId = teacherRepository.save(teacher).getId();
+    }
+
+    @Test
+    @WithMockUser(username = "smith@example.com", roles = "TEACHER")
+    void testProfileHeadersAndSlowRequestEndpoint() throws Exception {
+        MvcResult result = mockMvc.perform(get("/teacher/teacher/edit/" + teacherId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-SQL-Time-Ms"))
+                .andExpect(header().string("X-SQL-Repeated", "0"))
+                .andReturn();
+        assertTrue(Integer.parseInt(result.getResponse().getHeader("X-SQL-Count")) >= 1);
+        assertTrue(result.getResponse().getContentAsString().contains("Mr. Smith"));
+
+        mockMvc.perform(get("/actuator/sqlprofile"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.route == '/teacher/teacher/edit/{id}')].statementCount").exists())
+                .andExpect(jsonPath("$[0].statements[0].sql").exists());
+    }
+
+    @Test
+    @WithMockUser(username = "john@example.com", roles = "STUDENT")
+    void testSlowRequestEndpointNeedsTeacherRole() throws Exception {
+        mockMvc.perform(get("/actuator/sqlprofile")).andExpect(status().isForbidden());
+    }
+}
@@ -1,24 +1,29 @@
 package com.example.assignment1.integration;
 
+import com.example.assignment1.dto.StudentProfile;
 import com.example.assignment1.enitity.Department;
 import com.example.assignment1.enitity.Role;
 import com.example.assignment1.enitity.Student;
+import com.example.assignment1.repository.CourseRepository;
 import com.example.assignment1.repository.DepartmentRepository;
 import com.example.assignment1.repository.StudentRepository;
+import com.example.assignment1.repository.TeacherRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.test.context.ActiveProfiles;
 
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
+@ActiveProfiles("test")
 @AutoConfigureMockMvc
 @Transactional
 class StudentDashboardIntegrationTest {
@@ -32,12 +37,21 @@ class StudentDashboardIntegrationTest {
     @Autowired
     private DepartmentRepository departmentRepository;
 
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
     private Student student;
 
     @BeforeEach
     void setUp() {
         studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+        courseRepository.deleteAll();
         departmentRepository.deleteAll();
+        departmentRepository.flush();
 
         Department dept = new Department();
         dept.setName("Computer Science");
@@ -79,6 +93,6 @@ class StudentDashboardIntegrationTest {
     void testStudentDashboardDisplaysCorrectData() throws Exception {
         mockMvc.perform(get("/student/dashboard").with(csrf()))
                 .andExpect(status().isOk())
-                .andExpect(model().attribute("student", student));
+                .andExpect(model().attribute("student", StudentProfile.of(student)));
     }
 }
@@ -3,15 +3,18 @@ package com.example.assignment1.integration;
 import com.example.assignment1.enitity.Department;
 import com.example.assignment1.enitity.Role;
 import com.example.assignment1.enitity.Student;
+import com.example.assignment1.repository.CourseRepository;
 import com.example.assignment1.repository.DepartmentRepository;
 import com.example.assignment1.repository.StudentRepository;
+import com.example.assignment1.repository.TeacherRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.test.context.ActiveProfiles;
 
 import java.util.Optional;
 
@@ -21,6 +24,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
+@ActiveProfiles("test")
 @AutoConfigureMockMvc
 @Transactional
 class StudentIntegrationTest {
@@ -34,6 +38,12 @@ class StudentIntegrationTest {
     @Autowired
     private DepartmentRepository departmentRepository;
 
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
     private Student student;
     private Department department;
 
@@ -41,7 +51,10 @@ class StudentIntegrationTest {
     void setUp() {
         // Clear existing data
         studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+        courseRepository.deleteAll();
         departmentRepository.deleteAll();
+        departmentRepository.flush();
 
         // Create department
         department = new Department();
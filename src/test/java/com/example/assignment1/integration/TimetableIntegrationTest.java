@@ -0,0 +1,139 @@
+package com.example.assignment1.integration;
+
+import com.example.assignment1.dto.TimetableStatus;
+import com.example.assignment1.enitity.Course;
+import com.example.assignment1.enitity.Department;
+import com.example.assignment1.enitity.Role;
+import com.example.assignment1.enitity.Student;
+import com.example.assignment1.enitity.Teacher;
+import com.example.assignment1.repository.CourseRepository;
+import com.example.assignment1.repository.DepartmentRepository;
+import com.example.assignment1.repository.StudentRepository;
+import com.example.assignment1.repository.TeacherRepository;
+import com.example.assignment1.service.EnrollmentStatsReconciler;
+import com.example.assignment1.service.TimetableService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TimetableIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TimetableService timetableService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EnrollmentStatsReconciler reconciler;
+
+    private final List<Course> courses = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+        courseRepository.deleteAll();
+        departmentRepository.deleteAll();
+        jdbc.update("delete from room");
+        courses.clear();
+
+        for (String name : List.of("Physics", "History")) {
+            Department department = departmentRepository.save(new Department(null, name));
+            for (int c = 0; c < 6; c++) {
+                courses.add(courseRepository.save(new Course(null, name + " " + c, department)));
+            }
+            for (int t = 0; t < 3; t++) {
+                Teacher teacher = new Teacher(name + " teacher " + t, name.toLowerCase() + t + "@school.example",
+                        "password123", Role.TEACHER);
+                teacher.setDepartment(department);
+                teacherRepository.save(teacher);
+            }
+        }
+        // Everyone takes the first course, so its sections must not overlap the others much
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 90; i++) {
+            Student student = new Student("Student " + i, "timetable" + i + "@example.com", "password123", Role.STUDENT);
+            student.setCourses(new ArrayList<>(List.of(courses.get(0), courses.get(1 + i % 11))));
+            students.add(student);
+        }
+        studentRepository.saveAll(students);
+        reconciler.reconcile();
+        timetableService.addRoom("Hall", 60);
+        timetableService.addRoom("Room 1", 30);
+        timetableService.addRoom("Room 2", 30);
+    }
+
+    @Test
+    void testSolvedTimetableHasNoDoubleBookings() {
+        TimetableStatus status = timetableService.solve();
+
+        assertEquals(TimetableStatus.State.SOLVED, status.state(), status.error());
+        assertEquals(0, status.hardPenalty());
+        // 90 students at 60 per section make two sections for the first course, one for the rest
+        assertEquals(13, status.sections());
+        assertEquals(2, jdbc.queryForObject("select count(*) from course_section where course_id = ?", Integer.class,
+                courses.get(0).getId()));
+        assertEquals(0, jdbc.queryForObject("select count(*) from course_section where slot is null "
+                + "or teacher_id is null or room_id is null", Integer.class));
+        assertEquals(0, jdbc.queryForObject("select count(*) from (select teacher_id, slot from course_section "
+                + "group by teacher_id, slot having count(*) > 1) d", Integer.class));
+        assertEquals(0, jdbc.queryForObject("select count(*) from (select room_id, slot from course_section "
+                + "group by room_id, slot having count(*) > 1) d", Integer.class));
+        assertEquals(0, jdbc.queryForObject("select count(*) from course_section s join room r on r.id = s.room_id "
+                + "where s.students > r.capacity", Integer.class));
+
+        // A second run keeps the sections and reschedules them
+        assertEquals(TimetableStatus.State.SOLVED, timetableService.solve().state());
+        assertEquals(13, jdbc.queryForObject("select count(*) from course_section", Integer.class));
+    }
+
+    @Test
+    @WithMockUser(username = "smith@example.com", roles = "TEACHER")
+    void testTimetablePageAddsRoomsAndStartsRuns() throws Exception {
+        mockMvc.perform(post("/teacher/timetable/rooms").param("name", "Lab").param("capacity", "20").with(csrf()))
+                .andExpect(redirectedUrl("/teacher/timetable"));
+        timetableService.solve();
+
+        mockMvc.perform(get("/teacher/timetable"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("timetable"))
+                .andExpect(content().string(containsString("Lab")))
+                .andExpect(content().string(containsString("Physics 0")))
+                .andExpect(content().string(containsString("SOLVED")));
+    }
+}
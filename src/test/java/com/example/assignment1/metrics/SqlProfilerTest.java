@@ -0,0 +1,52 @@
+package com.example.assignment1.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlProfilerTest {
+
+    @Test
+    void testShapeIgnoresLiteralsWhitespaceAndInListLength() {
+        assertEquals("select * from course where id in (?)",
+                SqlProfile.shape("select *\n  from course where id in (?, ?, ?)"));
+        assertEquals(SqlProfile.shape("select * from students where email = 'a@x.com' and id = 7"),
+                SqlProfile.shape("select * from students where email='b@y.org' and id=42".replace("=", " = ")));
+    }
+
+    @Test
+    void testFlagsRepeatedShapesAsProbableNPlusOne() {
+        SqlProfiler profiler = new SqlProfiler(0, 3, 10);
+        profiler.start("GET", "/teacher/dashboard");
+        profiler.inspect("select s.id from students s");
+        for (int i = 0; i < 4; i++) {
+            profiler.inspect("select d.name from department d where d.id = " + i);
+        }
+        SqlProfile profile = profiler.stop("/teacher/dashboard", 200);
+
+        assertEquals(5, profile.getStatementCount());
+        assertEquals(5, profile.getStatements().size());
+        assertEquals(1, profile.getRepeated().size());
+        assertEquals(4, profile.getRepeated().get("select d.name from department d where d.id = ?"));
+    }
+
+    @Test
+    void testKeepsOnlyTheLatestSlowRequests() {
+        SqlProfiler profiler = new SqlProfiler(0, 5, 2);
+        for (String uri : List.of("/a", "/b", "/c")) {
+            profiler.start("GET", uri);
+            profiler.stop(uri, 200);
+        }
+        assertEquals(List.of("/b", "/c"), profiler.slowRequests().stream().map(SqlProfile::getUri).sorted().toList());
+    }
+
+    @Test
+    void testIgnoresStatementsOutsideARequest() {
+        SqlProfiler profiler = new SqlProfiler(0, 5, 2);
+        assertEquals("select 1", profiler.inspect("select 1"));
+        assertNull(profiler.stop(null, 200));
+        assertTrue(profiler.slowRequests().isEmpty());
+    }
+}
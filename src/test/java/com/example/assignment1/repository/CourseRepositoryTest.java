@@ -5,13 +5,15 @@ import com.example.assignment1.enitity.Department;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
 
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
+@ActiveProfiles("test")
 class CourseRepositoryTest {
 
     @Autowired
@@ -30,7 +32,7 @@ class CourseRepositoryTest {
         department = departmentRepository.save(department);
 
         course = new Course();
-        course.setName("Java Programming");
+        course.setTitle("Java Programming");
         course.setDepartment(department);
     }
 
@@ -38,7 +40,7 @@ class CourseRepositoryTest {
     void testSaveCourse() {
         Course savedCourse = courseRepository.save(course);
         assertNotNull(savedCourse.getId());
-        assertEquals("Java Programming", savedCourse.getName());
+        assertEquals("Java Programming", savedCourse.getTitle());
         assertEquals("Computer Science", savedCourse.getDepartment().getName());
     }
 
@@ -47,15 +49,15 @@ class CourseRepositoryTest {
         Course savedCourse = courseRepository.save(course);
         Optional<Course> foundCourse = courseRepository.findById(savedCourse.getId());
         assertTrue(foundCourse.isPresent());
-        assertEquals("Java Programming", foundCourse.get().getName());
+        assertEquals("Java Programming", foundCourse.get().getTitle());
     }
 
     @Test
     void testUpdateCourse() {
         Course savedCourse = courseRepository.save(course);
-        savedCourse.setName("Advanced Java Programming");
+        savedCourse.setTitle("Advanced Java Programming");
         Course updatedCourse = courseRepository.save(savedCourse);
-        assertEquals("Advanced Java Programming", updatedCourse.getName());
+        assertEquals("Advanced Java Programming", updatedCourse.getTitle());
     }
 
     @Test
@@ -71,7 +73,7 @@ class CourseRepositoryTest {
     void testFindAllCourses() {
         courseRepository.save(course);
         Course course2 = new Course();
-        course2.setName("Python Programming");
+        course2.setTitle("Python Programming");
         course2.setDepartment(department);
         courseRepository.save(course2);
 
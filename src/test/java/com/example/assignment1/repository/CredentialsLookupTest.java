@@ -0,0 +1,64 @@
+package com.example.assignment1.repository;
+
+import com.example.assignment1.enitity.Role;
+import com.example.assignment1.enitity.Student;
+import com.example.assignment1.enitity.Teacher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class CredentialsLookupTest {
+
+    @Autowired
+    private UserAccountRepository accountRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.save(new Student("John Doe", "john@example.com", "password123", Role.STUDENT));
+        teacherRepository.save(new Teacher("Mr. Smith", "smith@example.com", "teach123", Role.TEACHER));
+    }
+
+    @Test
+    void testFindsStudent() {
+        UserCredentials found = accountRepository.findCredentialsByEmail("john@example.com").orElseThrow();
+        assertEquals("password123", found.getPassword());
+        assertEquals("STUDENT", found.getRole());
+    }
+
+    @Test
+    void testFindsTeacher() {
+        UserCredentials found = accountRepository.findCredentialsByEmail("smith@example.com").orElseThrow();
+        assertEquals("teach123", found.getPassword());
+        assertEquals("TEACHER", found.getRole());
+    }
+
+    @Test
+    void testUnknownEmail() {
+        assertTrue(accountRepository.findCredentialsByEmail("nobody@example.com").isEmpty());
+    }
+
+    @Test
+    void testEmailIsUniqueAcrossRoles() {
+        assertThrows(DataIntegrityViolationException.class, () -> teacherRepository.saveAndFlush(
+                new Teacher("Another John", "john@example.com", "teach123", Role.TEACHER)));
+    }
+
+    @Test
+    void testUpdatesPasswordWhateverTheRole() {
+        assertEquals(1, accountRepository.updatePasswordByEmail("smith@example.com", "new"));
+        assertEquals("new", accountRepository.findCredentialsByEmail("smith@example.com").orElseThrow().getPassword());
+    }
+}
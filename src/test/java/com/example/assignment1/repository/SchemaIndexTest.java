@@ -0,0 +1,115 @@
+package com.example.assignment1.repository;
+
+import com.example.assignment1.enitity.Course;
+import com.example.assignment1.enitity.Department;
+import com.example.assignment1.enitity.Role;
+import com.example.assignment1.enitity.Student;
+import com.example.assignment1.enitity.Teacher;
+import com.example.assignment1.metrics.SqlProfile;
+import com.example.assignment1.metrics.SqlProfiler;
+import com.example.assignment1.security.AccountUser;
+import com.example.assignment1.security.CustomUserDetailsService;
+import com.example.assignment1.service.StudentService;
+import com.example.assignment1.service.TeacherService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SchemaIndexTest {
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private SqlProfiler profiler;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private TeacherService teacherService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    // Own accounts: the login cache outlives the rows other tests in this context delete
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+        courseRepository.deleteAll();
+        departmentRepository.deleteAll();
+
+        Department department = departmentRepository.save(new Department(null, "Computer Science"));
+        Course course = courseRepository.save(new Course(null, "Algorithms", department));
+        Student student = new Student("John Doe", "Index.Student@Example.com", "password123", Role.STUDENT);
+        student.setDepartment(department);
+        student.setCourses(List.of(course));
+        studentRepository.save(student);
+        Teacher teacher = new Teacher("Mr. Smith", "index.teacher@example.com", "teach123", Role.TEACHER);
+        teacher.setDepartment(department);
+        teacherRepository.save(teacher);
+    }
+
+    @Test
+    void testLoginAndDashboardQueriesUseIndexes() {
+        profiler.start("GET", "/test");
+        // Login by email, then the dashboards by the account id the principal carries
+        AccountUser student = (AccountUser) userDetailsService.loadUserByUsername("INDEX.STUDENT@example.com");
+        AccountUser teacher = (AccountUser) userDetailsService.loadUserByUsername("index.teacher@example.com");
+        studentService.findProfile(student.getId()).orElseThrow();
+        teacherService.findRow(teacher.getId()).orElseThrow();
+        SqlProfile profile = profiler.stop("/test", 200);
+
+        assertEquals(4, profile.getStatementCount());
+        String plans = profile.getStatements().stream()
+                .map(statement -> explain(statement.getSql()))
+                .reduce("", String::concat);
+        assertFalse(plans.contains("tableScan"), plans);
+        assertTrue(plans.contains("USER_ACCOUNTS_EMAIL_UK"), plans);
+    }
+
+    @Test
+    void testForeignKeyColumnsAreIndexed() {
+        assertTrue(explain("select id from students where department_id = ?").contains("STUDENTS_DEPARTMENT_IDX"));
+        assertTrue(explain("select id from teachers where department_id = ?").contains("TEACHERS_DEPARTMENT_IDX"));
+        assertTrue(explain("select id from course where department_id = ?").contains("COURSE_DEPARTMENT_IDX"));
+        assertTrue(explain("select student_id from student_course where course_id = ?")
+                .contains("STUDENT_COURSE_COURSE_IDX"));
+    }
+
+    @Test
+    void testEmailsAreUniqueIgnoringCase() {
+        assertEquals("index.student@example.com",
+                jdbc.queryForObject("select email from user_accounts where role = 'STUDENT'", String.class));
+        assertThrows(DataIntegrityViolationException.class, () -> jdbc.update(
+                "insert into user_accounts (id, email, password, role) values (-1, 'INDEX.TEACHER@example.com', 'x', 'TEACHER')"));
+    }
+
+    // Bind values do not matter to the plan here, so every parameter becomes a literal
+    private String explain(String sql) {
+        return jdbc.queryForObject("explain " + sql.replace("?", "'0'"), String.class);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.assignment1.repository;
+
+import com.example.assignment1.enitity.Role;
+import com.example.assignment1.enitity.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class StudentRepositoryKeysetTest {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @BeforeEach
+    void setUp() {
+        // Duplicate names make sure the id tie-breaker keeps pages stable
+        for (String name : List.of("Eve", "Adam", "Carl", "Adam", "Bea", "Dora", "Carl")) {
+            Student student = new Student(name, name.toLowerCase() + studentRepository.count() + "@example.com",
+                    "password123", Role.STUDENT);
+            studentRepository.save(student);
+        }
+    }
+
+    @Test
+    void testScrollByIdVisitsEveryRowOnce() {
+        List<Student> seen = scrollAll(Sort.by("id"));
+        assertEquals(7, seen.size());
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.get(i - 1).getId() < seen.get(i).getId());
+        }
+    }
+
+    @Test
+    void testScrollByNameDescending() {
+        List<Student> seen = scrollAll(Sort.by(Sort.Direction.DESC, "name").and(Sort.by(Sort.Direction.DESC, "id")));
+        assertEquals(7, seen.size());
+        assertEquals(List.of("Eve", "Dora", "Carl", "Carl", "Bea", "Adam", "Adam"),
+                seen.stream().map(Student::getName).toList());
+        assertEquals(7, seen.stream().map(Student::getId).distinct().count());
+    }
+
+    @Test
+    void testFirstWindowHasNext() {
+        Window<Student> window = studentRepository.findAllWithDepartmentBy(ScrollPosition.keyset(), Sort.by("id"), Limit.of(5));
+        assertEquals(5, window.size());
+        assertTrue(window.hasNext());
+    }
+
+    private List<Student> scrollAll(Sort sort) {
+        List<Student> seen = new ArrayList<>();
+        ScrollPosition position = ScrollPosition.keyset();
+        Window<Student> window;
+        do {
+            window = studentRepository.findAllWithDepartmentBy(position, sort, Limit.of(3));
+            seen.addAll(window.getContent());
+            if (!window.isEmpty()) {
+                position = window.positionAt(window.size() - 1);
+            }
+        } while (window.hasNext());
+        return seen;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.assignment1.schedule;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleIndexTest {
+
+    @Test
+    void testClashAgreesWithComparingEveryMeeting() {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            List<Meeting> schedule = meetings(random, 1 + random.nextInt(40), 0);
+            ScheduleIndex index = ScheduleIndex.of(schedule);
+            for (Meeting candidate : meetings(random, 50, 1000)) {
+                boolean expected = schedule.stream().anyMatch(candidate::overlaps);
+                Meeting found = index.clash(candidate);
+                assertEquals(expected, found != null, candidate + " against " + schedule);
+                if (found != null) {
+                    assertTrue(found.overlaps(candidate));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testOverlappingFindsEveryPairOnce() {
+        Random random = new Random(11);
+        for (int round = 0; round < 100; round++) {
+            List<Meeting> meetings = meetings(random, random.nextInt(60), 0);
+            int expected = 0;
+            for (int i = 0; i < meetings.size(); i++) {
+                for (int j = i + 1; j < meetings.size(); j++) {
+                    if (meetings.get(i).courseId() != meetings.get(j).courseId() && meetings.get(i).overlaps(meetings.get(j))) {
+                        expected++;
+                    }
+                }
+            }
+            List<Clash> clashes = ScheduleIndex.overlapping(meetings);
+            assertEquals(expected, clashes.size());
+            clashes.forEach(c -> assertTrue(c.meeting().overlaps(c.with())));
+        }
+    }
+
+    @Test
+    void testBackToBackMeetingsAndDaysDoNotClash() {
+        Meeting monday = Meeting.of(1, "Algorithms", DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 30));
+        ScheduleIndex index = ScheduleIndex.of(List.of(monday));
+
+        assertNull(index.clash(Meeting.of(2, "Databases", DayOfWeek.MONDAY, LocalTime.of(10, 30), LocalTime.of(12, 0))));
+        assertNull(index.clash(Meeting.of(2, "Databases", DayOfWeek.TUESDAY, LocalTime.of(9, 0), LocalTime.of(10, 30))));
+        Meeting overlap = Meeting.of(2, "Databases", DayOfWeek.MONDAY, LocalTime.of(10, 0), LocalTime.of(11, 0));
+        assertEquals(monday, index.clash(overlap));
+        assertEquals("Databases (Monday 10:00-11:00) clashes with Algorithms (Monday 09:00-10:30)",
+                index.clashes(List.of(overlap)).get(0).describe());
+        assertEquals(Set.of(1L), index.courses());
+        assertEquals(0, index.without(Set.of(1L)).size());
+        assertNull(ScheduleIndex.EMPTY.clash(overlap));
+        assertThrows(IllegalArgumentException.class, () -> new Meeting(1, "Empty", 600, 600));
+    }
+
+    // Random meetings of up to 3 hours; course ids start at firstCourse, a few meetings each
+    private static List<Meeting> meetings(Random random, int count, long firstCourse) {
+        List<Meeting> meetings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int start = random.nextInt(7 * Meeting.MINUTES_PER_DAY - 180);
+            meetings.add(new Meeting(firstCourse + i / 2, "Course " + i, start, start + 15 + random.nextInt(165)));
+        }
+        return meetings;
+    }
+}
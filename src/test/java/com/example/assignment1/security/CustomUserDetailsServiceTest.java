@@ -0,0 +1,95 @@
+package com.example.assignment1.security;
+
+import com.example.assignment1.enitity.Role;
+import com.example.assignment1.repository.UserAccountRepository;
+import com.example.assignment1.repository.UserCredentials;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CustomUserDetailsServiceTest {
+
+    private UserAccountRepository accountRepository;
+    private CustomUserDetailsService service;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository = mock(UserAccountRepository.class);
+        service = new CustomUserDetailsService(accountRepository, 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void testRepeatedLoginsHitTheDatabaseOnce() {
+        when(accountRepository.findCredentialsByEmail("smith@example.com"))
+                .thenReturn(Optional.of(credentials(7L, "smith@example.com", "secret", "TEACHER")));
+
+        UserDetails first = service.loadUserByUsername("smith@example.com");
+        // Spring Security erases credentials on the returned principal after authenticating
+        ((CredentialsContainer) first).eraseCredentials();
+        UserDetails second = service.loadUserByUsername("smith@example.com");
+
+        assertEquals("secret", second.getPassword());
+        assertEquals("ROLE_TEACHER", second.getAuthorities().iterator().next().getAuthority());
+        verify(accountRepository, times(1)).findCredentialsByEmail("smith@example.com");
+    }
+
+    @Test
+    void testEvictForcesReload() {
+        when(accountRepository.findCredentialsByEmail("john@example.com"))
+                .thenReturn(Optional.of(credentials(3L, "john@example.com", "old", "STUDENT")))
+                .thenReturn(Optional.of(credentials(3L, "john@example.com", "new", "STUDENT")));
+
+        assertEquals("old", service.loadUserByUsername("john@example.com").getPassword());
+        service.evict(Role.TEACHER, 3L);
+        assertEquals("old", service.loadUserByUsername("john@example.com").getPassword());
+        service.evict(Role.STUDENT, 3L);
+        assertEquals("new", service.loadUserByUsername("john@example.com").getPassword());
+    }
+
+    @Test
+    void testEvictInsideATransactionWaitsForTheCommit() {
+        when(accountRepository.findCredentialsByEmail("john@example.com"))
+                .thenReturn(Optional.of(credentials(3L, "john@example.com", "old", "STUDENT")))
+                .thenReturn(Optional.of(credentials(3L, "john@example.com", "new", "STUDENT")));
+        service.loadUserByUsername("john@example.com");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.evict(Role.STUDENT, 3L);
+            // A login before the commit keeps the entry it finds; reloading now would cache the old row
+            assertEquals("old", service.loadUserByUsername("john@example.com").getPassword());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals("new", service.loadUserByUsername("john@example.com").getPassword());
+    }
+
+    @Test
+    void testUnknownUserIsNotCached() {
+        when(accountRepository.findCredentialsByEmail("nobody@example.com")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("nobody@example.com"));
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("nobody@example.com"));
+        verify(accountRepository, times(2)).findCredentialsByEmail("nobody@example.com");
+    }
+
+    private static UserCredentials credentials(Long id, String email, String password, String role) {
+        return new UserCredentials() {
+            public Long getId() { return id; }
+            public String getEmail() { return email; }
+            public String getPassword() { return password; }
+            public String getRole() { return role; }
+        };
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.assignment1.security;
+
+import com.example.assignment1.enitity.Role;
+import com.example.assignment1.enitity.Student;
+import com.example.assignment1.repository.StudentRepository;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestBuilders.formLogin;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Requests carry only the SESSION cookie, never a MockHttpSession, so whatever the second
+// request knows about the login it read back from spring_session
+@SpringBootTest(properties = "app.security.password.bcrypt-strength=4")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JdbcSessionIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private JdbcIndexedSessionRepository sessionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        jdbc.update("delete from spring_session");
+        studentRepository.deleteAll();
+        studentRepository.save(new Student("John Doe", "session@example.com", "password123", Role.STUDENT));
+    }
+
+    @Test
+    void testLoginIsStoredInTheDatabaseAndServesLaterRequests() throws Exception {
+        Cookie session = login();
+
+        assertEquals(1, jdbc.queryForObject(
+                "select count(*) from spring_session where principal_name = 'session@example.com'", Integer.class));
+        mockMvc.perform(get("/redirect").cookie(session)).andExpect(redirectedUrl("/student/dashboard"));
+        mockMvc.perform(get("/redirect")).andExpect(redirectedUrl("/login"));
+    }
+
+    @Test
+    void testOnlyChangedAttributesAreWrittenBack() throws Exception {
+        Cookie session = login();
+        List<String> before = attributes();
+
+        mockMvc.perform(get("/redirect").cookie(session)).andExpect(redirectedUrl("/student/dashboard"));
+
+        // Reading the security context leaves its row alone; only last access time moves
+        assertEquals(before, attributes());
+        assertTrue(before.stream().anyMatch(row -> row.startsWith("SPRING_SECURITY_CONTEXT")), before.toString());
+    }
+
+    @Test
+    void testExpiredSessionsAreCleanedUp() throws Exception {
+        login();
+        jdbc.update("update spring_session set expiry_time = 0");
+
+        sessionRepository.cleanUpExpiredSessions();
+
+        assertEquals(0, jdbc.queryForObject("select count(*) from spring_session", Integer.class));
+        assertEquals(0, jdbc.queryForObject("select count(*) from spring_session_attributes", Integer.class));
+    }
+
+    private Cookie login() throws Exception {
+        Cookie session = mockMvc.perform(formLogin().user("session@example.com").password("password123"))
+                .andExpect(status().is3xxRedirection())
+                .andReturn().getResponse().getCookie("SESSION");
+        assertNotNull(session);
+        return session;
+    }
+
+    // Attribute name plus a digest of its bytes, to see which rows a request rewrote
+    private List<String> attributes() {
+        return jdbc.query("select attribute_name, attribute_bytes from spring_session_attributes order by attribute_name",
+                (rs, i) -> rs.getString(1) + ":" + Arrays.hashCode(rs.getBytes(2)));
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.assignment1.security;
+
+import com.example.assignment1.enitity.Role;
+import com.example.assignment1.enitity.Student;
+import com.example.assignment1.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestBuilders.formLogin;
+import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.authenticated;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PasswordUpgradeIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+        // Legacy row stored before passwords were hashed
+        studentRepository.save(new Student("John Doe", "john@example.com", "password123", Role.STUDENT));
+    }
+
+    @Test
+    void testLegacyPasswordIsRehashedOnLogin() throws Exception {
+        mockMvc.perform(formLogin().user("john@example.com").password("password123"))
+                .andExpect(authenticated());
+
+        String stored = studentRepository.findByEmail("john@example.com").orElseThrow().getPassword();
+        assertTrue(stored.startsWith("{bcrypt}"));
+
+        mockMvc.perform(formLogin().user("john@example.com").password("password123"))
+                .andExpect(authenticated());
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.assignment1.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PooledPasswordEncoderTest {
+
+    private PooledPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.destroy();
+    }
+
+    @Test
+    void testEncodesWithBcryptAndMatchesLegacyPlainText() {
+        DelegatingPasswordEncoder delegate = new DelegatingPasswordEncoder("bcrypt", Map.of(
+                "bcrypt", new BCryptPasswordEncoder(4),
+                "noop", NoOpPasswordEncoder.getInstance()));
+        delegate.setDefaultPasswordEncoderForMatches(NoOpPasswordEncoder.getInstance());
+        encoder = new PooledPasswordEncoder(delegate, 2, 10);
+
+        String hash = encoder.encode("password123");
+        assertTrue(hash.startsWith("{bcrypt}"));
+        assertTrue(encoder.matches("password123", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertFalse(encoder.upgradeEncoding(hash));
+
+        assertTrue(encoder.matches("password123", "password123"));
+        assertTrue(encoder.upgradeEncoding("password123"));
+        assertEquals(4, encoder.getCompletedCount());
+    }
+
+    @Test
+    void testRejectsWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        encoder = new PooledPasswordEncoder(new BlockingEncoder(started, release), 1, 1);
+
+        Thread busy = new Thread(() -> encoder.encode("a"));
+        busy.start();
+        started.await();
+        Thread queued = new Thread(() -> encoder.encode("b"));
+        queued.start();
+        while (encoder.getQueueDepth() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(RejectedExecutionException.class, () -> encoder.encode("c"));
+        assertEquals(1, encoder.getRejectedCount());
+        assertEquals(1, encoder.getActiveCount());
+
+        release.countDown();
+        busy.join();
+        queued.join();
+        assertEquals(2, encoder.getCompletedCount());
+    }
+
+    private record BlockingEncoder(CountDownLatch started, CountDownLatch release) implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.assignment1.security;
+
+import com.example.assignment1.enitity.Role;
+import com.example.assignment1.enitity.Student;
+import com.example.assignment1.repository.StudentRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// The SQL count header shows that a token request never touches the database
+@SpringBootTest(properties = {"app.security.password.bcrypt-strength=4", "app.sql-profile.headers=true"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TokenAuthenticationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TokenRevocations revocations;
+
+    @BeforeEach
+    void setUp() {
+        jdbc.update("delete from spring_session");
+        jdbc.update("delete from revoked_tokens");
+        studentRepository.deleteAll();
+        studentRepository.save(new Student("Jane Doe", "token@example.com", "password123", Role.STUDENT));
+    }
+
+    @Test
+    void testTokenAuthenticatesWithoutSessionOrDatabase() throws Exception {
+        String token = issue();
+
+        mockMvc.perform(get("/api/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("token@example.com"))
+                .andExpect(jsonPath("$.role").value("STUDENT"))
+                .andExpect(jsonPath("$.id").isNumber())
+                .andExpect(header().string("X-SQL-Count", "0"))
+                .andExpect(cookie().doesNotExist("SESSION"));
+        assertEquals(0, jdbc.queryForObject("select count(*) from spring_session", Integer.class));
+    }
+
+    @Test
+    void testRejectsBadCredentialsMissingTokensAndWrongRole() throws Exception {
+        mockMvc.perform(post("/api/auth/token").param("username", "token@example.com").param("password", "wrong"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/me")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/me").header("Authorization", "Bearer not-a-token"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/teacher/students").header("Authorization", "Bearer " + issue()))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testRevokedTokenIsRejected() throws Exception {
+        String token = issue();
+
+        mockMvc.perform(post("/api/auth/revoke").header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+        assertEquals(1, jdbc.queryForObject("select count(*) from revoked_tokens", Integer.class));
+    }
+
+    @Test
+    void testRevokingTwiceIsHarmless() {
+        Instant expiresAt = Instant.now().plusSeconds(60);
+        revocations.revoke("twice", expiresAt);
+        revocations.revoke("twice", expiresAt);
+
+        assertTrue(revocations.isRevoked("twice"));
+        assertEquals(1, jdbc.queryForObject("select count(*) from revoked_tokens where token_id = 'twice'", Integer.class));
+    }
+
+    private String issue() throws Exception {
+        String body = mockMvc.perform(post("/api/auth/token")
+                        .param("username", "token@example.com").param("password", "password123"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token_type").value("Bearer"))
+                .andExpect(jsonPath("$.expires_in").value(900))
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(body, "$.access_token");
+    }
+}
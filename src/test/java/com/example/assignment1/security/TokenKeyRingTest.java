@@ -0,0 +1,80 @@
+package com.example.assignment1.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class TokenKeyRingTest {
+
+    private static final String OLD = Base64.getEncoder().encodeToString("old-secret-old-secret-old-secret".getBytes());
+    private static final String NEW = Base64.getEncoder().encodeToString("new-secret-new-secret-new-secret".getBytes());
+
+    private final TokenConfig config = new TokenConfig();
+    private final TokenRevocations revocations = new TokenRevocations(mock(JdbcTemplate.class), Duration.ZERO);
+
+    @Test
+    void testTokensSignedWithRetiredActiveKeyStillVerifyUntilKeyIsRemoved() {
+        String token = sign(new TokenKeyRing("old", Map.of("old", OLD)), "old");
+
+        TokenKeyRing rotated = new TokenKeyRing("new", Map.of("old", OLD, "new", NEW));
+        assertEquals("student@example.com", decoder(rotated).decode(token).getSubject());
+        assertEquals("student@example.com", decoder(rotated).decode(sign(rotated, "new")).getSubject());
+
+        TokenKeyRing retired = new TokenKeyRing("new", Map.of("new", NEW));
+        assertThrows(JwtException.class, () -> decoder(retired).decode(token));
+    }
+
+    @Test
+    void testRejectsShortKeysAndUnknownActiveKey() {
+        String shortKey = Base64.getEncoder().encodeToString(new byte[16]);
+        assertThrows(IllegalArgumentException.class, () -> new TokenKeyRing("k", Map.of("k", shortKey)));
+        assertThrows(IllegalArgumentException.class, () -> new TokenProperties(
+                Duration.ofMinutes(15), "assignment1", "missing", Map.of("k", NEW), Duration.ofSeconds(30)));
+    }
+
+    @Test
+    void testGeneratesLocalKeyWhenNoneConfigured() {
+        TokenKeyRing local = new TokenKeyRing(null, Map.of());
+        assertEquals("local", local.activeKeyId());
+        assertEquals("student@example.com", decoder(local).decode(sign(local, "local")).getSubject());
+    }
+
+    @Test
+    void testClusterRequiresConfiguredKeys() {
+        TokenProperties none = new TokenProperties(Duration.ofMinutes(15), "assignment1", null, Map.of(), Duration.ofSeconds(30));
+        assertThrows(IllegalStateException.class, () -> config.tokenKeyRing(none, true));
+        assertEquals("local", config.tokenKeyRing(none, false).activeKeyId());
+        TokenProperties shared = new TokenProperties(Duration.ofMinutes(15), "assignment1", "new", Map.of("new", NEW),
+                Duration.ofSeconds(30));
+        assertEquals("new", config.tokenKeyRing(shared, true).activeKeyId());
+    }
+
+    private String sign(TokenKeyRing keys, String keyId) {
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .id("t-" + keyId).issuer("assignment1").subject("student@example.com")
+                .issuedAt(now).expiresAt(now.plusSeconds(60)).build();
+        return config.jwtEncoder(keys)
+                .encode(JwtEncoderParameters.from(JwsHeader.with(MacAlgorithm.HS256).keyId(keyId).build(), claims))
+                .getTokenValue();
+    }
+
+    private JwtDecoder decoder(TokenKeyRing keys) {
+        TokenProperties properties = new TokenProperties(
+                Duration.ofMinutes(15), "assignment1", null, Map.of(), Duration.ofSeconds(30));
+        return config.jwtDecoder(keys, revocations, properties);
+    }
+}
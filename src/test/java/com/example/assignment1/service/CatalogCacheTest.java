@@ -0,0 +1,168 @@
+package com.example.assignment1.service;
+
+import com.example.assignment1.dto.DepartmentRow;
+import com.example.assignment1.enitity.Course;
+import com.example.assignment1.enitity.Department;
+import com.example.assignment1.enitity.Role;
+import com.example.assignment1.enitity.Student;
+import com.example.assignment1.repository.CourseRepository;
+import com.example.assignment1.repository.DepartmentRepository;
+import com.example.assignment1.repository.RegistrationRepository;
+import com.example.assignment1.repository.StudentRepository;
+import com.example.assignment1.repository.UserAccountRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Own database so the regions only ever hold rows written here
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:catalogcache")
+@ActiveProfiles("test")
+class CatalogCacheTest {
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private UserAccountRepository accountRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Course course;
+    private Long studentId;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+        courseRepository.deleteAll();
+        departmentRepository.deleteAll();
+
+        Department department = catalogService.addDepartment(new Department(null, "Physics"));
+        course = new Course();
+        course.setTitle("Mechanics");
+        course.setDepartment(department);
+        course = catalogService.addCourse(course);
+        Student student = new Student("John Doe", "john@example.com", "password123", Role.STUDENT);
+        student.setCourses(List.of(course));
+        studentId = studentRepository.save(student).getId();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testDepartmentListingIsServedFromQueryCacheUntilDepartmentsChange() {
+        assertEquals(List.of("Physics"), departmentNames());
+        statistics.clear();
+
+        assertEquals(List.of("Physics"), departmentNames());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        catalogService.addDepartment(new Department(null, "Chemistry"));
+        statistics.clear();
+
+        assertEquals(List.of("Physics", "Chemistry"), departmentNames());
+        assertEquals(0, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void testCourseAndEnrollmentsAreReadFromSecondLevelCache() {
+        List<String> first = enrolledTitles();
+        statistics.clear();
+
+        assertEquals(first, enrolledTitles());
+        assertEquals(List.of("Mechanics"), first);
+        assertEquals(1, statistics.getCollectionStatistics(Student.class.getName() + ".courses").getCacheHitCount());
+        assertTrue(statistics.getSecondLevelCacheHitCount() >= 2, "hits: " + statistics.getSecondLevelCacheHitCount());
+        // only the student row itself; it is not cached
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testCourseUpdateIsVisibleThroughTheCache() {
+        courseRepository.findById(course.getId()).orElseThrow();
+
+        transactionTemplate.executeWithoutResult(status ->
+                courseRepository.findById(course.getId()).orElseThrow().setTitle("Classical Mechanics"));
+        statistics.clear();
+
+        assertEquals("Classical Mechanics", courseRepository.findById(course.getId()).orElseThrow().getTitle());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testPasswordUpdateLeavesCatalogCached() {
+        courseRepository.findById(course.getId()).orElseThrow();
+
+        accountRepository.updatePasswordByEmail("john@example.com", "changed");
+        statistics.clear();
+
+        courseRepository.findById(course.getId()).orElseThrow();
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testNativeEnrollmentEvictsOnlyThatStudentsCourses() {
+        Student other = new Student("Jane Roe", "jane@example.com", "password123", Role.STUDENT);
+        other.setCourses(List.of(course));
+        Long otherId = studentRepository.save(other).getId();
+        Course optics = new Course();
+        optics.setTitle("Optics");
+        optics.setDepartment(course.getDepartment());
+        Long opticsId = catalogService.addCourse(optics).getId();
+        enrolledTitles(studentId);
+        enrolledTitles(otherId);
+
+        transactionTemplate.executeWithoutResult(status -> registrationRepository.enroll(studentId, opticsId));
+        statistics.clear();
+
+        assertEquals(List.of("Mechanics"), enrolledTitles(otherId));
+        assertEquals(1, statistics.getCollectionStatistics(Student.class.getName() + ".courses").getCacheHitCount());
+        assertEquals(List.of("Mechanics", "Optics"), enrolledTitles(studentId).stream().sorted().toList());
+        assertEquals(1, statistics.getCollectionStatistics(Student.class.getName() + ".courses").getCacheMissCount());
+    }
+
+    private List<String> departmentNames() {
+        return catalogService.departmentPage(ScrollPosition.keyset(), Sort.by("id"), Limit.of(10))
+                .stream().map(DepartmentRow::name).toList();
+    }
+
+    private List<String> enrolledTitles() {
+        return enrolledTitles(studentId);
+    }
+
+    private List<String> enrolledTitles(Long id) {
+        return transactionTemplate.execute(status -> studentRepository.findById(id).orElseThrow()
+                .getCourses().stream().map(Course::getTitle).toList());
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.assignment1.service;
+
+import com.example.assignment1.dto.CourseRow;
+import com.example.assignment1.dto.DepartmentRow;
+import com.example.assignment1.enitity.Course;
+import com.example.assignment1.enitity.Department;
+import com.example.assignment1.repository.CourseRepository;
+import com.example.assignment1.repository.DepartmentRepository;
+import com.example.assignment1.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Own database so the pages only ever hold rows written here
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:catalogpaging")
+@ActiveProfiles("test")
+class CatalogServiceTest {
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+        courseRepository.deleteAll();
+        departmentRepository.deleteAll();
+    }
+
+    @Test
+    void testCoursesWithoutTitleComeLastInEitherDirection() {
+        for (String title : Arrays.asList("Optics", null, "Acoustics", null, "Mechanics")) {
+            catalogService.addCourse(new Course(null, title, null));
+        }
+
+        List<CourseRow> ascending = scrollCourses(Sort.Direction.ASC);
+        assertEquals(Arrays.asList("Acoustics", "Mechanics", "Optics", null, null),
+                ascending.stream().map(CourseRow::title).toList());
+        List<CourseRow> descending = scrollCourses(Sort.Direction.DESC);
+        assertEquals(Arrays.asList("Optics", "Mechanics", "Acoustics", null, null),
+                descending.stream().map(CourseRow::title).toList());
+        assertEquals(5, descending.stream().map(CourseRow::id).distinct().count());
+        // Untitled courses keep id order in the sort's direction
+        assertTrue(descending.get(3).id() > descending.get(4).id());
+    }
+
+    @Test
+    void testPageFilledByNamedDepartmentsStillHasNextForUnnamedOnes() {
+        for (String name : Arrays.asList("Physics", null, "Chemistry")) {
+            catalogService.addDepartment(new Department(null, name));
+        }
+        Sort sort = Sort.by("name").and(Sort.by("id"));
+
+        Window<DepartmentRow> first = catalogService.departmentPage(ScrollPosition.keyset(), sort, Limit.of(2));
+        assertEquals(List.of("Chemistry", "Physics"), first.getContent().stream().map(DepartmentRow::name).toList());
+        assertTrue(first.hasNext());
+
+        Window<DepartmentRow> second = catalogService.departmentPage(first.positionAt(1), sort, Limit.of(2));
+        assertEquals(1, second.size());
+        assertNull(second.getContent().get(0).name());
+        assertFalse(second.hasNext());
+    }
+
+    private List<CourseRow> scrollCourses(Sort.Direction direction) {
+        Sort sort = Sort.by(direction, "title").and(Sort.by(direction, "id"));
+        List<CourseRow> seen = new ArrayList<>();
+        ScrollPosition position = ScrollPosition.keyset();
+        Window<CourseRow> window;
+        do {
+            window = catalogService.coursePage(position, sort, Limit.of(2));
+            seen.addAll(window.getContent());
+            if (!window.isEmpty()) {
+                position = window.positionAt(window.size() - 1);
+            }
+        } while (window.hasNext());
+        return seen;
+    }
+}
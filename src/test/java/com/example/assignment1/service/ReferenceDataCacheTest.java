@@ -0,0 +1,91 @@
+package com.example.assignment1.service;
+
+import com.example.assignment1.enitity.Course;
+import com.example.assignment1.enitity.Department;
+import com.example.assignment1.repository.CourseRepository;
+import com.example.assignment1.repository.DepartmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReferenceDataCacheTest {
+
+    private DepartmentRepository departmentRepository;
+    private CourseRepository courseRepository;
+    private ReferenceDataCache cache;
+
+    @BeforeEach
+    void setUp() {
+        departmentRepository = mock(DepartmentRepository.class);
+        courseRepository = mock(CourseRepository.class);
+        when(departmentRepository.findAllBy(any(Sort.class))).thenReturn(List.of(new Department(1L, "Computer Science")));
+        when(courseRepository.findAllWithDepartmentBy(any(Sort.class))).thenReturn(List.of(new Course()));
+        cache = new ReferenceDataCache(departmentRepository, courseRepository, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void testRepeatedReadsLoadOnce() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals("Computer Science", cache.departments().get(0).getName());
+            assertEquals(1, cache.courses().size());
+        }
+        verify(departmentRepository, times(1)).findAllBy(any(Sort.class));
+        verify(courseRepository, times(1)).findAllWithDepartmentBy(any(Sort.class));
+        assertEquals(2, cache.stats().missCount());
+        assertEquals(8, cache.stats().hitCount());
+    }
+
+    @Test
+    void testInvalidateCoursesKeepsDepartments() {
+        cache.departments();
+        cache.courses();
+        cache.invalidateCourses();
+        cache.departments();
+        cache.courses();
+        verify(departmentRepository, times(1)).findAllBy(any(Sort.class));
+        verify(courseRepository, times(2)).findAllWithDepartmentBy(any(Sort.class));
+    }
+
+    @Test
+    void testInvalidateDepartmentsReloadsBoth() {
+        cache.departments();
+        cache.courses();
+        cache.invalidateDepartments();
+        cache.departments();
+        cache.courses();
+        verify(departmentRepository, times(2)).findAllBy(any(Sort.class));
+        verify(courseRepository, times(2)).findAllWithDepartmentBy(any(Sort.class));
+    }
+
+    @Test
+    void testInvalidateInsideATransactionWaitsForTheCommit() {
+        cache.courses();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidateCourses();
+            // A read before the commit keeps the list it finds; reloading now would miss the new row
+            cache.courses();
+            verify(courseRepository, times(1)).findAllWithDepartmentBy(any(Sort.class));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        cache.courses();
+        verify(courseRepository, times(2)).findAllWithDepartmentBy(any(Sort.class));
+    }
+
+    @Test
+    void testCachedListsAreImmutable() {
+        assertThrows(UnsupportedOperationException.class, () -> cache.departments().add(new Department()));
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.assignment1.service;
+
+import com.example.assignment1.enitity.Course;
+import com.example.assignment1.enitity.Department;
+import com.example.assignment1.enitity.Student;
+import com.example.assignment1.repository.CourseRepository;
+import com.example.assignment1.repository.DepartmentRepository;
+import com.example.assignment1.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"app.import.batch-size=2", "app.security.password.bcrypt-strength=4"})
+@ActiveProfiles("test")
+class StudentImportServiceTest {
+
+    @Autowired
+    private StudentImportService importService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+        courseRepository.deleteAll();
+        departmentRepository.deleteAll();
+
+        Department department = departmentRepository.save(new Department(null, "Computer Science"));
+        courseRepository.save(new Course(null, "Data Structures", department));
+        courseRepository.save(new Course(null, "Algorithms", department));
+    }
+
+    // Not @Transactional: the import commits chunk by chunk in its own transactions
+    @Test
+    void testImportsValidRowsAndReportsBadOnes() throws Exception {
+        String annHash = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("pw");
+        String csv = String.join("\n",
+                "name,email,password,department,courses",
+                "John Doe,john@example.com,password123,computer science,Data Structures;Algorithms",
+                "\"Doe, Jane\",jane@example.com,{noop}secret,,",
+                "Missing Password,missing@example.com,,,",
+                "Bad Department,bad@example.com,pw,History,",
+                "John Again,john@example.com,pw,,",
+                "Bad Course,course@example.com,pw,,Cooking",
+                "Ann Lee,ann@example.com," + annHash + ",Computer Science,algorithms");
+
+        StudentImportService.ImportResult result = importService.importStudents(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(3, result.getImported());
+        assertEquals(4, result.getFailed());
+        assertEquals(List.of(4L, 5L, 6L, 7L),
+                result.getErrors().stream().map(StudentImportService.RowError::line).sorted().toList());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Student john = studentRepository.findByEmail("john@example.com").orElseThrow();
+            assertEquals("Computer Science", john.getDepartment().getName());
+            assertEquals(2, john.getCourses().size());
+            assertTrue(john.getPassword().startsWith("{bcrypt}"));
+        });
+
+        Student jane = studentRepository.findByEmail("jane@example.com").orElseThrow();
+        assertEquals("Doe, Jane", jane.getName());
+        // Only a real BCrypt hash is taken as is; another {id} prefix is hashed as the password
+        assertTrue(jane.getPassword().startsWith("{bcrypt}"));
+        assertTrue(new BCryptPasswordEncoder().matches("{noop}secret", jane.getPassword().substring("{bcrypt}".length())));
+        assertEquals(annHash, studentRepository.findByEmail("ann@example.com").orElseThrow().getPassword());
+        assertNull(jane.getDepartment());
+        assertEquals(3, studentRepository.count());
+    }
+
+    @Test
+    void testRejectsFileWithoutRequiredColumns() throws Exception {
+        StudentImportService.ImportResult result = importService.importStudents(
+                new ByteArrayInputStream("name,email\nJohn,john@example.com".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(0, result.getImported());
+        assertEquals(1, result.getErrors().get(0).line());
+        assertEquals(0, studentRepository.count());
+    }
+}
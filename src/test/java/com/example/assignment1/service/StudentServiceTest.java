@@ -0,0 +1,91 @@
+package com.example.assignment1.service;
+
+import com.example.assignment1.dto.StudentProfile;
+import com.example.assignment1.enitity.Course;
+import com.example.assignment1.enitity.Department;
+import com.example.assignment1.enitity.Role;
+import com.example.assignment1.enitity.Student;
+import com.example.assignment1.repository.CourseRepository;
+import com.example.assignment1.repository.DepartmentRepository;
+import com.example.assignment1.repository.StudentRepository;
+import com.example.assignment1.repository.TeacherRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not @Transactional: results are used after the service transaction has ended,
+// as they are by views now that open-session-in-view is off
+@SpringBootTest
+@ActiveProfiles("test")
+class StudentServiceTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private Long studentId;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+        courseRepository.deleteAll();
+        departmentRepository.deleteAll();
+
+        Department department = departmentRepository.save(new Department(null, "Computer Science"));
+        Course algorithms = courseRepository.save(new Course(null, "Algorithms", department));
+        Course databases = courseRepository.save(new Course(null, "Databases", department));
+        Student student = new Student("John Doe", "john@example.com", "password123", Role.STUDENT);
+        student.setDepartment(department);
+        student.setCourses(List.of(algorithms, databases));
+        studentId = studentRepository.save(student).getId();
+    }
+
+    @Test
+    void testProfileIsFullyLoaded() {
+        StudentProfile profile = studentService.findProfileByEmail("john@example.com").orElseThrow();
+
+        assertEquals("Computer Science", profile.departmentName());
+        assertEquals(List.of("Algorithms", "Databases"), profile.courses().stream().sorted().toList());
+        assertTrue(studentService.findProfileByEmail("nobody@example.com").isEmpty());
+    }
+
+    @Test
+    void testFormEntityIsUsableOutsideTheTransaction() {
+        Student student = studentService.get(studentId);
+
+        assertEquals("Computer Science", student.getDepartment().getName());
+        assertEquals(2, student.getCourses().size());
+        assertThrows(IllegalArgumentException.class, () -> studentService.get(-1L));
+    }
+
+    @Test
+    void testUpdateKeepsStoredPasswordWhenBlank() {
+        String stored = studentRepository.findPasswordById(studentId).orElseThrow();
+        Student form = new Student("Johnny Doe", "john@example.com", "", null);
+
+        studentService.update(studentId, form);
+
+        Student updated = studentService.get(studentId);
+        assertEquals("Johnny Doe", updated.getName());
+        assertEquals(Role.STUDENT, updated.getRole());
+        assertEquals(stored, updated.getPassword());
+    }
+}
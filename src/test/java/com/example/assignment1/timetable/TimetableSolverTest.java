@@ -0,0 +1,103 @@
+package com.example.assignment1.timetable;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimetableSolverTest {
+
+    @Test
+    void testIncrementalScoreMatchesFullRecount() {
+        TimetableProblem problem = problem(new Random(1), 200, 60, 40, 10, 20);
+        Random random = new Random(2);
+        Timetable initial = TimetableSolver.construct(problem, random);
+        ScoreCalculator calculator = new ScoreCalculator(problem, initial.teacher(), initial.room(), initial.slot());
+
+        for (int i = 0; i < 5000; i++) {
+            int section = random.nextInt(problem.sections());
+            Score score = calculator.move(section, random.nextInt(problem.teachers()), random.nextInt(problem.rooms()),
+                    random.nextInt(problem.slots()));
+            if (i % 250 == 0) {
+                assertEquals(new ScoreCalculator(problem, calculator.teacher, calculator.room, calculator.slot).score(),
+                        score, "after move " + i);
+            }
+        }
+    }
+
+    @Test
+    void testSolvesWithoutDoubleBookingsOnSeveralThreads() {
+        TimetableProblem problem = problem(new Random(3), 400, 120, 120, 30, 25);
+        Timetable timetable = new TimetableSolver().solve(problem,
+                new TimetableSolver.Settings(4, Duration.ofSeconds(20), Duration.ofSeconds(2), 4));
+
+        assertTrue(timetable.score().feasible(), timetable.score().toString());
+        assertEquals(new ScoreCalculator(problem, timetable.teacher(), timetable.room(), timetable.slot()).score(),
+                timetable.score());
+        Set<Long> teacherSlots = new HashSet<>();
+        Set<Long> roomSlots = new HashSet<>();
+        for (int s = 0; s < problem.sections(); s++) {
+            assertTrue(teacherSlots.add((long) timetable.teacher()[s] * problem.slots() + timetable.slot()[s]));
+            assertTrue(roomSlots.add((long) timetable.room()[s] * problem.slots() + timetable.slot()[s]));
+            assertTrue(problem.sectionSize[s] <= problem.roomCapacity[timetable.room()[s]]);
+        }
+        assertTrue(timetable.steps() > 0);
+    }
+
+    @Test
+    void testSearchImprovesOnTheGreedyStart() {
+        TimetableProblem problem = problem(new Random(5), 300, 90, 60, 8, 20);
+        Timetable initial = TimetableSolver.construct(problem, new Random(6));
+        Timetable solved = new TimetableSolver().solve(problem,
+                new TimetableSolver.Settings(2, Duration.ofSeconds(10), Duration.ofSeconds(1), 6));
+
+        assertTrue(solved.score().betterThan(initial.score()), initial.score() + " -> " + solved.score());
+    }
+
+    @Test
+    void testEmptyTermAndMissingResources() {
+        TimetableProblem empty = new TimetableProblem(40, new int[0], new int[0], new int[0], new int[]{-1}, 4,
+                new int[]{30}, List.of());
+        assertEquals(Score.ZERO, new TimetableSolver().solve(empty,
+                new TimetableSolver.Settings(1, Duration.ofSeconds(1), Duration.ofSeconds(1), 1)).score());
+        assertThrows(IllegalArgumentException.class, () -> new TimetableProblem(40, new int[]{0}, new int[]{10},
+                new int[]{-1}, new int[0], 4, new int[]{30}, List.of()));
+    }
+
+    // Courses in departments, teachers spread over them, rooms of mixed sizes and random co-enrollment
+    private static TimetableProblem problem(Random random, int sections, int courses, int teachers, int departments,
+                                            int rooms) {
+        int[] courseDepartment = new int[courses];
+        for (int c = 0; c < courses; c++) {
+            courseDepartment[c] = c % departments;
+        }
+        int[] teacherDepartment = new int[teachers];
+        for (int t = 0; t < teachers; t++) {
+            teacherDepartment[t] = t % departments;
+        }
+        int[] sectionCourse = new int[sections];
+        int[] sectionSize = new int[sections];
+        for (int s = 0; s < sections; s++) {
+            sectionCourse[s] = s % courses;
+            sectionSize[s] = 10 + random.nextInt(70);
+        }
+        int[] roomCapacity = new int[rooms];
+        for (int r = 0; r < rooms; r++) {
+            roomCapacity[r] = r % 3 == 0 ? 120 : 40 + random.nextInt(60);
+        }
+        List<TimetableProblem.CourseConflict> conflicts = new ArrayList<>();
+        for (int i = 0; i < courses * 3; i++) {
+            int a = random.nextInt(courses);
+            int b = random.nextInt(courses);
+            conflicts.add(new TimetableProblem.CourseConflict(Math.min(a, b), Math.max(a, b), 1 + random.nextInt(20)));
+        }
+        return new TimetableProblem(40, sectionCourse, sectionSize, courseDepartment, teacherDepartment, 4,
+                roomCapacity, conflicts);
+    }
+}